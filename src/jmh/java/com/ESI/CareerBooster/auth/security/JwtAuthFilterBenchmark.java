@@ -0,0 +1,135 @@
+package com.ESI.CareerBooster.auth.security;
+
+import com.ESI.CareerBooster.auth.repository.RevokedTokenRepository;
+import com.ESI.CareerBooster.auth.service.TokenRevocationService;
+import com.ESI.CareerBooster.benchmark.Repositories;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in JwtAuthFilter: the previous filter (two parsers built
+ * and two parses per request, plus a user lookup) against the stateless and database modes.
+ *
+ * <p>The user lookup is an in-memory stub, so the database round trip the previous filter and
+ * the database mode pay on every request is not included: their numbers are lower bounds.
+ * With {@code tokens} above the verified-token cache size (10000) nearly every request misses
+ * the cache and pays for a signature check.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Param({"1", "100000"})
+    public int tokens;
+
+    private JwtAuthFilter statelessFilter;
+    private JwtAuthFilter databaseFilter;
+    private UserDetailsServiceImpl userDetailsService;
+    private SecretKey key;
+    private List<String> issued;
+    private int next;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+        key = Keys.hmacShaKeyFor(HexFormat.of().parseHex(SECRET));
+        userDetailsService = new UserDetailsServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return org.springframework.security.core.userdetails.User.withUsername(email)
+                    .password("{noop}password")
+                    .roles(rolesFor(email).toArray(String[]::new))
+                    .build();
+            }
+        };
+        TokenRevocationService revocations = new TokenRevocationService(Repositories.saving(RevokedTokenRepository.class));
+        ObjectMapper objectMapper = new ObjectMapper();
+        statelessFilter = new JwtAuthFilter(jwtUtil, userDetailsService, revocations, objectMapper, true, 10_000, 300);
+        databaseFilter = new JwtAuthFilter(jwtUtil, userDetailsService, revocations, objectMapper, false, 10_000, 300);
+        issued = new ArrayList<>(tokens);
+        for (int i = 0; i < tokens; i++) {
+            issued.add(jwtUtil.generateToken((long) i, "user" + i + "@example.com", List.of("USER")));
+        }
+    }
+
+    @Benchmark
+    public Authentication previousFilter() {
+        // What the filter did per request before: getEmailFromToken, loadUserByUsername and
+        // validateToken, each parse building a new parser
+        MockHttpServletRequest request = request();
+        String token = request.getHeader("Authorization").substring(7);
+        String email = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+        UserDetails user = userDetailsService.loadUserByUsername(email);
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (!claims.getSubject().equals(user.getUsername())) {
+            throw new IllegalStateException("Token validation failed");
+        }
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        return authentication;
+    }
+
+    @Benchmark
+    public Authentication databaseMode() throws Exception {
+        return filter(databaseFilter);
+    }
+
+    @Benchmark
+    public Authentication statelessMode() throws Exception {
+        return filter(statelessFilter);
+    }
+
+    private Authentication filter(JwtAuthFilter filter) throws Exception {
+        try {
+            filter.doFilter(request(), new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private MockHttpServletRequest request() {
+        next = (next + 1) % issued.size();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/home");
+        request.addHeader("Authorization", "Bearer " + issued.get(next));
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ESI.CareerBooster.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic CV texts shaped like real PDF extractions: contact block, summary, dated positions with
+ * bullet points, education, skills and projects, in proportions typical of uploaded CVs. Seeded,
+ * so every benchmark run scores the same corpus.
+ */
+public final class CVCorpus {
+
+    public enum Size {
+        // About one page
+        SHORT(1_500),
+        // Two pages, the common case
+        TYPICAL(4_500),
+        // Twenty pages, e.g. an academic CV with publication lists
+        LONG(60_000);
+
+        private final int targetChars;
+
+        Size(int targetChars) {
+            this.targetChars = targetChars;
+        }
+
+        public int getTargetChars() {
+            return targetChars;
+        }
+    }
+
+    private static final String[] NAMES = {"Amina Benali", "Karim Haddad", "Sarah Martin", "Yacine Bouzid", "Lina Cherif"};
+    private static final String[] TITLES = {"Senior Software Engineer", "Junior Data Analyst", "Marketing Manager",
+        "Financial Analyst", "Lead Backend Developer", "Research Associate", "Clinical Nurse", "Product Director"};
+    private static final String[] COMPANIES = {"Sonatrach", "Djezzy", "Capgemini", "BNP Paribas", "Yassir",
+        "CHU Mustapha", "Ooredoo", "Deloitte"};
+    private static final String[] VERBS = {"Developed", "Managed", "Led", "Designed", "Implemented", "Improved",
+        "Coordinated", "Supervised", "Created", "Reduced", "Increased", "Generated"};
+    private static final String[] OBJECTS = {"a microservices platform on Spring Boot and Docker",
+        "the migration of legacy Java services to Kubernetes on AWS", "social media campaigns and SEO content",
+        "financial modeling for the investment portfolio in Excel", "risk management and compliance reporting",
+        "a React and Angular frontend for patient records", "the data pipeline in Python with pandas",
+        "agile ceremonies for a team of 8 engineers", "onboarding for new developers",
+        "Google Analytics dashboards to track conversion and ROI", "the audit of treasury operations"};
+    private static final String[] RESULTS = {"cutting response time by 35%", "saving $120,000 per year",
+        "increasing revenue by 12%", "serving 2 million users", "with zero downtime", "ahead of schedule",
+        "reducing incidents by 40%", ""};
+    private static final String[] SKILLS = {"Java", "Python", "JavaScript", "Spring", "Docker", "Kubernetes", "AWS",
+        "Azure", "PostgreSQL", "React", "SEO", "Excel", "Bloomberg", "Agile", "Scrum", "Git", "Linux"};
+    private static final String[] SCHOOLS = {"Ecole Nationale Superieure d'Informatique (ESI)", "USTHB",
+        "Universite d'Alger", "Ecole Superieure de Commerce"};
+
+    private CVCorpus() {
+    }
+
+    public static List<String> generate(Size size, int count, long seed) {
+        Random random = new Random(seed);
+        List<String> corpus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            corpus.add(generateOne(size.getTargetChars(), random));
+        }
+        return corpus;
+    }
+
+    private static String generateOne(int targetChars, Random random) {
+        StringBuilder cv = new StringBuilder(targetChars + 512);
+        String name = pick(NAMES, random);
+        cv.append(name).append('\n')
+            .append(pick(TITLES, random)).append('\n')
+            .append("Email: ").append(name.toLowerCase().replace(' ', '.')).append("@gmail.com")
+            .append(" | Phone: +213 5").append(10_000_000 + random.nextInt(90_000_000))
+            .append(" | linkedin.com/in/").append(name.toLowerCase().replace(' ', '-')).append("\n\n");
+
+        cv.append("PROFESSIONAL SUMMARY\n")
+            .append(pick(TITLES, random)).append(" with ").append(2 + random.nextInt(12))
+            .append(" years of experience in ").append(pick(OBJECTS, random)).append(".\n\n");
+
+        // Experience dominates real CVs; long CVs keep adding positions and publications
+        int year = 2024;
+        cv.append("WORK EXPERIENCE\n");
+        while (cv.length() < targetChars * 0.7) {
+            int start = year - 1 - random.nextInt(3);
+            cv.append(pick(TITLES, random)).append(" - ").append(pick(COMPANIES, random))
+                .append(" (").append(start).append(" - ").append(year).append(")\n");
+            int bullets = 3 + random.nextInt(4);
+            for (int b = 0; b < bullets; b++) {
+                cv.append("• ").append(pick(VERBS, random)).append(' ').append(pick(OBJECTS, random));
+                String result = pick(RESULTS, random);
+                if (!result.isEmpty()) {
+                    cv.append(", ").append(result);
+                }
+                cv.append(".\n");
+            }
+            cv.append('\n');
+            year = start;
+        }
+
+        cv.append("EDUCATION\n")
+            .append("Master's degree in Computer Science - ").append(pick(SCHOOLS, random))
+            .append(" (").append(year - 2).append(" - ").append(year).append(")\n\n");
+
+        cv.append("TECHNICAL SKILLS\n");
+        for (int s = 0; s < 8; s++) {
+            cv.append(s == 0 ? "" : ", ").append(pick(SKILLS, random));
+        }
+        cv.append("\n\nPROJECTS\n");
+        while (cv.length() < targetChars) {
+            cv.append("- ").append(pick(VERBS, random)).append(' ').append(pick(OBJECTS, random)).append('\n');
+        }
+        return cv.toString();
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
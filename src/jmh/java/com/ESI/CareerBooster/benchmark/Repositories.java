@@ -0,0 +1,37 @@
+package com.ESI.CareerBooster.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so benchmarks measure scoring rather than
+ * the database: {@code save} returns its argument and every query finds nothing.
+ */
+public final class Repositories {
+
+    private Repositories() {
+    }
+
+    public static <T> T saving(Class<T> repositoryType) {
+        Object repository = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+            (proxy, method, args) -> {
+                Class<?> returnType = method.getReturnType();
+                return switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "toString" -> repositoryType.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (returnType == Optional.class) yield Optional.empty();
+                        if (List.class.isAssignableFrom(returnType)) yield List.of();
+                        if (returnType == long.class) yield 0L;
+                        if (returnType == int.class) yield 0;
+                        if (returnType == boolean.class) yield false;
+                        yield null;
+                    }
+                };
+            });
+        return repositoryType.cast(repository);
+    }
+}
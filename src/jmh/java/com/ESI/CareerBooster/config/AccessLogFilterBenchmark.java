@@ -0,0 +1,109 @@
+package com.ESI.CareerBooster.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.CommonsRequestLoggingFilter;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of request logging: the CommonsRequestLoggingFilter SecurityConfig used to
+ * register (payload capture up to 10000 bytes) against AccessLogFilter at the default 1% sample
+ * rate, and no filter at all. The chain reads the whole body, as Jackson or the multipart
+ * parser would.
+ *
+ * <p>Appenders are detached, so log events are built but not written: the numbers are the
+ * filters' own overhead, not console I/O. The previous filter only logs at DEBUG, which is set
+ * on its logger here as the application enabled it.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessLogFilterBenchmark {
+
+    @Param({"1024", "65536"})
+    public int bodyBytes;
+
+    private Filter previousFilter;
+    private Filter accessLogFilter;
+    private byte[] body;
+    private final byte[] readBuffer = new byte[8192];
+
+    private final FilterChain readBody = (request, response) -> {
+        try (InputStream in = request.getInputStream()) {
+            while (in.read(readBuffer) != -1) {
+                // consume
+            }
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).detachAndStopAllAppenders();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+        context.getLogger(CommonsRequestLoggingFilter.class).setLevel(ch.qos.logback.classic.Level.DEBUG);
+
+        CommonsRequestLoggingFilter commons = new CommonsRequestLoggingFilter();
+        commons.setIncludeClientInfo(true);
+        commons.setIncludeQueryString(true);
+        commons.setIncludePayload(true);
+        commons.setMaxPayloadLength(10000);
+        previousFilter = commons;
+        accessLogFilter = new AccessLogFilter(true, 0.01, 1.0, 1000, List.of(), 1000);
+
+        body = new byte[bodyBytes];
+        Arrays.fill(body, (byte) 'a');
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readBody.doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse commonsRequestLoggingFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        previousFilter.doFilter(request(), response, readBody);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sampledAccessLog() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        accessLogFilter.doFilter(request(), response, readBody);
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cv-generator/create");
+        request.setContentType("application/json");
+        request.setContent(body);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
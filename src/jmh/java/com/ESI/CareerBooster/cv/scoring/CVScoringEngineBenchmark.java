@@ -0,0 +1,80 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.benchmark.CVCorpus;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring time per CV, split into the feature extraction pass and each model, plus end to end:
+ * one model, and both models from one extraction as the engine runs them. A new model should
+ * only add its own {@code *Model} cost on top of {@link #extractFeatures}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CVScoringEngineBenchmark {
+
+    @Param({"SHORT", "TYPICAL", "LONG"})
+    public CVCorpus.Size size;
+
+    private CVScoringEngine engine;
+    private List<String> corpus;
+    private List<CVFeatures> features;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new CVScoringEngine(
+            List.of(new AnalyzerScoringModel(), new EnhancedScoringModel(industry -> 75)), CVFeatureExtractor.sequential());
+        corpus = CVCorpus.generate(size, 32, 42);
+        features = corpus.stream().map(CVFeatures::extract).toList();
+    }
+
+    @Benchmark
+    public CVFeatures extractFeatures() {
+        return CVFeatures.extract(corpus.get(advance()));
+    }
+
+    @Benchmark
+    public CVScore analyzerModel() {
+        return engine.score(AnalyzerScoringModel.NAME, features.get(advance()));
+    }
+
+    @Benchmark
+    public CVScore enhancedModel() {
+        return engine.score(EnhancedScoringModel.NAME, features.get(advance()));
+    }
+
+    @Benchmark
+    public CVScore endToEndAnalyzer() {
+        return engine.score(AnalyzerScoringModel.NAME, CVFeatures.extract(corpus.get(advance())));
+    }
+
+    @Benchmark
+    public Map<String, CVScore> endToEndAllModels() {
+        return engine.scoreAll(corpus.get(advance()));
+    }
+
+    private int advance() {
+        next = (next + 1) % corpus.size();
+        return next;
+    }
+}
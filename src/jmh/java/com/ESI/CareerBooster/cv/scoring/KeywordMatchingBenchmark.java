@@ -0,0 +1,123 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.benchmark.CVCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword lookups of one upload (CVAnalyzerService plus EnhancedCVScoringService) done with one
+ * {@link ScoringKeywords#scan} versus the previous {@code content.contains} loops, including the
+ * three separate {@code detectIndustry} calls of {@code calculateEnhancedScore}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordMatchingBenchmark {
+
+    @Param({"SHORT", "TYPICAL", "LONG"})
+    public CVCorpus.Size size;
+
+    private List<String> corpus;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = CVCorpus.generate(size, 64, 42).stream()
+            .map(cv -> cv.toLowerCase(Locale.ROOT))
+            .toList();
+    }
+
+    @Benchmark
+    public int containsLoops() {
+        return legacyLookups(nextCV());
+    }
+
+    @Benchmark
+    public int automaton() {
+        return automatonLookups(nextCV());
+    }
+
+    private String nextCV() {
+        next = (next + 1) % corpus.size();
+        return corpus.get(next);
+    }
+
+    static int legacyLookups(String content) {
+        int result = 0;
+        // CVAnalyzerService: detectIndustry, then skills quality and keyword score for the industry
+        for (List<String> keywords : ScoringKeywords.INDUSTRY_KEYWORDS.values()) {
+            result += countContains(content, keywords);
+        }
+        List<String> analyzerIndustry = ScoringKeywords.INDUSTRY_KEYWORDS.get("TECHNOLOGY");
+        result += countContains(content, analyzerIndustry) + countContains(content, analyzerIndustry);
+        result += countContains(content, ScoringKeywords.ACTION_VERBS) > 0 ? 1 : 0;
+
+        // EnhancedCVScoringService: detectIndustry three times, then the remaining dictionaries
+        for (int call = 0; call < 3; call++) {
+            for (Map<String, Integer> weighted : ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.values()) {
+                result += countContains(content, weighted.keySet());
+            }
+        }
+        result += countContains(content, ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.get("TECHNOLOGY").keySet());
+        result += countContains(content, ScoringKeywords.CAREER_LEVEL_KEYWORDS.keySet()) * 2;
+        result += countContains(content, ScoringKeywords.LEADERSHIP_TERMS) > 0 ? 1 : 0;
+        for (List<String> markers : ScoringKeywords.SECTION_MARKERS.values()) {
+            result += countContains(content, markers);
+        }
+        result += countContains(content, ScoringKeywords.ATS_SECTIONS);
+        result += content.contains(ScoringKeywords.EMAIL_MARKER) && content.contains(ScoringKeywords.DOMAIN_MARKER) ? 1 : 0;
+        return result;
+    }
+
+    static int automatonLookups(String content) {
+        KeywordMatches matches = ScoringKeywords.scan(content);
+        int result = 0;
+        for (List<String> keywords : ScoringKeywords.INDUSTRY_KEYWORDS.values()) {
+            result += matches.countPresent(keywords);
+        }
+        List<String> analyzerIndustry = ScoringKeywords.INDUSTRY_KEYWORDS.get("TECHNOLOGY");
+        result += matches.countPresent(analyzerIndustry) * 2;
+        result += matches.containsAny(ScoringKeywords.ACTION_VERBS) ? 1 : 0;
+
+        for (Map<String, Integer> weighted : ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.values()) {
+            result += matches.countPresent(weighted.keySet()) * 3;
+        }
+        result += matches.countPresent(ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.get("TECHNOLOGY").keySet());
+        result += matches.countPresent(ScoringKeywords.CAREER_LEVEL_KEYWORDS.keySet()) * 2;
+        result += matches.containsAny(ScoringKeywords.LEADERSHIP_TERMS) ? 1 : 0;
+        for (List<String> markers : ScoringKeywords.SECTION_MARKERS.values()) {
+            result += matches.countPresent(markers);
+        }
+        result += matches.countPresent(ScoringKeywords.ATS_SECTIONS);
+        result += matches.contains(ScoringKeywords.EMAIL_MARKER) && matches.contains(ScoringKeywords.DOMAIN_MARKER) ? 1 : 0;
+        return result;
+    }
+
+    private static int countContains(String content, Iterable<String> keywords) {
+        int found = 0;
+        for (String keyword : keywords) {
+            if (content.contains(keyword)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
+import com.ESI.CareerBooster.benchmark.CVCorpus;
+import com.ESI.CareerBooster.benchmark.Repositories;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.repository.UserScoreStatsRepository;
+import com.ESI.CareerBooster.cv.scoring.AnalyzerScoringModel;
+import com.ESI.CareerBooster.cv.scoring.CVFeatureExtractor;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end scoring throughput of one CV for both engines, with repositories stubbed out.
+ * Run with the gc profiler (the jmh profile default) to see bytes allocated per score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringEngineBenchmark {
+
+    @Param({"SHORT", "TYPICAL", "LONG"})
+    public CVCorpus.Size size;
+
+    private CVAnalyzerService cvAnalyzerService;
+    private EnhancedCVScoringService enhancedCVScoringService;
+    private List<CV> corpus;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CVScoringEngine scoringEngine = new CVScoringEngine(
+            List.of(new AnalyzerScoringModel(), new EnhancedScoringModel(industry -> 75)), CVFeatureExtractor.sequential());
+        // The benchmark CVs have no owner, so no history, statistics or cache events are written
+        ApplicationEventPublisher noEvents = event -> { };
+        cvAnalyzerService = new CVAnalyzerService(Repositories.saving(CVScoreRepository.class), scoringEngine, noEvents);
+        UserScoreStatsService userScoreStatsService =
+            new UserScoreStatsService(Repositories.saving(UserScoreStatsRepository.class), null, null);
+        ScorePersistenceService scorePersistenceService = new ScorePersistenceService(
+            Repositories.saving(CVRepository.class), Repositories.saving(CVScoreRepository.class),
+            Repositories.saving(ScoreHistoryRepository.class), userScoreStatsService, noEvents);
+        // Extraction is not benchmarked here, so no PDF executor is needed
+        enhancedCVScoringService = new EnhancedCVScoringService(
+            Repositories.saving(ScoreHistoryRepository.class), userScoreStatsService,
+            new IndustryBenchmarkService(Repositories.saving(ScoreHistoryRepository.class), 30),
+            new UserIdentityService(Repositories.saving(UserRepository.class), new SimpleMeterRegistry(), 1, 60),
+            scoringEngine, scorePersistenceService, null,
+            new SimpleMeterRegistry(), 3000);
+        corpus = CVCorpus.generate(size, 32, 42).stream()
+            .map(content -> {
+                CV cv = new CV();
+                cv.setFileName("benchmark.pdf");
+                cv.setContent(content);
+                return cv;
+            })
+            .toList();
+    }
+
+    @Benchmark
+    public CVScore cvAnalyzerScore() {
+        return cvAnalyzerService.scoreContent(nextCV().getContent());
+    }
+
+    @Benchmark
+    public CVScore enhancedScore() {
+        return enhancedCVScoringService.calculateEnhancedScore(nextCV());
+    }
+
+    private CV nextCV() {
+        next = (next + 1) % corpus.size();
+        return corpus.get(next);
+    }
+}
@@ -4,6 +4,8 @@ import com.ESI.CareerBooster.auth.dto.AuthResponse;
 import com.ESI.CareerBooster.auth.dto.LoginRequest;
 import com.ESI.CareerBooster.auth.dto.RegisterRequest;
 import com.ESI.CareerBooster.auth.service.AuthService;
+import com.ESI.CareerBooster.auth.service.LoginThrottledException;
+import com.ESI.CareerBooster.auth.service.PasswordHashingRejectedException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -11,11 +13,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Authentication management APIs")
@@ -37,7 +44,9 @@ public class AuthController {
             )
         ),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
-        @ApiResponse(responseCode = "409", description = "User already exists")
+        @ApiResponse(responseCode = "409", description = "User already exists"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts - retry after the Retry-After delay"),
+        @ApiResponse(responseCode = "503", description = "Authentication at capacity - retry after the Retry-After delay")
     })
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
@@ -53,9 +62,10 @@ public class AuthController {
                 )
             )
         )
-        @Valid @RequestBody RegisterRequest request
+        @Valid @RequestBody RegisterRequest request,
+        HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(authService.register(request));
+        return ResponseEntity.ok(authService.register(request, httpRequest.getRemoteAddr()));
     }
 
     @Operation(
@@ -72,7 +82,9 @@ public class AuthController {
             )
         ),
         @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-        @ApiResponse(responseCode = "400", description = "Invalid input")
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts - retry after the Retry-After delay"),
+        @ApiResponse(responseCode = "503", description = "Authentication at capacity - retry after the Retry-After delay")
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
@@ -88,8 +100,50 @@ public class AuthController {
                 )
             )
         )
-        @Valid @RequestBody LoginRequest request
+        @Valid @RequestBody LoginRequest request,
+        HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(authService.login(request));
+        return ResponseEntity.ok(authService.login(request, httpRequest.getRemoteAddr()));
+    }
+
+    @Operation(
+        summary = "Logout user",
+        description = "Revokes the JWT token sent in the Authorization header, so it is rejected from now on"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Token revoked"),
+        @ApiResponse(responseCode = "400", description = "No bearer token"),
+        @ApiResponse(responseCode = "401", description = "Invalid or expired token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Missing token",
+                "message", "Send the token to revoke as 'Authorization: Bearer <token>'"
+            ));
+        }
+        authService.logout(authorization.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, String>> throttled(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "error", "Too many attempts",
+                "message", e.getMessage()
+            ));
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, String>> hashingBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "error", "Service busy",
+                "message", e.getMessage()
+            ));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.ESI.CareerBooster.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+    // The token's jti claim
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    // Once the token expires it is rejected anyway, so the row can be purged
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
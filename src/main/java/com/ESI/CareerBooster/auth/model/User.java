@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 public class User {
+    public static final String ROLE_USER = "USER";
+    public static final String ROLE_ADMIN = "ADMIN";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,6 +22,10 @@ public class User {
     private String email;
     private String password;
 
+    // Never set from a request: registration creates USER accounts, ADMIN is granted by operators
+    @Column(nullable = false, length = 20)
+    private String role = ROLE_USER;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
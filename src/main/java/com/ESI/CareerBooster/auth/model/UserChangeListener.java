@@ -0,0 +1,26 @@
+package com.ESI.CareerBooster.auth.model;
+
+import com.ESI.CareerBooster.auth.service.UserChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces every write to {@code users} made through JPA, whichever service makes it, e.g. a
+ * password change. Hibernate gets this listener from the Spring context.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.ESI.CareerBooster.auth.security;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Access to {@code /api/admin/**}. Besides the ADMIN role carried by the token, the role stored
+ * on the user row must still be ADMIN, so a revoked admin is locked out without waiting for
+ * their tokens to expire. The row comes from {@link UserIdentityService}, so this costs no
+ * query while the user is cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_" + User.ROLE_ADMIN;
+
+    private final UserIdentityService userIdentityService;
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()
+                || !AuthorityUtils.authorityListToSet(current.getAuthorities()).contains(ADMIN_AUTHORITY)) {
+            return new AuthorizationDecision(false);
+        }
+        boolean stillAdmin = userIdentityService.findByEmail(current.getName())
+                .map(user -> User.ROLE_ADMIN.equals(user.role()))
+                .orElse(false);
+        if (!stillAdmin) {
+            log.warn("Denied {} to {}: ADMIN is no longer granted", context.getRequest().getRequestURI(), current.getName());
+        }
+        return new AuthorizationDecision(stillAdmin);
+    }
+}
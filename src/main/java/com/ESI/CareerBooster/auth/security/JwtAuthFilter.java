@@ -1,12 +1,18 @@
 package com.ESI.CareerBooster.auth.security;
 
+import com.ESI.CareerBooster.auth.service.TokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,17 +20,56 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Enumeration;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ *
+ * <p>In the default stateless mode the principal is built from the token's claims (subject,
+ * user id, roles), so no request touches the database. A verified token is kept in a small
+ * bounded cache, so repeated requests with the same token skip the signature check as well;
+ * its expiry and revocation are still checked on every request. Tokens issued before tokens
+ * carried roles are authenticated by loading the user once, then cached the same way.</p>
+ *
+ * <p>With {@code app.auth.jwt.stateless=false} every request loads the user instead, so role
+ * changes and deleted accounts take effect immediately.</p>
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
     private final ObjectMapper objectMapper;
+    private final boolean stateless;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(UserDetails user, String jti, long expiresAtMillis) {
+    }
+
+    public JwtAuthFilter(
+            JwtUtil jwtUtil,
+            UserDetailsServiceImpl userDetailsService,
+            TokenRevocationService tokenRevocationService,
+            ObjectMapper objectMapper,
+            @Value("${app.auth.jwt.stateless:true}") boolean stateless,
+            @Value("${app.auth.jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${app.auth.jwt.cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.objectMapper = objectMapper;
+        this.stateless = stateless;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -32,62 +77,67 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        log.debug("*** Entering JwtAuthFilter ***");
-        log.debug("Request URI: {}", request.getRequestURI());
-        log.debug("Request Method: {}", request.getMethod());
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         try {
-            // Log all request headers for debugging
-            log.debug("=== Request Headers ===");
-            Enumeration<String> headerNames = request.getHeaderNames();
-            while (headerNames.hasMoreElements()) {
-                String headerName = headerNames.nextElement();
-                log.debug("{}: {}", headerName, request.getHeader(headerName));
-            }
-            log.debug("=====================");
-
-            final String authHeader = request.getHeader("Authorization");
-            log.debug("Processing request to: {} with auth header: {}", request.getRequestURI(), authHeader);
-
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                log.debug("No valid Authorization header found, proceeding with filter chain");
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            final String jwt = authHeader.substring(7);
-            log.debug("Extracted JWT token: {}", jwt);
-            
-            final String userEmail = jwtUtil.getEmailFromToken(jwt);
-            log.debug("Extracted email from token: {}", userEmail);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                log.debug("Loaded user details for: {}", userEmail);
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication successful for user: {}", userEmail);
-                } else {
-                    log.warn("Token validation failed for user: {}", userEmail);
-                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
-                    return;
-                }
-            }
+            UserDetails userDetails = authenticate(authHeader.substring(BEARER_PREFIX.length()));
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         } catch (Exception e) {
-            log.error("Error processing JWT token: {}", e.getMessage(), e);
+            log.warn("Rejected token for {} {}: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
             return;
         }
 
         filterChain.doFilter(request, response);
-        log.debug("*** Exiting JwtAuthFilter ***");
+    }
+
+    UserDetails authenticate(String jwt) {
+        if (!stateless) {
+            Claims claims = jwtUtil.parseToken(jwt);
+            checkNotRevoked(claims.getId());
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        VerifiedToken verified = verifiedTokens.getIfPresent(jwt);
+        if (verified == null) {
+            Claims claims = jwtUtil.parseToken(jwt);
+            verified = new VerifiedToken(principalFrom(claims), claims.getId(), claims.getExpiration().getTime());
+            verifiedTokens.put(jwt, verified);
+        } else if (verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(jwt);
+            throw new RuntimeException("Token expired");
+        }
+        checkNotRevoked(verified.jti());
+        return verified.user();
+    }
+
+    private UserDetails principalFrom(Claims claims) {
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        return new AuthenticatedUser(userId == null ? null : userId.longValue(), claims.getSubject(), authorities);
+    }
+
+    private void checkNotRevoked(String jti) {
+        if (tokenRevocationService.isRevoked(jti)) {
+            throw new RuntimeException("Token revoked");
+        }
     }
 
     private void sendErrorResponse(HttpServletResponse response, int status, String message) throws IOException {
@@ -98,4 +148,4 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         error.put("message", message);
         response.getWriter().write(objectMapper.writeValueAsString(error));
     }
-} 
\ No newline at end of file
+}
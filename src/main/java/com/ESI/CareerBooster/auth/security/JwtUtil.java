@@ -3,37 +3,34 @@ package com.ESI.CareerBooster.auth.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
-import java.util.Base64;
-import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-    
+    // Claims next to the subject (the user's email)
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
-    
-    private SecretKey key;
+
+    private final SecretKey key;
+    // Immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String jwtSecret) {
-        this.jwtSecret = jwtSecret;
-        log.debug("JWT Secret (string): {}", jwtSecret);
         // Decode the hex string to bytes
         byte[] keyBytes = hexStringToByteArray(jwtSecret);
-        log.debug("JWT Secret (bytes length): {}", keyBytes.length);
-        log.debug("JWT Secret (bytes preview): {}", Arrays.copyOfRange(keyBytes, 0, Math.min(keyBytes.length, 16))); // Log first 16 bytes
-
         this.key = Keys.hmacShaKeyFor(keyBytes);
-        log.debug("JWT Secret (SecretKey algorithm): {}", key.getAlgorithm());
-        log.debug("JWT Secret (SecretKey format): {}", key.getFormat());
-        log.debug("JWT Secret (SecretKey bytes preview): {}", Arrays.copyOfRange(key.getEncoded(), 0, Math.min(key.getEncoded().length, 16))); // Log first 16 bytes
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        log.debug("JWT signing key loaded ({} bytes, {})", keyBytes.length, key.getAlgorithm());
     }
 
     private byte[] hexStringToByteArray(String s) {
@@ -46,72 +43,42 @@ public class JwtUtil {
         return data;
     }
 
-    public String generateToken(String email) {
+    /**
+     * Issues a token carrying everything needed to authenticate its requests without loading
+     * the user: email (subject), user id and roles, plus a unique id it can be revoked by.
+     */
+    public String generateToken(Long userId, String email, Collection<String> roles) {
         try {
             log.debug("Generating token for email: {}", email);
-            String token = Jwts.builder()
+            return Jwts.builder()
+                    .setId(UUID.randomUUID().toString())
                     .setSubject(email)
+                    .claim(USER_ID_CLAIM, userId)
+                    .claim(ROLES_CLAIM, List.copyOf(roles))
                     .setIssuedAt(new Date())
                     .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                     .signWith(key, SignatureAlgorithm.HS256)
                     .compact();
-            log.debug("Generated token: {}", token);
-            return token;
         } catch (Exception e) {
             log.error("Error generating token: {}", e.getMessage());
             throw new RuntimeException("Error generating token", e);
         }
     }
 
-    public String getEmailFromToken(String token) {
+    /**
+     * Verifies the signature and expiry of a token and returns its claims, parsing it once.
+     *
+     * @throws RuntimeException "Token expired" or "Invalid token"
+     */
+    public Claims parseToken(String token) {
         try {
-            log.debug("Attempting to parse token: {}", token);
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
-            log.error("Token expired: {}", e.getMessage());
+            log.debug("Token expired: {}", e.getMessage());
             throw new RuntimeException("Token expired", e);
-        } catch (JwtException e) {
-            log.error("Error parsing token: {}", e.getMessage(), e); // Log exception detail
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Error parsing token: {}", e.getMessage());
             throw new RuntimeException("Invalid token", e);
         }
     }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            log.debug("Validating token for user: {}", userDetails.getUsername());
-            String email = getEmailFromToken(token);
-            boolean isValid = email.equals(userDetails.getUsername()) && !isTokenExpired(token);
-            if (!isValid) {
-                log.warn("Token validation failed for user: {}", userDetails.getUsername());
-            }
-            log.debug("Token validation result: {}", isValid);
-            return isValid;
-        } catch (Exception e) {
-            log.error("Token validation error: {}", e.getMessage(), e); // Log exception detail
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        try {
-            log.debug("Checking token expiration for token: {}", token);
-            Date expiration = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-            boolean expired = expiration.before(new Date());
-            log.debug("Token expiration check result: {}", expired);
-            return expired;
-        } catch (Exception e) {
-            log.error("Error checking token expiration: {}", e.getMessage(), e); // Log exception detail
-            return true;
-        }
-    }
-} 
\ No newline at end of file
+}
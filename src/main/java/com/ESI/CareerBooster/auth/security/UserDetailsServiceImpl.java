@@ -1,7 +1,8 @@
 package com.ESI.CareerBooster.auth.security;
 
+import com.ESI.CareerBooster.auth.service.UserIdentity;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
 import com.ESI.CareerBooster.auth.model.User;
-import com.ESI.CareerBooster.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,18 +10,31 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.userdetails.User.UserBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
-    private UserRepository userRepository;
+    private UserIdentityService userIdentityService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserIdentity user = userIdentityService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        UserBuilder builder = org.springframework.security.core.userdetails.User.withUsername(user.getEmail());
-        builder.password(user.getPassword());
-        builder.roles("USER");
+        UserBuilder builder = org.springframework.security.core.userdetails.User.withUsername(user.email());
+        builder.password(user.passwordHash());
+        builder.roles(rolesFor(user.role()).toArray(String[]::new));
         return builder.build();
     }
+
+    /**
+     * Roles granted by the role stored on the user row, without the ROLE_ prefix. Also written
+     * into issued tokens; /api/admin/** checks the stored role again on every request (see
+     * {@link AdminAuthorizationManager}), so revoking ADMIN does not wait for tokens to expire.
+     */
+    public List<String> rolesFor(String role) {
+        return User.ROLE_ADMIN.equals(role)
+                ? List.of(User.ROLE_USER, User.ROLE_ADMIN)
+                : List.of(User.ROLE_USER);
+    }
 } 
\ No newline at end of file
@@ -6,41 +6,73 @@ import com.ESI.CareerBooster.auth.dto.RegisterRequest;
 import com.ESI.CareerBooster.auth.model.User;
 import com.ESI.CareerBooster.auth.repository.UserRepository;
 import com.ESI.CareerBooster.auth.security.JwtUtil;
+import com.ESI.CareerBooster.auth.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    @Autowired
+    private LoginThrottle loginThrottle;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    /**
+     * Not transactional, so no connection is held while the password is hashed; the unique
+     * email column still rejects a concurrent registration of the same email.
+     */
+    public AuthResponse register(RegisterRequest request, String clientIp) {
+        loginThrottle.acquire(clientIp, null);
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             throw new RuntimeException("Email already in use");
         }
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         userRepository.save(user);
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = generateToken(user);
         return new AuthResponse(token, user.getName(), user.getEmail(), user.getCreatedAt());
     }
 
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Before the lookup and the hash, so a brute-force burst costs neither
+        loginThrottle.acquire(clientIp, request.getEmail());
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
-        String token = jwtUtil.generateToken(user.getEmail());
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            // Only now is the plain password at hand to hash with the current cost
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+        String token = generateToken(user);
         return new AuthResponse(token, user.getName(), user.getEmail(), user.getCreatedAt());
     }
-}
\ No newline at end of file
+
+    /**
+     * Revokes the token so it is rejected from now on. Tokens issued before tokens carried an
+     * id cannot be revoked and stay valid until they expire.
+     */
+    public void logout(String token) {
+        Claims claims = jwtUtil.parseToken(token);
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        }
+    }
+
+    private String generateToken(User user) {
+        return jwtUtil.generateToken(user.getId(), user.getEmail(), userDetailsService.rolesFor(user.getRole()));
+    }
+}
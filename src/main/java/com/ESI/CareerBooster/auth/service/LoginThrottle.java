@@ -0,0 +1,105 @@
+package com.ESI.CareerBooster.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per client address and per account token buckets for login and registration attempts. An
+ * attempt is checked here before it costs a user lookup or a BCrypt hash, so a brute-force
+ * burst is answered with 429 instead of queueing behind real logins.
+ *
+ * <p>Buckets of idle addresses and accounts are dropped, and at most {@code max-tracked} of
+ * each are kept; an attacker cycling through emails still hits the per-address limit.</p>
+ */
+@Slf4j
+@Service
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final int ipCapacity;
+    private final double ipRefillPerMinute;
+    private final int accountCapacity;
+    private final double accountRefillPerMinute;
+
+    private final Counter ipThrottled;
+    private final Counter accountThrottled;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${app.auth.throttle.ip.refill-per-minute:10}") double ipRefillPerMinute,
+            @Value("${app.auth.throttle.account.capacity:5}") int accountCapacity,
+            @Value("${app.auth.throttle.account.refill-per-minute:2}") double accountRefillPerMinute,
+            @Value("${app.auth.throttle.max-tracked:100000}") long maxTracked) {
+        this.ipCapacity = Math.max(1, ipCapacity);
+        this.ipRefillPerMinute = Math.max(0.01, ipRefillPerMinute);
+        this.accountCapacity = Math.max(1, accountCapacity);
+        this.accountRefillPerMinute = Math.max(0.01, accountRefillPerMinute);
+        this.ipBuckets = buckets(maxTracked, this.ipCapacity, this.ipRefillPerMinute);
+        this.accountBuckets = buckets(maxTracked, this.accountCapacity, this.accountRefillPerMinute);
+
+        this.ipThrottled = throttled(meterRegistry, "ip");
+        this.accountThrottled = throttled(meterRegistry, "account");
+    }
+
+    /**
+     * Takes one attempt from the client address and, when given, the account.
+     *
+     * @throws LoginThrottledException when either is out of attempts
+     */
+    public void acquire(String clientIp, String email) {
+        acquire(clientIp, email, System.nanoTime());
+    }
+
+    void acquire(String clientIp, String email, long now) {
+        if (clientIp != null) {
+            long waitNanos = ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerMinute, now))
+                .tryConsume(now);
+            if (waitNanos > 0) {
+                ipThrottled.increment();
+                log.warn("Throttling authentication attempts from {}", clientIp);
+                throw new LoginThrottledException(retryAfterSeconds(waitNanos));
+            }
+        }
+        if (email != null) {
+            long waitNanos = accountBuckets.get(email.trim().toLowerCase(Locale.ROOT),
+                    key -> new TokenBucket(accountCapacity, accountRefillPerMinute, now))
+                .tryConsume(now);
+            if (waitNanos > 0) {
+                accountThrottled.increment();
+                log.warn("Throttling login attempts for account {}", email);
+                throw new LoginThrottledException(retryAfterSeconds(waitNanos));
+            }
+        }
+    }
+
+    private static Cache<String, TokenBucket> buckets(long maxTracked, int capacity, double refillPerMinute) {
+        // A bucket left alone this long is full again, so forgetting it changes nothing
+        long minutesToRefill = (long) Math.ceil(capacity / refillPerMinute);
+        return Caffeine.newBuilder()
+            .maximumSize(maxTracked)
+            .expireAfterAccess(Duration.ofMinutes(Math.max(1, minutesToRefill)))
+            .build();
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private static Counter throttled(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.throttled")
+            .description("Login and registration attempts rejected by the token buckets")
+            .tag("scope", scope)
+            .register(meterRegistry);
+    }
+}
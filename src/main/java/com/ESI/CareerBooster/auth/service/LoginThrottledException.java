@@ -0,0 +1,19 @@
+package com.ESI.CareerBooster.auth.service;
+
+/**
+ * Thrown when a client address or an account has used up its login attempts for now.
+ * Controllers translate it into a 429 response with a Retry-After header.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many attempts, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ESI.CareerBooster.auth.service;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot take another login or
+ * registration. Controllers translate it into a 503 response with a Retry-After header.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Authentication is at capacity, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
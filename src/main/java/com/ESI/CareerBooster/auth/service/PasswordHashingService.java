@@ -0,0 +1,205 @@
+package com.ESI.CareerBooster.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes and checks passwords with BCrypt on a dedicated, bounded worker pool, so a burst of
+ * logins uses at most {@code threads} cores and cannot starve the request threads of other
+ * endpoints. When both the workers and the queue are busy the attempt is rejected with
+ * {@link PasswordHashingRejectedException} instead of waiting.
+ *
+ * <p>Unless {@code app.auth.password.bcrypt.strength} is set, the BCrypt cost is calibrated at
+ * startup: the highest cost (within the configured bounds) whose hash takes no longer than the
+ * target time on this machine. Stored hashes with a lower cost are upgraded on the next
+ * successful login, see {@link #needsRehash}.</p>
+ *
+ * <p>This is also the application's only {@link PasswordEncoder} bean, so anything Spring
+ * Security hashes or checks goes through the same pool and cost.</p>
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.password.pool.threads:0}") int threads,
+            @Value("${app.auth.password.pool.queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.password.pool.timeout-ms:10000}") long timeoutMillis,
+            @Value("${app.auth.password.pool.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${app.auth.password.bcrypt.strength:0}") int fixedStrength,
+            @Value("${app.auth.password.bcrypt.target-ms:200}") long targetMillis,
+            @Value("${app.auth.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.auth.password.bcrypt.max-strength:14}") int maxStrength) {
+        this.strength = fixedStrength > 0 ? fixedStrength : calibrate(targetMillis, minStrength, maxStrength);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // Half the cores by default, so hashing never takes the whole machine
+        int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            namedThreads("password-hash-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("auth.password.wait")
+            .description("Time a login or registration waits for a free hashing worker")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.password.hash")
+            .description("Time spent hashing or checking a password")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+            .description("Logins and registrations rejected because the hashing pool was saturated")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+            .description("Logins and registrations waiting for a hashing worker")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.bcrypt.strength", this, PasswordHashingService::getStrength)
+            .description("BCrypt cost factor of new password hashes")
+            .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} workers and a queue of {}, BCrypt cost {}",
+            workers, queueCapacity, strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return needsRehash(encodedPassword);
+    }
+
+    /**
+     * Whether the hash was made with a lower cost than new hashes get. Hashes are never
+     * downgraded when the calibrated cost drops.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * The highest cost from {@code minStrength} to {@code maxStrength} whose hash is expected to
+     * take at most {@code targetNanos}, given a hash at {@code minStrength} took
+     * {@code nanosAtMinStrength}. Each extra cost step doubles the work.
+     */
+    static int strengthFor(long nanosAtMinStrength, long targetNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long expected = nanosAtMinStrength;
+        while (strength < maxStrength && expected * 2 <= targetNanos) {
+            expected *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        long best = Long.MAX_VALUE;
+        // The fastest of a few runs, so JIT warm-up does not push the cost down
+        for (int run = 0; run < 3; run++) {
+            long startedAt = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - startedAt);
+        }
+        int strength = strengthFor(best, TimeUnit.MILLISECONDS.toNanos(targetMillis), minStrength, maxStrength);
+        log.info("Calibrated BCrypt cost {} for a {} ms target ({} ms at cost {})",
+            strength, targetMillis, TimeUnit.NANOSECONDS.toMillis(best), minStrength);
+        return strength;
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            throw rejected();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw rejected();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private PasswordHashingRejectedException rejected() {
+        rejectedCounter.increment();
+        log.warn("Password hashing pool saturated, rejecting authentication attempt");
+        return new PasswordHashingRejectedException(retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
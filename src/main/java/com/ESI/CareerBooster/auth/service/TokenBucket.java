@@ -0,0 +1,39 @@
+package com.ESI.CareerBooster.auth.service;
+
+/**
+ * A token bucket refilled continuously: holds up to {@code capacity} tokens and gains
+ * {@code refillPerMinute} per minute.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_MINUTE = 60_000_000_000.0;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double refillPerMinute, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / NANOS_PER_MINUTE;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes one token. Returns 0 when a token was taken, otherwise how many nanoseconds until
+     * one is available.
+     */
+    synchronized long tryConsume(long now) {
+        // Callers read the clock before taking the lock, so time may appear to go backwards
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+}
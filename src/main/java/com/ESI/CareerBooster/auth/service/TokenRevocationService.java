@@ -0,0 +1,51 @@
+package com.ESI.CareerBooster.auth.service;
+
+import com.ESI.CareerBooster.auth.model.RevokedToken;
+import com.ESI.CareerBooster.auth.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, checked on every authenticated request. The set lives in memory and is
+ * reloaded from {@code revoked_tokens} on a schedule, so a logout on another instance takes
+ * effect here within one refresh interval. Entries are dropped once their token has expired.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String jti, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, expiry));
+        revoked.put(jti, expiry);
+        log.debug("Revoked token {} until {}", jti, expiry);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.revocation.initial-delay-ms:0}",
+               fixedDelayString = "${app.auth.revocation.refresh-interval-ms:60000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revoked.put(token.getJti(), token.getExpiresAt());
+        }
+        revoked.values().removeIf(expiry -> !expiry.isAfter(now));
+        log.debug("Refreshed revoked tokens: {} active, {} purged", revoked.size(), purged);
+    }
+}
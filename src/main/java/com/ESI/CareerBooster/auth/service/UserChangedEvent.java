@@ -0,0 +1,7 @@
+package com.ESI.CareerBooster.auth.service;
+
+/**
+ * Published when a user is inserted, updated or deleted, so cached copies can be dropped.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
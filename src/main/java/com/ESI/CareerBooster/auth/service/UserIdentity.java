@@ -0,0 +1,25 @@
+package com.ESI.CareerBooster.auth.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of a {@code users} row, as kept by {@link UserIdentityService}.
+ */
+public record UserIdentity(Long id, String email, String name, String passwordHash, String role,
+                           LocalDateTime createdAt) {
+
+    public static UserIdentity from(User user) {
+        return new UserIdentity(user.getId(), user.getEmail(), user.getName(), user.getPassword(), user.getRole(),
+                user.getCreatedAt());
+    }
+
+    /**
+     * A detached copy of the user. It is enough to reference the user from new rows and in
+     * queries without loading it, but it is not managed: changes to it are not saved.
+     */
+    public User toUser() {
+        return new User(id, name, email, passwordHash, role, createdAt);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ESI.CareerBooster.auth.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Users looked up by email, for authentication and for every service acting on behalf of the
+ * signed-in user. A lookup is answered from the first of: a memo on the current HTTP request, a
+ * bounded shared cache with a TTL, and the {@code users} table, so a request queries
+ * {@code users} at most once.
+ *
+ * <p>Writes to {@code users} evict the user after commit (see {@link UserChangedEvent}). Other
+ * application instances only see a change once their entry expires.</p>
+ */
+@Slf4j
+@Service
+public class UserIdentityService {
+    private static final String REQUEST_MEMO = UserIdentityService.class.getName() + ".memo";
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    private final Counter requestHits;
+    private final Counter cacheHits;
+    private final Counter misses;
+
+    public UserIdentityService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        this.requestHits = lookups(meterRegistry, "hit_request");
+        this.cacheHits = lookups(meterRegistry, "hit_cache");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("user.identity.hit.ratio", this, UserIdentityService::hitRatio)
+                .description("Share of user lookups answered without querying users")
+                .register(meterRegistry);
+        Gauge.builder("user.identity.cache.size", cache, Cache::estimatedSize)
+                .description("Users held in the shared user cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserIdentity> findByEmail(String email) {
+        Map<String, UserIdentity> memo = requestMemo();
+        UserIdentity identity = memo == null ? null : memo.get(email);
+        if (identity != null) {
+            requestHits.increment();
+            return Optional.of(identity);
+        }
+        identity = cache.getIfPresent(email);
+        if (identity != null) {
+            cacheHits.increment();
+        } else {
+            misses.increment();
+            // Unknown emails are not cached, so a user who registers is found right away
+            identity = userRepository.findByEmail(email).map(UserIdentity::from).orElse(null);
+            if (identity == null) {
+                return Optional.empty();
+            }
+            cache.put(email, identity);
+        }
+        if (memo != null) {
+            memo.put(email, identity);
+        }
+        return Optional.of(identity);
+    }
+
+    /**
+     * The user as a detached {@link User}, to reference from new rows and in queries.
+     */
+    public Optional<User> findUser(String email) {
+        return findByEmail(email).map(UserIdentity::toUser);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            cache.invalidate(event.email());
+        }
+        // The email itself may have changed, so also drop entries still held under the old one
+        if (event.userId() != null) {
+            cache.asMap().values().removeIf(identity -> event.userId().equals(identity.id()));
+        }
+        Map<String, UserIdentity> memo = requestMemo();
+        if (memo != null) {
+            memo.clear();
+        }
+        log.debug("Evicted cached user {} ({})", event.userId(), event.email());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, UserIdentity> requestMemo() {
+        // Only present on request threads, not on the async pipeline or scheduler threads
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, UserIdentity> memo =
+                (Map<String, UserIdentity>) attributes.getAttribute(REQUEST_MEMO, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>(2);
+            attributes.setAttribute(REQUEST_MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private double hitRatio() {
+        double hits = requestHits.count() + cacheHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.identity.lookups")
+                .description("User lookups by email, by where they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,184 @@
+package com.ESI.CareerBooster.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per sampled request on the {@code ACCESS} logger, which logback-spring.xml
+ * sends through its own bounded asynchronous appender. Successful requests are logged at
+ * {@code sample-rate}; errors and requests slower than {@code slow-threshold-ms} at
+ * {@code error-sample-rate}. A request that is not sampled costs a clock read and a random
+ * number. A request whose handler throws counts as a 500, since the container only sets the
+ * real status on its error dispatch. Asynchronous requests (SSE, {@code Mono}) are logged when
+ * they complete, with their full duration and final status.
+ *
+ * <p>Request bodies are only buffered for routes listed in {@code payload-routes}, never for
+ * multipart uploads or {@code /api/auth/**}, and at most {@code max-payload-length} bytes are
+ * logged. Per-endpoint latency percentiles come from the {@code http.server.requests} timer.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS");
+    private static final String NEVER_CAPTURED = "/api/auth/**";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final double sampleRate;
+    private final double errorSampleRate;
+    private final long slowThresholdNanos;
+    private final List<String> payloadRoutes;
+    private final int maxPayloadLength;
+
+    public AccessLogFilter(
+            @Value("${app.access-log.enabled:true}") boolean enabled,
+            @Value("${app.access-log.sample-rate:0.01}") double sampleRate,
+            @Value("${app.access-log.error-sample-rate:1.0}") double errorSampleRate,
+            @Value("${app.access-log.slow-threshold-ms:1000}") long slowThresholdMillis,
+            @Value("${app.access-log.payload-routes:}") List<String> payloadRoutes,
+            @Value("${app.access-log.max-payload-length:1000}") int maxPayloadLength) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.errorSampleRate = errorSampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.payloadRoutes = payloadRoutes.stream().filter(route -> !route.isBlank()).map(String::trim).toList();
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !accessLog.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        HttpServletRequest requestToUse = capturesPayload(request)
+                ? new ContentCachingRequestWrapper(request, maxPayloadLength)
+                : request;
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(requestToUse, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            record(requestToUse, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, startedAt);
+            throw e;
+        }
+        if (requestToUse.isAsyncStarted()) {
+            requestToUse.getAsyncContext().addListener(new CompletionListener(requestToUse, response, startedAt));
+        } else {
+            record(requestToUse, response.getStatus(), startedAt);
+        }
+    }
+
+    void record(HttpServletRequest request, int status, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        double rate = status >= 400 || elapsed >= slowThresholdNanos ? errorSampleRate : sampleRate;
+        if (rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate)) {
+            accessLog.info(line(request, status, elapsed));
+        }
+    }
+
+    /**
+     * Logs an asynchronous request once it completes. Async dispatches are not filtered again, so
+     * this is the only record of the request.
+     */
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long startedAt;
+        private volatile boolean failed;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, long startedAt) {
+            this.request = request;
+            this.response = response;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = response.getStatus();
+            record(request, failed && status < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status, startedAt);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Spring answers the timeout on an error dispatch, and onComplete follows with that status
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async was started again on a later dispatch; keep listening on the new context
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private boolean capturesPayload(HttpServletRequest request) {
+        if (payloadRoutes.isEmpty()) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return false;
+        }
+        String path = request.getRequestURI();
+        if (pathMatcher.match(NEVER_CAPTURED, path)) {
+            return false;
+        }
+        for (String route : payloadRoutes) {
+            if (pathMatcher.match(route, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String line(HttpServletRequest request, int status, long elapsedNanos) {
+        // The matched route rather than the URI, so ids and query strings stay out of the log
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        StringBuilder line = new StringBuilder(128)
+                .append("method=").append(request.getMethod())
+                .append(" route=").append(route != null ? route : request.getRequestURI())
+                .append(" status=").append(status)
+                .append(" durationMs=").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .append(" client=").append(request.getRemoteAddr());
+        if (request.getContentLengthLong() >= 0) {
+            line.append(" requestBytes=").append(request.getContentLengthLong());
+        }
+        if (request instanceof ContentCachingRequestWrapper wrapper && wrapper.getContentAsByteArray().length > 0) {
+            line.append(" payload=\"")
+                    .append(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8).replace("\"", "\\\""))
+                    .append('"');
+        }
+        return line.toString();
+    }
+}
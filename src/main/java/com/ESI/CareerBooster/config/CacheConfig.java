@@ -0,0 +1,20 @@
+package com.ESI.CareerBooster.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Spring's cache annotations. The caches themselves are Caffeine caches built by Boot
+ * from the {@code spring.cache.*} properties (size bound, TTL and statistics), and their
+ * hit, miss and eviction counts are published as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Per-user read models, keyed by user email (score history by email and limit)
+    public static final String HOME_DATA = "homeData";
+    public static final String LATEST_SCORE = "latestScore";
+    public static final String AVERAGE_SCORE = "averageScore";
+    public static final String SCORE_HISTORY = "scoreHistory";
+}
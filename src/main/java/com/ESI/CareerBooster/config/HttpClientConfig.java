@@ -1,15 +1,80 @@
 package com.ESI.CareerBooster.config;
 
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Shared outbound HTTP stack for Gemini and Coursera: one pooled Apache HttpClient with
+ * per-route limits, keep-alive and timeouts, exposed to Spring through {@code RestTemplate}.
+ */
 @Configuration
 public class HttpClientConfig {
-    
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${app.http.client.max-total:200}") int maxTotal,
+            @Value("${app.http.client.max-per-route:50}") int maxPerRoute,
+            @Value("${app.http.client.connect-timeout-ms:5000}") long connectTimeoutMillis,
+            @Value("${app.http.client.read-timeout-ms:18000}") long readTimeoutMillis,
+            @Value("${app.http.client.connection-ttl-minutes:5}") long connectionTtlMinutes) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+            .setMaxConnTotal(maxTotal)
+            .setMaxConnPerRoute(maxPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .setTimeToLive(TimeValue.ofMinutes(connectionTtlMinutes))
+                // Re-check connections that sat idle before reuse, servers drop them silently
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${app.http.client.pool-timeout-ms:2000}") long poolTimeoutMillis,
+            @Value("${app.http.client.read-timeout-ms:18000}") long readTimeoutMillis,
+            @Value("${app.http.client.keep-alive-seconds:30}") long keepAliveSeconds,
+            @Value("${app.http.client.idle-evict-seconds:60}") long idleEvictSeconds) {
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        return HttpClients.custom()
+            .setConnectionManager(outboundConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMillis))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .build())
+            // Honour the server's Keep-Alive header but never keep a connection longer than configured
+            .setKeepAliveStrategy((response, context) -> {
+                TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return TimeValue.isPositive(advertised) && advertised.compareTo(maxKeepAlive) < 0
+                    ? advertised
+                    : maxKeepAlive;
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+            .build();
+    }
+
+    /**
+     * Publishes httpcomponents.httpclient.pool.* gauges (leased, available, pending, max)
+     */
     @Bean
-    public CloseableHttpClient httpClient() {
-        return HttpClients.createDefault();
+    public MeterBinder outboundConnectionPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "outbound");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.ESI.CareerBooster.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Wraps blocking outbound calls in the Resilience4j instances configured under
+ * {@code resilience4j.*.instances.<name>}: retry with backoff around a circuit breaker, a
+ * client-side rate limiter and a time limiter. The time limiter needs the call on another
+ * thread, so calls run on a small dedicated pool. Its queue is bounded: when the provider slows
+ * down, calls beyond the pool and the queue are rejected with a
+ * {@link RejectedExecutionException} at once instead of piling up, and time spent queued counts
+ * against the time limiter only up to that bound.
+ */
+@Slf4j
+@Component
+public class ResilientCalls {
+
+    public static final String GEMINI = "gemini";
+    public static final String COURSERA = "coursera";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ThreadPoolExecutor callExecutor;
+
+    public ResilientCalls(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            RateLimiterRegistry rateLimiterRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            @Value("${app.resilience.call-threads:32}") int callThreads,
+            @Value("${app.resilience.call-queue-capacity:32}") int callQueueCapacity) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.callExecutor = new ThreadPoolExecutor(
+            callThreads, callThreads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, callQueueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "outbound-call-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        callExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs {@code call} through the named instance. Throws
+     * {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException} without calling out
+     * while the breaker is open, and {@link RejectedExecutionException} when the call pool and its
+     * queue are full.
+     */
+    public <T> T call(String instance, Supplier<T> call) {
+        TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(instance);
+        Callable<T> timed = TimeLimiter.decorateFutureSupplier(timeLimiter, () -> callExecutor.submit(call::get));
+        Callable<T> limited = RateLimiter.decorateCallable(rateLimiterRegistry.rateLimiter(instance), timed);
+        Callable<T> guarded = CircuitBreaker.decorateCallable(circuitBreakerRegistry.circuitBreaker(instance), limited);
+        Callable<T> retried = Retry.decorateCallable(retryRegistry.retry(instance), guarded);
+
+        try {
+            return retried.call();
+        } catch (RejectedExecutionException e) {
+            log.warn("{} call rejected: {} calls running, {} queued", instance,
+                callExecutor.getActiveCount(), callExecutor.getQueue().size());
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (TimeoutException e) {
+            log.warn("{} call timed out: {}", instance, e.getMessage());
+            throw new IllegalStateException(instance + " call timed out", e);
+        } catch (Exception e) {
+            throw new IllegalStateException(instance + " call failed: " + e.getMessage(), e);
+        }
+    }
+
+    public CircuitBreaker circuitBreaker(String instance) {
+        return circuitBreakerRegistry.circuitBreaker(instance);
+    }
+
+    public Retry retry(String instance) {
+        return retryRegistry.retry(instance);
+    }
+
+    public RateLimiter rateLimiter(String instance) {
+        return rateLimiterRegistry.rateLimiter(instance);
+    }
+
+    int queuedCalls() {
+        return callExecutor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+}
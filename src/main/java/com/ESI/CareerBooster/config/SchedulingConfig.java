@@ -0,0 +1,13 @@
+package com.ESI.CareerBooster.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Scheduled} methods, such as the periodic industry benchmark refresh, on Boot's
+ * auto-configured task scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
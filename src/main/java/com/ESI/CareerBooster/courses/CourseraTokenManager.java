@@ -0,0 +1,189 @@
+package com.ESI.CareerBooster.courses;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coursera OAuth client-credentials token, shared by all request threads.
+ *
+ * <p>Callers get the current token without blocking while it is valid. The token is renewed in
+ * the background {@code refresh-ahead-seconds} before it expires (at most halfway through its
+ * lifetime). Only a caller that finds no valid token waits, and all such callers wait on the
+ * same single request to the token endpoint. If a renewal fails while the current token is
+ * still valid, the current token keeps being used and the renewal is retried. A token response
+ * without a usable {@code expires_in} is assumed to live {@code default-lifetime-seconds}.</p>
+ */
+@Slf4j
+@Component
+public class CourseraTokenManager {
+
+    // Treat the token as expired this long before Coursera does, to allow for clock skew and latency
+    private static final long EXPIRY_MARGIN_MILLIS = 30_000;
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    record Token(String value, long expiresAtMillis) {
+        boolean isValidAt(long now) {
+            return now < expiresAtMillis;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final String tokenUrl;
+    private final String basicCredentials;
+    private final long refreshAheadMillis;
+    private final long defaultLifetimeSeconds;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Token current;
+    private final AtomicReference<CompletableFuture<Token>> inFlight = new AtomicReference<>();
+
+    public CourseraTokenManager(
+            RestTemplate restTemplate,
+            @Value("${app.coursera.token-url:https://api.coursera.org/oauth2/client_credentials/token}") String tokenUrl,
+            @Value("${app.coursera.client-key}") String clientKey,
+            @Value("${app.coursera.client-secret}") String clientSecret,
+            @Value("${app.coursera.token.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+            @Value("${app.coursera.token.default-lifetime-seconds:3600}") long defaultLifetimeSeconds,
+            @Value("${app.coursera.token.timeout-ms:10000}") long timeoutMillis) {
+        this.restTemplate = restTemplate;
+        this.tokenUrl = tokenUrl;
+        this.basicCredentials = Base64.getEncoder()
+                .encodeToString((clientKey + ":" + clientSecret).getBytes(StandardCharsets.UTF_8));
+        this.refreshAheadMillis = TimeUnit.SECONDS.toMillis(refreshAheadSeconds);
+        this.defaultLifetimeSeconds = defaultLifetimeSeconds;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coursera-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String getAccessToken() {
+        Token token = current;
+        if (token != null && token.isValidAt(System.currentTimeMillis())) {
+            return token.value();
+        }
+        try {
+            return refresh().get(timeoutMillis, TimeUnit.MILLISECONDS).value();
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for a Coursera access token", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a Coursera access token", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to get Coursera access token: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Starts a token request unless one is already in flight, and returns the in-flight one.
+     * A failed request completes with the current token while that is still valid.
+     */
+    CompletableFuture<Token> refresh() {
+        CompletableFuture<Token> mine = new CompletableFuture<>();
+        while (true) {
+            CompletableFuture<Token> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            if (inFlight.compareAndSet(null, mine)) {
+                break;
+            }
+        }
+
+        try {
+            Token token = requestToken();
+            current = token;
+            inFlight.set(null);
+            mine.complete(token);
+            scheduleRefresh(token);
+        } catch (Exception e) {
+            Token stale = current;
+            inFlight.set(null);
+            if (stale != null && stale.isValidAt(System.currentTimeMillis())) {
+                log.warn("Coursera token refresh failed, keeping the current token: {}", e.getMessage());
+                mine.complete(stale);
+                schedule(Math.min(RETRY_DELAY_MILLIS, stale.expiresAtMillis() - System.currentTimeMillis()));
+            } else {
+                log.error("Failed to get Coursera access token: {}", e.getMessage());
+                mine.completeExceptionally(e);
+            }
+        }
+        return mine;
+    }
+
+    private Token requestToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Basic " + basicCredentials);
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "client_credentials");
+
+        log.debug("Requesting Coursera access token");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = restTemplate.postForObject(tokenUrl, new HttpEntity<>(body, headers), Map.class);
+        if (response == null || response.get("access_token") == null) {
+            throw new IllegalStateException("Coursera token response has no access_token");
+        }
+        long lifetimeSeconds = lifetimeSeconds(response.get("expires_in"));
+        long lifetimeMillis = TimeUnit.SECONDS.toMillis(lifetimeSeconds);
+        long expiresAt = System.currentTimeMillis() + Math.max(0, lifetimeMillis - EXPIRY_MARGIN_MILLIS);
+        log.debug("Obtained Coursera access token (expires in {}s)", lifetimeSeconds);
+        return new Token((String) response.get("access_token"), expiresAt);
+    }
+
+    // Without a lifetime every caller would find the token expired and request a new one
+    private long lifetimeSeconds(Object expiresIn) {
+        if (expiresIn != null) {
+            try {
+                long seconds = Long.parseLong(expiresIn.toString().trim());
+                if (seconds > 0) {
+                    return seconds;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the default
+            }
+        }
+        log.warn("Coursera token response has no usable expires_in ({}), assuming {}s",
+                expiresIn, defaultLifetimeSeconds);
+        return defaultLifetimeSeconds;
+    }
+
+    private void scheduleRefresh(Token token) {
+        long remaining = token.expiresAtMillis() - System.currentTimeMillis();
+        schedule(remaining - Math.min(refreshAheadMillis, remaining / 2));
+    }
+
+    private void schedule(long delayMillis) {
+        if (delayMillis <= 0 || scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(this::refresh, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
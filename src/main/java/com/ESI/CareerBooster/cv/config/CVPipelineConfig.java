@@ -0,0 +1,58 @@
+package com.ESI.CareerBooster.cv.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Thread pools for the asynchronous CV upload pipeline. Extraction runs on the
+ * {@link com.ESI.CareerBooster.cv.service.PdfExtractionExecutor} pool; the remaining stages
+ * each get their own pool so a slow AI provider cannot starve scoring or persistence.
+ *
+ * <p>Declaring these pools makes Boot's {@code applicationTaskExecutor} back off, which would
+ * leave Spring MVC async handling (streamed {@code Flux} and {@code Mono} responses) on an
+ * unbounded thread-per-task executor. That executor is therefore declared here too, from the
+ * {@code spring.task.execution.*} properties.</p>
+ */
+@Configuration
+public class CVPipelineConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor cvScoringExecutor(
+            @Value("${app.cv.pipeline.scoring.threads:2}") int threads,
+            @Value("${app.cv.pipeline.scoring.queue-capacity:100}") int queueCapacity) {
+        return executor("cv-score-", threads, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor cvAiExecutor(
+            @Value("${app.cv.pipeline.ai.threads:16}") int threads,
+            @Value("${app.cv.pipeline.ai.queue-capacity:100}") int queueCapacity) {
+        return executor("cv-ai-", threads, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor cvPersistExecutor(
+            @Value("${app.cv.pipeline.persist.threads:4}") int threads,
+            @Value("${app.cv.pipeline.persist.queue-capacity:100}") int queueCapacity) {
+        return executor("cv-persist-", threads, queueCapacity);
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    private ThreadPoolTaskExecutor executor(String prefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(prefix);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
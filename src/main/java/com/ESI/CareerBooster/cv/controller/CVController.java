@@ -1,17 +1,32 @@
 package com.ESI.CareerBooster.cv.controller;
 
+import com.ESI.CareerBooster.cv.dto.CVAnalysisStreamEvent;
+import com.ESI.CareerBooster.cv.dto.CVJobStatus;
 import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
 import com.ESI.CareerBooster.cv.dto.EnhancedCVAnalysisResponse;
+import com.ESI.CareerBooster.cv.dto.IndustryBenchmark;
 import com.ESI.CareerBooster.cv.dto.ScoreHistoryDTO;
+import com.ESI.CareerBooster.cv.service.AIConcurrencyLimitException;
+import com.ESI.CareerBooster.cv.service.AIServiceUnavailableException;
+import com.ESI.CareerBooster.cv.service.CVProcessingPipeline;
 import com.ESI.CareerBooster.cv.service.CVService;
 import com.ESI.CareerBooster.cv.service.EnhancedCVScoringService;
+import com.ESI.CareerBooster.cv.service.ExtractionRejectedException;
+import com.ESI.CareerBooster.cv.service.IndustryBenchmarkService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.util.Map;
 import java.util.HashMap;
 import java.io.IOException;
@@ -40,6 +55,8 @@ public class CVController {
     private final CVService cvService;
     private final JwtUtil jwtUtil;
     private final EnhancedCVScoringService enhancedCVScoringService;
+    private final CVProcessingPipeline cvProcessingPipeline;
+    private final IndustryBenchmarkService industryBenchmarkService;
 
     @Operation(
         summary = "Upload and process CV",
@@ -55,7 +72,8 @@ public class CVController {
         ),
         @ApiResponse(responseCode = "400", description = "Invalid file or no file uploaded"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "CV processing at capacity - retry after the Retry-After delay")
     })
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadCV(
@@ -105,6 +123,8 @@ public class CVController {
             log.info("CV processing completed successfully");
             return ResponseEntity.ok(response);
 
+        } catch (ExtractionRejectedException e) {
+            return serviceBusy(e);
         } catch (IOException e) {
             log.error("Error processing CV: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
@@ -123,6 +143,202 @@ public class CVController {
         }
     }
 
+    @Operation(
+        summary = "Upload and process CV (non-blocking)",
+        description = "Same as /api/cv/upload, but the request thread is released while the AI analysis runs. "
+            + "Requires authentication.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "CV processed successfully",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = CVUploadResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid file or no file uploaded"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "CV processing at capacity - retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/upload-reactive", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<?>> uploadCVReactive(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "analysisType", required = false) String analysisType) {
+        // Validate file
+        if (file == null || file.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", "No file uploaded",
+                    "message", "Please select a PDF file to upload"
+                )));
+        }
+
+        if (!"application/pdf".equals(file.getContentType())) {
+            return Mono.just(ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", "Invalid file type",
+                    "message", "Only PDF files are allowed"
+                )));
+        }
+
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        log.info("Processing CV {} without blocking for user: {}", file.getOriginalFilename(), userEmail);
+
+        try {
+            return cvService.processCVReactive(file, userEmail, analysisType)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(uploadFailed(e)));
+        } catch (Exception e) {
+            return Mono.just(uploadFailed(e));
+        }
+    }
+
+    @Operation(
+        summary = "Upload CV and stream the AI analysis",
+        description = "Server-Sent Events stream of the AI analysis while it is generated: 'chunk' events carry "
+            + "raw text, 'skill', 'gap' and 'recommendation' events each parsed element as soon as it is "
+            + "complete, and 'done' the stored result. Failures are sent as an 'error' event. Requires authentication.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analysis stream started"),
+        @ApiResponse(responseCode = "400", description = "Invalid file or no file uploaded"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
+        @ApiResponse(responseCode = "503", description = "CV processing at capacity - retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/analyze-stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> analyzeStream(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "analysisType", required = false) String analysisType) {
+        // The body must stay a Flux for Spring MVC to stream it, so rejections are sent as a single error event
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(Flux.just(toServerSentEvent(CVAnalysisStreamEvent.error(
+                    "No file uploaded", "Please select a PDF file to upload"))));
+        }
+
+        if (!"application/pdf".equals(file.getContentType())) {
+            return ResponseEntity.badRequest()
+                .body(Flux.just(toServerSentEvent(CVAnalysisStreamEvent.error(
+                    "Invalid file type", "Only PDF files are allowed"))));
+        }
+
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        log.info("Streaming analysis of CV {} for user: {}", file.getOriginalFilename(), userEmail);
+
+        try {
+            Flux<ServerSentEvent<Object>> events = cvService.streamAnalysis(file, userEmail, analysisType)
+                .onErrorResume(e -> Mono.just(streamFailed(e)))
+                .map(this::toServerSentEvent);
+            return ResponseEntity.ok().body(events);
+        } catch (ExtractionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Flux.just(toServerSentEvent(CVAnalysisStreamEvent.error("Service busy", e.getMessage()))));
+        } catch (Exception e) {
+            log.error("Error streaming CV analysis: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(Flux.just(toServerSentEvent(CVAnalysisStreamEvent.error(
+                    "Error processing CV", String.valueOf(e.getMessage())))));
+        }
+    }
+
+    @Operation(
+        summary = "Upload CV for asynchronous processing",
+        description = "Queue a PDF CV for processing and return immediately with a job id. "
+            + "Poll /api/cv/jobs/{jobId} or subscribe to /api/cv/jobs/{jobId}/events for progress.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "CV accepted for processing",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = CVJobStatus.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid file or no file uploaded"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing token"),
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "CV processing at capacity - retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/upload/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadCVAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "analysisType", required = false) String analysisType) {
+        try {
+            // Validate file
+            if (file == null || file.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of(
+                        "error", "No file uploaded",
+                        "message", "Please select a PDF file to upload"
+                    ));
+            }
+
+            if (!"application/pdf".equals(file.getContentType())) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of(
+                        "error", "Invalid file type",
+                        "message", "Only PDF files are allowed"
+                    ));
+            }
+
+            String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+            log.info("Queueing CV {} for asynchronous processing for user: {}", file.getOriginalFilename(), userEmail);
+
+            CVJobStatus status = cvProcessingPipeline.submit(file, userEmail, analysisType);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/cv/jobs/" + status.getJobId()))
+                .body(status);
+
+        } catch (ExtractionRejectedException e) {
+            return serviceBusy(e);
+        } catch (Exception e) {
+            log.error("Error queueing CV: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of("error", "Error processing CV", "message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Get CV processing job status",
+        description = "Get the current stage and, once completed, the result of an asynchronous CV upload",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job status retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = CVJobStatus.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJobStatus(@PathVariable String jobId) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return cvProcessingPipeline.getStatus(jobId, userEmail)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> jobNotFound(jobId));
+    }
+
+    @Operation(
+        summary = "Follow CV processing job",
+        description = "Server-Sent Events stream of progress events for an asynchronous CV upload; "
+            + "the stream ends once the job is completed or failed",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/jobs/{jobId}/events")
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String jobId) {
+        // The declared body type must be SseEmitter for Spring MVC to stream it, so 404 has no body
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return cvProcessingPipeline.subscribe(jobId, userEmail)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(
         summary = "Enhanced CV Analysis",
         description = "Analyze CV with enhanced scoring algorithm and detailed breakdown",
@@ -137,7 +353,8 @@ public class CVController {
         ),
         @ApiResponse(responseCode = "400", description = "Invalid file or parameters"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "CV processing at capacity - retry after the Retry-After delay")
     })
     @PostMapping(value = "/analyze-enhanced", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> analyzeEnhanced(
@@ -166,6 +383,8 @@ public class CVController {
             EnhancedCVAnalysisResponse response = enhancedCVScoringService.analyzeCV(file, userEmail, industry);
             return ResponseEntity.ok(response);
 
+        } catch (ExtractionRejectedException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             log.error("Error in enhanced CV analysis: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
@@ -217,14 +436,7 @@ public class CVController {
         try {
             log.info("Getting industry benchmark for: {}", industry);
 
-            // Simple benchmark data - could be enhanced with real data
-            Map<String, Object> benchmark = Map.of(
-                "industry", industry.toUpperCase(),
-                "averageScore", getIndustryAverageScore(industry),
-                "topPercentileScore", getIndustryTopScore(industry),
-                "sampleSize", 1000 // Mock data
-            );
-
+            IndustryBenchmark benchmark = industryBenchmarkService.getBenchmark(industry);
             return ResponseEntity.ok(benchmark);
 
         } catch (Exception e) {
@@ -234,26 +446,56 @@ public class CVController {
         }
     }
 
-    // Helper methods for benchmark data
-    private int getIndustryAverageScore(String industry) {
-        return switch (industry.toUpperCase()) {
-            case "TECHNOLOGY" -> 78;
-            case "MARKETING" -> 75;
-            case "FINANCE" -> 80;
-            case "HEALTHCARE" -> 76;
-            case "EDUCATION" -> 74;
-            default -> 75;
-        };
+    private ResponseEntity<?> serviceBusy(ExtractionRejectedException e) {
+        return serviceBusy(e.getRetryAfterSeconds(), e.getMessage());
+    }
+
+    private ResponseEntity<?> serviceBusy(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(Map.of(
+                "error", "Service busy",
+                "message", message
+            ));
+    }
+
+    private ResponseEntity<?> uploadFailed(Throwable e) {
+        if (e instanceof ExtractionRejectedException rejected) {
+            return serviceBusy(rejected);
+        }
+        if (e instanceof AIConcurrencyLimitException limited) {
+            return serviceBusy(limited.getRetryAfterSeconds(), limited.getMessage());
+        }
+        log.error("Error processing CV: {}", e.getMessage(), e);
+        return ResponseEntity.internalServerError()
+            .body(Map.of(
+                "error", "Error processing CV",
+                "message", String.valueOf(e.getMessage())
+            ));
+    }
+
+    private CVAnalysisStreamEvent streamFailed(Throwable e) {
+        if (e instanceof ExtractionRejectedException || e instanceof AIConcurrencyLimitException) {
+            return CVAnalysisStreamEvent.error("Service busy", e.getMessage());
+        }
+        if (e instanceof AIServiceUnavailableException) {
+            return CVAnalysisStreamEvent.error("AI service unavailable", e.getMessage());
+        }
+        log.error("Error streaming CV analysis: {}", e.getMessage(), e);
+        return CVAnalysisStreamEvent.error("Error processing CV", String.valueOf(e.getMessage()));
+    }
+
+    private ServerSentEvent<Object> toServerSentEvent(CVAnalysisStreamEvent event) {
+        return ServerSentEvent.builder(event.getData())
+            .event(event.getType())
+            .build();
     }
 
-    private int getIndustryTopScore(String industry) {
-        return switch (industry.toUpperCase()) {
-            case "TECHNOLOGY" -> 95;
-            case "MARKETING" -> 92;
-            case "FINANCE" -> 97;
-            case "HEALTHCARE" -> 93;
-            case "EDUCATION" -> 91;
-            default -> 93;
-        };
+    private ResponseEntity<?> jobNotFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(Map.of(
+                "error", "Job not found",
+                "message", "No CV processing job " + jobId + " for the current user"
+            ));
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.ESI.CareerBooster.cv.controller;
 
 import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
 import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.service.BulkRescoringService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -12,8 +14,10 @@ import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/cv-scores")
@@ -23,6 +27,8 @@ import java.util.Optional;
 public class CVScoreController {
 
     private final CVScoreRepository cvScoreRepository;
+    private final CVRepository cvRepository;
+    private final BulkRescoringService bulkRescoringService;
 
     @GetMapping
     @Operation(summary = "Get all CV scores for authenticated user")
@@ -38,7 +44,9 @@ public class CVScoreController {
     public ResponseEntity<CVScore> getLatestCVScore(@AuthenticationPrincipal UserDetails userDetails) {
         log.debug("Fetching latest CV score for user: {}", userDetails.getUsername());
 
-        Optional<CVScore> latestScore = cvScoreRepository.getLatestScoreByUserEmail(userDetails.getUsername());
+        // The cached projection names the latest score; the full score is then read by primary key
+        Optional<CVScore> latestScore = cvScoreRepository.getLatestScoreByUserEmail(userDetails.getUsername())
+            .flatMap(latest -> cvScoreRepository.findById(latest.scoreId()));
 
         if (latestScore.isPresent()) {
             return ResponseEntity.ok(latestScore.get());
@@ -94,4 +102,20 @@ public class CVScoreController {
 
         return ResponseEntity.ok(scores);
     }
+
+    @PostMapping("/rescore")
+    @Operation(summary = "Recompute the scores of the authenticated user's CVs",
+               description = "Rescores the given CVs, or all of the user's CVs when no ids are sent, with the current scoring weights")
+    public ResponseEntity<BulkRescoringService.RescoreResult> rescore(
+            @RequestBody(required = false) List<Long> cvIds,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        List<Long> ownedIds = cvRepository.findIdsByUserEmail(userDetails.getUsername());
+        if (cvIds != null && !cvIds.isEmpty()) {
+            Set<Long> requested = new HashSet<>(cvIds);
+            ownedIds = ownedIds.stream().filter(requested::contains).toList();
+        }
+        log.debug("Rescoring {} CVs for user: {}", ownedIds.size(), userDetails.getUsername());
+
+        return ResponseEntity.ok(bulkRescoringService.rescore(ownedIds));
+    }
 }
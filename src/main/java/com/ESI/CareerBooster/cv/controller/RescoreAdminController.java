@@ -0,0 +1,58 @@
+package com.ESI.CareerBooster.cv.controller;
+
+import com.ESI.CareerBooster.cv.dto.RescoreJobStatus;
+import com.ESI.CareerBooster.cv.service.RescoringJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/rescore")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administrative maintenance endpoints")
+public class RescoreAdminController {
+
+    private final RescoringJobService rescoringJobService;
+
+    @PostMapping
+    @Operation(summary = "Rescore every stored CV",
+               description = "Starts the bulk rescoring job in the background. An interrupted or failed job is resumed from its checkpoint unless restart is set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job started or resumed"),
+        @ApiResponse(responseCode = "409", description = "A rescoring job is already running")
+    })
+    public ResponseEntity<?> startRescoring(
+            @Parameter(description = "Start over instead of resuming an unfinished job")
+            @RequestParam(defaultValue = "false") boolean restart) {
+        try {
+            RescoreJobStatus status = rescoringJobService.start(restart);
+            log.info("Rescoring job {} started at CV {}", status.getJobId(), status.getLastCvId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Rescoring already running", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Progress and throughput of the current or last rescoring job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job status"),
+        @ApiResponse(responseCode = "404", description = "No rescoring job has run yet")
+    })
+    public ResponseEntity<RescoreJobStatus> getRescoringStatus() {
+        return rescoringJobService.getStatus()
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
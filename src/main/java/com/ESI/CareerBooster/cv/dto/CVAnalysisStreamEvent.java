@@ -0,0 +1,40 @@
+package com.ESI.CareerBooster.cv.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One Server-Sent Event of a streamed CV analysis")
+public class CVAnalysisStreamEvent {
+
+    public static final String CHUNK = "chunk";
+    public static final String SKILL = "skill";
+    public static final String GAP = "gap";
+    public static final String RECOMMENDATION = "recommendation";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    @Schema(description = "Event name", example = "skill")
+    private String type; // chunk, skill, gap, recommendation, done, error
+
+    @Schema(description = "Text chunk, parsed element, final CVUploadResponse or error details")
+    private Object data;
+
+    public static CVAnalysisStreamEvent chunk(String text) {
+        return new CVAnalysisStreamEvent(CHUNK, Map.of("text", text));
+    }
+
+    public static CVAnalysisStreamEvent done(CVUploadResponse response) {
+        return new CVAnalysisStreamEvent(DONE, response);
+    }
+
+    public static CVAnalysisStreamEvent error(String error, String message) {
+        return new CVAnalysisStreamEvent(ERROR, Map.of("error", error, "message", message));
+    }
+}
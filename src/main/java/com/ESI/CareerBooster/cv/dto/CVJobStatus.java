@@ -0,0 +1,39 @@
+package com.ESI.CareerBooster.cv.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of an asynchronous CV processing job")
+public class CVJobStatus {
+
+    @Schema(description = "Job identifier", example = "3f1c2a8e-6b1d-4c55-9a7e-1d2b3c4d5e6f")
+    private String jobId;
+
+    @Schema(description = "Current stage", example = "AI_ENRICHMENT")
+    private String status; // QUEUED, EXTRACTING, SCORING, AI_ENRICHMENT, PERSISTING, COMPLETED, FAILED
+
+    @Schema(description = "Progress in percent", example = "60")
+    private int progress;
+
+    @Schema(description = "Uploaded file name", example = "cv.pdf")
+    private String fileName;
+
+    @Schema(description = "Job creation time")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Last status change")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Error message when the job failed")
+    private String error;
+
+    @Schema(description = "Final upload result once the job is completed")
+    private CVUploadResponse result;
+}
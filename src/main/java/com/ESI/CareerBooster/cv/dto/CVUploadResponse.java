@@ -1,5 +1,6 @@
 package com.ESI.CareerBooster.cv.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,17 @@ public class CVUploadResponse {
     private String fileName;
     private String recommendations;
     private List<CourseRecommendation> courseRecommendations;
-} 
\ No newline at end of file
+
+    // Set when the AI provider was unavailable and only the local score could be computed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean degraded;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer overallScore;
+
+    public CVUploadResponse(String fileName, String recommendations, List<CourseRecommendation> courseRecommendations) {
+        this.fileName = fileName;
+        this.recommendations = recommendations;
+        this.courseRecommendations = courseRecommendations;
+    }
+}
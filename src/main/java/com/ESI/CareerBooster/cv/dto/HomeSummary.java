@@ -0,0 +1,28 @@
+package com.ESI.CareerBooster.cv.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything the home screen needs about a user's CVs, read in one query: how many there are,
+ * the latest one's metadata and recommendations (never its content), and the average and latest
+ * score.
+ */
+public record HomeSummary(
+    long cvCount,
+    Long latestCvId,
+    String latestFileName,
+    LocalDateTime latestCreatedAt,
+    String latestRecommendations,
+    Double averageScore,
+    Integer latestScore,
+    String latestIndustryType
+) {
+
+    public static HomeSummary empty() {
+        return new HomeSummary(0, null, null, null, null, null, null, null);
+    }
+
+    public boolean hasCVs() {
+        return cvCount > 0;
+    }
+}
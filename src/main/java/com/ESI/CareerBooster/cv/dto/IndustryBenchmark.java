@@ -0,0 +1,13 @@
+package com.ESI.CareerBooster.cv.dto;
+
+/**
+ * Score statistics of one industry. {@code sampleSize} is the number of stored analyses behind
+ * the figures; it is 0 while there are too few scores and the defaults are reported.
+ */
+public record IndustryBenchmark(
+    String industry,
+    int averageScore,
+    int topPercentileScore,
+    long sampleSize
+) {
+}
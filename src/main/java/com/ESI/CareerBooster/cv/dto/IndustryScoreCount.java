@@ -0,0 +1,7 @@
+package com.ESI.CareerBooster.cv.dto;
+
+/**
+ * How many history entries of an industry have a given overall score.
+ */
+public record IndustryScoreCount(String industryType, Integer overallScore, Long occurrences) {
+}
@@ -0,0 +1,18 @@
+package com.ESI.CareerBooster.cv.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's most recent CV score, as cached per user: only the score columns, never the CV's
+ * content or its owner. {@code GET /api/cv-scores/latest} still answers with the full
+ * {@link com.ESI.CareerBooster.cv.model.CVScore}, loaded by {@link #scoreId()}.
+ */
+public record LatestScore(
+    Long scoreId,
+    Long cvId,
+    Integer overallScore,
+    String grade,
+    String industryType,
+    LocalDateTime createdAt
+) {
+}
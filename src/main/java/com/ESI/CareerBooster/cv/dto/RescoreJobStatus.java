@@ -0,0 +1,48 @@
+package com.ESI.CareerBooster.cv.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of the bulk rescoring job")
+public class RescoreJobStatus {
+
+    @Schema(description = "Job identifier", example = "12")
+    private Long jobId;
+
+    @Schema(description = "Job state", example = "RUNNING")
+    private String status; // RUNNING, INTERRUPTED, COMPLETED, FAILED
+
+    @Schema(description = "CVs rescored so far, over all runs of this job", example = "48200")
+    private long processed;
+
+    @Schema(description = "CVs to rescore in total", example = "120000")
+    private long total;
+
+    @Schema(description = "Progress in percent", example = "40")
+    private int progress;
+
+    @Schema(description = "Checkpoint: every CV up to this id is rescored", example = "48391")
+    private Long lastCvId;
+
+    @Schema(description = "Rescoring throughput of the current run", example = "850.5")
+    private double cvsPerSecond;
+
+    @Schema(description = "Job start time")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Last checkpoint time")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Completion time")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Error message when the job failed")
+    private String error;
+}
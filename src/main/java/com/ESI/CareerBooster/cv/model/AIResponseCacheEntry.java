@@ -0,0 +1,37 @@
+package com.ESI.CareerBooster.cv.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ai_response_cache", indexes = {
+    @Index(name = "idx_ai_response_cache_expires_at", columnList = "expires_at")
+})
+public class AIResponseCacheEntry {
+    // Model name plus SHA-256 of the prompt
+    @Id
+    @Column(name = "cache_key", length = 128)
+    private String cacheKey;
+
+    @Column(name = "model", nullable = false, length = 64)
+    private String model;
+
+    @Column(name = "response", nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    // How long the original AI call took, reported as latency saved on every hit
+    @Column(name = "latency_ms")
+    private Long latencyMs;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
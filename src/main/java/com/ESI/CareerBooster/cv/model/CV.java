@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "cvs")
+@Table(name = "cvs", indexes = {
+    @Index(name = "idx_cvs_file_hash", columnList = "file_hash"),
+    @Index(name = "idx_cvs_content_hash", columnList = "content_hash"),
+    @Index(name = "idx_cvs_user_created_at", columnList = "user_id, created_at")
+})
 public class CV {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +34,21 @@ public class CV {
     @Column(name = "recommendations", columnDefinition = "TEXT")
     private String recommendations;
 
+    // JSON array of the structured course recommendations returned by the AI
+    @Column(name = "course_recommendations", columnDefinition = "TEXT")
+    private String courseRecommendations;
+
+    // SHA-256 of the uploaded PDF bytes
+    @Column(name = "file_hash", length = 64)
+    private String fileHash;
+
+    // SHA-256 of the normalized extracted text
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "analysis_type", length = 32)
+    private String analysisType;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
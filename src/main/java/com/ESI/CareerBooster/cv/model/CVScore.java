@@ -14,8 +14,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class CVScore {
 
+    // Pooled sequence ids (V6) let Hibernate batch the inserts, which IDENTITY rules out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cv_scores_seq")
+    @SequenceGenerator(name = "cv_scores_seq", sequenceName = "cv_scores_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
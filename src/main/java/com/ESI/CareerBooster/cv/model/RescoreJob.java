@@ -0,0 +1,51 @@
+package com.ESI.CareerBooster.cv.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "rescore_jobs")
+public class RescoreJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // RUNNING, COMPLETED, FAILED; a RUNNING job no instance is working on was interrupted
+    @Column(name = "status", nullable = false, length = 16)
+    private String status;
+
+    // Checkpoint: every CV up to this id has been rescored and committed
+    @Column(name = "last_cv_id", nullable = false)
+    private Long lastCvId = 0L;
+
+    @Column(name = "processed", nullable = false)
+    private Long processed = 0L;
+
+    @Column(name = "total", nullable = false)
+    private Long total = 0L;
+
+    // Instance working on the job; it keeps heartbeat_at fresh while the job is RUNNING
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+}
@@ -7,14 +7,19 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "score_history")
+@Table(name = "score_history", indexes = {
+    @Index(name = "idx_score_history_user_email_analysis_date", columnList = "user_email, analysis_date"),
+    @Index(name = "idx_score_history_industry_score", columnList = "industry_type, overall_score")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ScoreHistory {
     
+    // Allocated like CVScore ids, so a score and its history entry flush in the same batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "score_history_seq")
+    @SequenceGenerator(name = "score_history_seq", sequenceName = "score_history_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_email", nullable = false)
@@ -0,0 +1,88 @@
+package com.ESI.CareerBooster.cv.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Running aggregates over a user's score history, kept up to date as history entries are
+ * written so reading them never has to scan the history.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_score_stats")
+public class UserScoreStats {
+
+    public static final String STABLE = "STABLE";
+    public static final String IMPROVING = "IMPROVING";
+    public static final String DECLINING = "DECLINING";
+
+    @Id
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "analysis_count", nullable = false)
+    private Long analysisCount = 0L;
+
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum = 0L;
+
+    @Column(name = "min_score")
+    private Integer minScore;
+
+    @Column(name = "max_score")
+    private Integer maxScore;
+
+    @Column(name = "latest_score")
+    private Integer latestScore;
+
+    @Column(name = "previous_score")
+    private Integer previousScore;
+
+    @Column(name = "latest_grade")
+    private String latestGrade;
+
+    @Column(name = "latest_industry_type")
+    private String latestIndustryType;
+
+    @Column(name = "latest_career_level")
+    private String latestCareerLevel;
+
+    @Column(name = "last_analysis_date")
+    private LocalDateTime lastAnalysisDate;
+
+    // Latest score against the one before it
+    @Column(name = "trend", nullable = false, length = 16)
+    private String trend = STABLE;
+
+    public UserScoreStats(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    /**
+     * Folds a new history entry into the aggregates; it becomes the latest analysis.
+     */
+    public void add(ScoreHistory entry) {
+        int score = entry.getOverallScore();
+        analysisCount++;
+        scoreSum += score;
+        minScore = minScore == null ? score : Math.min(minScore, score);
+        maxScore = maxScore == null ? score : Math.max(maxScore, score);
+
+        previousScore = latestScore;
+        latestScore = score;
+        latestGrade = entry.getGrade();
+        latestIndustryType = entry.getIndustryType();
+        latestCareerLevel = entry.getCareerLevel();
+        lastAnalysisDate = entry.getAnalysisDate();
+        trend = previousScore == null || score == previousScore ? STABLE : score > previousScore ? IMPROVING : DECLINING;
+    }
+
+    public Double getAverageScore() {
+        return analysisCount == 0 ? null : (double) scoreSum / analysisCount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ESI.CareerBooster.cv.repository;
+
+import com.ESI.CareerBooster.cv.model.AIResponseCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AIResponseCacheRepository extends JpaRepository<AIResponseCacheEntry, String> {
+
+    /**
+     * Find a cached response that has not expired yet
+     */
+    Optional<AIResponseCacheEntry> findByCacheKeyAndExpiresAtAfter(String cacheKey, LocalDateTime now);
+
+    /**
+     * Delete responses that have expired; reads already skip them
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AIResponseCacheEntry e WHERE e.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -1,12 +1,78 @@
 package com.ESI.CareerBooster.cv.repository;
 
+import com.ESI.CareerBooster.cv.dto.HomeSummary;
 import com.ESI.CareerBooster.cv.model.CV;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CVRepository extends JpaRepository<CV, Long> {
+    int STREAM_FETCH_SIZE = 500;
+
     List<CV> findByUserId(Long userId);
     List<CV> findByUserEmailOrderByCreatedAtDesc(String email);
-} 
\ No newline at end of file
+
+    /**
+     * Latest CV of a user with the same uploaded bytes and analysis type
+     */
+    Optional<CV> findFirstByUserEmailAndFileHashAndAnalysisTypeOrderByCreatedAtDesc(
+        String email, String fileHash, String analysisType);
+
+    /**
+     * Latest CV of a user with the same normalized text and analysis type
+     */
+    Optional<CV> findFirstByUserEmailAndContentHashAndAnalysisTypeOrderByCreatedAtDesc(
+        String email, String contentHash, String analysisType);
+
+    /**
+     * Ids of a user's CVs, without loading their content
+     */
+    @Query("SELECT c.id FROM CV c WHERE c.user.email = :email ORDER BY c.id")
+    List<Long> findIdsByUserEmail(@Param("email") String email);
+
+    /**
+     * CVs with their owner in one query, for bulk rescoring
+     */
+    @Query("SELECT c FROM CV c JOIN FETCH c.user WHERE c.id IN :ids")
+    List<CV> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the CVs after the given id in id order over a forward-only cursor. Must be consumed
+     * inside a transaction; the caller clears the persistence context as it goes.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CV c JOIN FETCH c.user WHERE c.id > :afterId ORDER BY c.id")
+    Stream<CV> streamByIdGreaterThan(@Param("afterId") Long afterId);
+
+    long countByIdGreaterThan(Long id);
+
+    /**
+     * Home screen summary of a user in a single statement; empty when the user does not exist
+     */
+    @Query("""
+        SELECT new com.ESI.CareerBooster.cv.dto.HomeSummary(
+            (SELECT COUNT(c) FROM CV c WHERE c.user = u),
+            latest.id, latest.fileName, latest.createdAt, latest.recommendations,
+            (SELECT AVG(s.overallScore) FROM CVScore s WHERE s.cv.user = u),
+            latestScore.overallScore, latestScore.industryType)
+        FROM User u
+        LEFT JOIN CV latest ON latest.id =
+            (SELECT c.id FROM CV c WHERE c.user = u ORDER BY c.createdAt DESC, c.id DESC LIMIT 1)
+        LEFT JOIN CVScore latestScore ON latestScore.id =
+            (SELECT s.id FROM CVScore s WHERE s.cv.user = u ORDER BY s.createdAt DESC, s.id DESC LIMIT 1)
+        WHERE u.email = :email
+        """)
+    Optional<HomeSummary> findHomeSummaryByUserEmail(@Param("email") String email);
+}
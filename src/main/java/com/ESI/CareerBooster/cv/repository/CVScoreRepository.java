@@ -1,12 +1,16 @@
 package com.ESI.CareerBooster.cv.repository;
 
+import com.ESI.CareerBooster.config.CacheConfig;
+import com.ESI.CareerBooster.cv.dto.LatestScore;
 import com.ESI.CareerBooster.cv.model.CVScore;
 import com.ESI.CareerBooster.cv.model.CV;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +27,12 @@ public interface CVScoreRepository extends JpaRepository<CVScore, Long> {
      */
     Optional<CVScore> findByCvId(Long cvId);
     
+    /**
+     * Find the scores of several CVs together with the CVs and their owners
+     */
+    @Query("SELECT cs FROM CVScore cs JOIN FETCH cs.cv c JOIN FETCH c.user WHERE c.id IN :cvIds")
+    List<CVScore> findWithCvByCvIdIn(@Param("cvIds") Collection<Long> cvIds);
+    
     /**
      * Find all CV scores for a user (through CV relationship)
      */
@@ -30,16 +40,26 @@ public interface CVScoreRepository extends JpaRepository<CVScore, Long> {
     List<CVScore> findByUserEmailOrderByCreatedAtDesc(@Param("userEmail") String userEmail);
     
     /**
-     * Get average score for a user
+     * Get average score for a user (cached until the user's scores change)
      */
+    @Cacheable(cacheNames = CacheConfig.AVERAGE_SCORE, key = "#p0")
     @Query("SELECT AVG(cs.overallScore) FROM CVScore cs WHERE cs.cv.user.email = :userEmail")
     Double getAverageScoreByUserEmail(@Param("userEmail") String userEmail);
     
     /**
-     * Get latest score for a user
+     * Get latest score for a user (cached until the user's scores change). A projection rather
+     * than the entity, so the cache holds neither the CV content nor the user.
      */
-    @Query("SELECT cs FROM CVScore cs WHERE cs.cv.user.email = :userEmail ORDER BY cs.createdAt DESC LIMIT 1")
-    Optional<CVScore> getLatestScoreByUserEmail(@Param("userEmail") String userEmail);
+    @Cacheable(cacheNames = CacheConfig.LATEST_SCORE, key = "#p0")
+    @Query("""
+        SELECT new com.ESI.CareerBooster.cv.dto.LatestScore(
+            cs.id, cs.cv.id, cs.overallScore, cs.grade, cs.industryType, cs.createdAt)
+        FROM CVScore cs
+        WHERE cs.cv.user.email = :userEmail
+        ORDER BY cs.createdAt DESC
+        LIMIT 1
+        """)
+    Optional<LatestScore> getLatestScoreByUserEmail(@Param("userEmail") String userEmail);
     
     /**
      * Count scores by industry type
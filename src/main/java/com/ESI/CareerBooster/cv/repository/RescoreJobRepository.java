@@ -0,0 +1,56 @@
+package com.ESI.CareerBooster.cv.repository;
+
+import com.ESI.CareerBooster.cv.model.RescoreJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface RescoreJobRepository extends JpaRepository<RescoreJob, Long> {
+
+    /**
+     * Most recent rescoring job
+     */
+    Optional<RescoreJob> findFirstByOrderByIdDesc();
+
+    /**
+     * Most recent job in one of the given states, used to resume unfinished runs
+     */
+    Optional<RescoreJob> findFirstByStatusInOrderByIdDesc(Collection<String> statuses);
+
+    /**
+     * Whether some instance is working on a job, i.e. a RUNNING job has a recent heartbeat
+     */
+    boolean existsByStatusAndHeartbeatAtAfter(String status, LocalDateTime after);
+
+    /**
+     * Takes over a job unless another instance holds it: succeeds for a job that is not
+     * RUNNING, or whose owner's heartbeat is older than {@code staleBefore}. Returns 1 when
+     * the job was claimed.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE RescoreJob j SET j.owner = :owner, j.heartbeatAt = :now, j.status = 'RUNNING'
+        WHERE j.id = :id
+          AND (j.status <> 'RUNNING' OR j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)
+        """)
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Refreshes the heartbeat of a job still held by {@code owner}. Returns 0 once another
+     * instance has taken the job over.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RescoreJob j SET j.heartbeatAt = :now WHERE j.id = :id AND j.owner = :owner AND j.status = 'RUNNING'")
+    int heartbeat(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -1,5 +1,6 @@
 package com.ESI.CareerBooster.cv.repository;
 
+import com.ESI.CareerBooster.cv.dto.IndustryScoreCount;
 import com.ESI.CareerBooster.cv.model.ScoreHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -57,6 +58,21 @@ public interface ScoreHistoryRepository extends JpaRepository<ScoreHistory, Long
     @Query("SELECT AVG(sh.overallScore) FROM ScoreHistory sh WHERE sh.industryType = :industryType")
     Double getIndustryBenchmark(@Param("industryType") String industryType);
     
+    /**
+     * Highest history id, or null while there is no history
+     */
+    @Query("SELECT MAX(sh.id) FROM ScoreHistory sh")
+    Long findMaxId();
+    
+    /**
+     * Count history entries up to {@code maxId} per industry and overall score, the input of the
+     * industry benchmarks
+     */
+    @Query("SELECT new com.ESI.CareerBooster.cv.dto.IndustryScoreCount(sh.industryType, sh.overallScore, COUNT(sh)) "
+        + "FROM ScoreHistory sh WHERE sh.industryType IS NOT NULL AND sh.id <= :maxId "
+        + "GROUP BY sh.industryType, sh.overallScore")
+    List<IndustryScoreCount> countScoresByIndustry(@Param("maxId") long maxId);
+    
     /**
      * Count total analyses for a user
      */
@@ -0,0 +1,24 @@
+package com.ESI.CareerBooster.cv.repository;
+
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserScoreStatsRepository extends JpaRepository<UserScoreStats, String> {
+
+    /**
+     * Find and row-lock the statistics of several users, always in the same order so
+     * concurrent writers cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserScoreStats s WHERE s.userEmail IN :userEmails ORDER BY s.userEmail")
+    List<UserScoreStats> lockByUserEmailIn(@Param("userEmails") Collection<String> userEmails);
+}
@@ -0,0 +1,193 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * The upload scoring model: fixed points per detected section, quality bonuses for experience
+ * and skills, and formatting and keyword scores for the detected industry.
+ */
+@Component
+public class AnalyzerScoringModel implements ScoringModel {
+
+    public static final String NAME = "analyzer";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(CVFeatures features, CVScore score) {
+        KeywordMatches matches = features.keywords();
+
+        // Detect industry
+        String industry = detectIndustry(matches);
+        score.setIndustryType(industry);
+
+        // Analyze sections
+        Map<String, Boolean> sectionsPresent = detectSections(matches);
+        Map<String, Integer> sectionScores = calculateSectionScores(features, sectionsPresent, industry);
+
+        // Set individual scores
+        score.setContactInfoScore(sectionScores.get("CONTACT"));
+        score.setSummaryScore(sectionScores.get("SUMMARY"));
+        score.setExperienceScore(sectionScores.get("EXPERIENCE"));
+        score.setEducationScore(sectionScores.get("EDUCATION"));
+        score.setSkillsScore(sectionScores.get("SKILLS"));
+        score.setProjectsScore(sectionScores.get("PROJECTS"));
+        score.setFormattingScore(calculateFormattingScore(features));
+        score.setKeywordScore(calculateKeywordScore(matches, industry));
+
+        // Calculate overall score
+        int overallScore = calculateOverallScore(sectionScores, score.getFormattingScore(), score.getKeywordScore());
+        score.setOverallScore(overallScore);
+
+        // Generate missing sections and recommendations
+        List<String> missingSections = findMissingSections(sectionsPresent);
+        score.setMissingSections(String.join(", ", missingSections));
+        score.setRecommendations(generateRecommendations(sectionsPresent, sectionScores, industry));
+    }
+
+    private String detectIndustry(KeywordMatches matches) {
+        Map<String, Integer> industryScores = new HashMap<>();
+
+        for (Map.Entry<String, List<String>> entry : ScoringKeywords.INDUSTRY_KEYWORDS.entrySet()) {
+            industryScores.put(entry.getKey(), matches.countPresent(entry.getValue()));
+        }
+
+        return industryScores.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("GENERAL");
+    }
+
+    private Map<String, Boolean> detectSections(KeywordMatches matches) {
+        Map<String, Boolean> sections = new HashMap<>();
+
+        for (Map.Entry<String, List<String>> entry : ScoringKeywords.SECTION_KEYWORDS.entrySet()) {
+            sections.put(entry.getKey(), matches.containsAny(entry.getValue()));
+        }
+
+        return sections;
+    }
+
+    private Map<String, Integer> calculateSectionScores(CVFeatures features, Map<String, Boolean> sectionsPresent,
+                                                        String industry) {
+        Map<String, Integer> scores = new HashMap<>();
+
+        // Base scores for presence
+        scores.put("CONTACT", sectionsPresent.get("CONTACT") ? 15 : 0);
+        scores.put("SUMMARY", sectionsPresent.get("SUMMARY") ? 15 : 0);
+        scores.put("EXPERIENCE", sectionsPresent.get("EXPERIENCE") ? 25 : 0);
+        scores.put("EDUCATION", sectionsPresent.get("EDUCATION") ? 15 : 0);
+        scores.put("SKILLS", sectionsPresent.get("SKILLS") ? 20 : 0);
+        scores.put("PROJECTS", sectionsPresent.get("PROJECTS") ? 10 : 0);
+
+        // Bonus points for content quality
+        if (sectionsPresent.get("EXPERIENCE")) {
+            scores.put("EXPERIENCE", scores.get("EXPERIENCE") + calculateExperienceQuality(features));
+        }
+
+        if (sectionsPresent.get("SKILLS")) {
+            scores.put("SKILLS", scores.get("SKILLS") + calculateSkillsQuality(features.keywords(), industry));
+        }
+
+        return scores;
+    }
+
+    private int calculateExperienceQuality(CVFeatures features) {
+        int quality = 0;
+
+        // Check for years/dates
+        if (features.mentionsYear()) quality += 3;
+
+        // Check for action verbs
+        if (features.keywords().containsAny(ScoringKeywords.ACTION_VERBS)) {
+            quality += 1;
+        }
+
+        // Check for quantifiable achievements
+        if (features.mentionsPercentage() || features.mentionsDollarAmount()) quality += 2;
+
+        return Math.min(quality, 5); // Max 5 bonus points
+    }
+
+    private int calculateSkillsQuality(KeywordMatches matches, String industry) {
+        List<String> industryKeywords = ScoringKeywords.INDUSTRY_KEYWORDS.get(industry);
+        if (industryKeywords == null) return 0;
+
+        int relevantSkills = matches.countPresent(industryKeywords);
+
+        return Math.min(relevantSkills / 2, 5); // Max 5 bonus points
+    }
+
+    private int calculateFormattingScore(CVFeatures features) {
+        int score = 10; // Base score
+
+        // Check length (not too short, not too long)
+        int length = features.length();
+        if (length < 500) score -= 3;
+        else if (length > 5000) score -= 2;
+
+        // Check for structure indicators
+        KeywordMatches matches = features.keywords();
+        if (matches.contains(ScoringKeywords.LINE_BREAK) || matches.contains(ScoringKeywords.BULLET)
+                || matches.contains(ScoringKeywords.DASH)) score += 2;
+
+        return Math.max(0, Math.min(score, 15));
+    }
+
+    private int calculateKeywordScore(KeywordMatches matches, String industry) {
+        List<String> keywords = ScoringKeywords.INDUSTRY_KEYWORDS.get(industry);
+        if (keywords == null) return 5;
+
+        int keywordCount = matches.countPresent(keywords);
+
+        return Math.min(keywordCount, 10); // Max 10 points
+    }
+
+    private int calculateOverallScore(Map<String, Integer> sectionScores, int formattingScore, int keywordScore) {
+        int total = sectionScores.values().stream().mapToInt(Integer::intValue).sum();
+        total += formattingScore + keywordScore;
+        return Math.min(total, 100); // Cap at 100
+    }
+
+    private List<String> findMissingSections(Map<String, Boolean> sectionsPresent) {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Boolean> entry : sectionsPresent.entrySet()) {
+            if (!entry.getValue()) {
+                missing.add(entry.getKey());
+            }
+        }
+        return missing;
+    }
+
+    private String generateRecommendations(Map<String, Boolean> sectionsPresent, Map<String, Integer> sectionScores, String industry) {
+        StringBuilder recommendations = new StringBuilder();
+
+        if (!sectionsPresent.get("SUMMARY")) {
+            recommendations.append("• Add a professional summary section to highlight your key qualifications.\n");
+        }
+
+        if (!sectionsPresent.get("SKILLS")) {
+            recommendations.append("• Include a skills section with relevant ").append(industry.toLowerCase()).append(" technologies.\n");
+        }
+
+        if (!sectionsPresent.get("PROJECTS")) {
+            recommendations.append("• Add a projects section to showcase your practical experience.\n");
+        }
+
+        if (sectionScores.get("EXPERIENCE") < 20) {
+            recommendations.append("• Enhance your experience section with quantifiable achievements and action verbs.\n");
+        }
+
+        if (recommendations.length() == 0) {
+            recommendations.append("• Your CV looks comprehensive! Consider updating it regularly with new achievements.");
+        }
+
+        return recommendations.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces {@link CVFeatures}. Long documents (academic CVs, publication lists) have their
+ * independent scans run in parallel on a bounded fork-join pool; shorter ones are scanned on
+ * the calling thread, where forking would cost more than it saves.
+ */
+@Slf4j
+@Component
+public class CVFeatureExtractor {
+
+    private final ForkJoinPool pool;
+    private final int parallelThresholdChars;
+
+    public CVFeatureExtractor(
+            @Value("${app.cv.scoring.parallelism:0}") int parallelism,
+            @Value("${app.cv.scoring.parallel-threshold-chars:20000}") int parallelThresholdChars) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parallelThresholdChars = parallelThresholdChars;
+        this.pool = threads > 1 ? new ForkJoinPool(threads, namedThreads("cv-features-"), null, false) : null;
+        if (pool != null) {
+            log.info("CV feature extraction pool started with {} threads for texts of {}+ chars",
+                threads, parallelThresholdChars);
+        }
+    }
+
+    /**
+     * Extractor without a pool, for tools and tests that score outside the application context.
+     */
+    public static CVFeatureExtractor sequential() {
+        return new CVFeatureExtractor(1, Integer.MAX_VALUE);
+    }
+
+    public CVFeatures extract(String cvContent) {
+        String content = cvContent.toLowerCase();
+        if (pool == null || content.length() < parallelThresholdChars) {
+            return CVFeatures.ofLowercased(content);
+        }
+
+        // The keyword scan and the multi-pass scanners dominate; the caller runs the rest meanwhile
+        ForkJoinTask<KeywordMatches> keywords = pool.submit(() -> ScoringKeywords.scan(content));
+        ForkJoinTask<TextPatterns.Achievements> achievements = pool.submit(() -> TextPatterns.achievements(content));
+        ForkJoinTask<Integer> yearsOfExperience = pool.submit(() -> TextPatterns.yearsOfExperience(content));
+        ForkJoinTask<Integer> datedLines = pool.submit(() -> TextPatterns.countLinesWithYear(content));
+
+        boolean mentionsYear = TextPatterns.containsYear(content);
+        boolean mentionsPercentage = TextPatterns.containsPercentage(content);
+        boolean mentionsDollarAmount = TextPatterns.containsDollarAmount(content);
+        int lineCount = TextPatterns.splitLineCount(content);
+        boolean hasCapitalizedPair = TextPatterns.containsCapitalizedPair(content);
+        boolean hasYearRange = TextPatterns.containsYearRange(content);
+        boolean hasNonAscii = TextPatterns.containsNonAscii(content);
+
+        return new CVFeatures(
+            content.length(),
+            keywords.join(),
+            mentionsYear,
+            mentionsPercentage,
+            mentionsDollarAmount,
+            yearsOfExperience.join(),
+            datedLines.join(),
+            lineCount,
+            hasCapitalizedPair,
+            hasYearRange,
+            hasNonAscii,
+            achievements.join()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
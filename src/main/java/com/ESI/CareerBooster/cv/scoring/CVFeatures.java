@@ -0,0 +1,61 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+/**
+ * Everything the scoring models read from a CV, extracted once from its text: keyword hits
+ * (sections, industries, career levels, layout markers), dates, quantified achievements and
+ * line structure. Models only see this, so adding one costs no extra pass over the text.
+ *
+ * @param length length of the CV text
+ * @param keywords every {@link ScoringKeywords} dictionary hit
+ * @param mentionsYear a standalone 19xx or 20xx on a single-line text
+ * @param mentionsPercentage a standalone "N%" on a single-line text
+ * @param mentionsDollarAmount a "$N" on a single-line text
+ * @param yearsOfExperience the first "N years of experience", or -1
+ * @param datedLines lines mentioning a standalone 20xx
+ * @param lineCount lines as counted by {@code split("\\n")}
+ * @param hasCapitalizedPair two capitalized words in a row
+ * @param hasYearRange a "yyyy - yyyy" range
+ * @param hasNonAscii a non-ASCII character on a single-line text
+ * @param achievements quantified achievement counts
+ * @see TextPatterns for the exact rule behind each text feature
+ */
+public record CVFeatures(
+    int length,
+    KeywordMatches keywords,
+    boolean mentionsYear,
+    boolean mentionsPercentage,
+    boolean mentionsDollarAmount,
+    int yearsOfExperience,
+    int datedLines,
+    int lineCount,
+    boolean hasCapitalizedPair,
+    boolean hasYearRange,
+    boolean hasNonAscii,
+    TextPatterns.Achievements achievements
+) {
+
+    /**
+     * Extracts the features of raw CV text. Scoring is case-insensitive, so this works on the
+     * lowercased text like the scorers always have.
+     */
+    public static CVFeatures extract(String cvContent) {
+        return ofLowercased(cvContent.toLowerCase());
+    }
+
+    static CVFeatures ofLowercased(String content) {
+        return new CVFeatures(
+            content.length(),
+            ScoringKeywords.scan(content),
+            TextPatterns.containsYear(content),
+            TextPatterns.containsPercentage(content),
+            TextPatterns.containsDollarAmount(content),
+            TextPatterns.yearsOfExperience(content),
+            TextPatterns.countLinesWithYear(content),
+            TextPatterns.splitLineCount(content),
+            TextPatterns.containsCapitalizedPair(content),
+            TextPatterns.containsYearRange(content),
+            TextPatterns.containsNonAscii(content),
+            TextPatterns.achievements(content)
+        );
+    }
+}
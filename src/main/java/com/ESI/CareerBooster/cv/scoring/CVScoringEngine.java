@@ -0,0 +1,64 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the registered {@link ScoringModel}s over {@link CVFeatures}. Callers extract the features
+ * once per CV with {@link #extract} and can then score it with any number of models.
+ */
+@Component
+public class CVScoringEngine {
+
+    private final Map<String, ScoringModel> models = new LinkedHashMap<>();
+    private final CVFeatureExtractor featureExtractor;
+
+    public CVScoringEngine(List<ScoringModel> models, CVFeatureExtractor featureExtractor) {
+        this.featureExtractor = featureExtractor;
+        for (ScoringModel model : models) {
+            if (this.models.putIfAbsent(model.getName(), model) != null) {
+                throw new IllegalStateException("Duplicate scoring model name: " + model.getName());
+            }
+        }
+    }
+
+    public Set<String> getModelNames() {
+        return Collections.unmodifiableSet(models.keySet());
+    }
+
+    public CVFeatures extract(String cvContent) {
+        return featureExtractor.extract(cvContent);
+    }
+
+    public CVScore score(String modelName, CVFeatures features) {
+        CVScore score = new CVScore();
+        apply(modelName, features, score);
+        return score;
+    }
+
+    public void apply(String modelName, CVFeatures features, CVScore score) {
+        ScoringModel model = models.get(modelName);
+        if (model == null) {
+            throw new IllegalArgumentException("Unknown scoring model: " + modelName);
+        }
+        model.apply(features, score);
+    }
+
+    /**
+     * Scores one CV with every registered model from a single feature extraction.
+     */
+    public Map<String, CVScore> scoreAll(String cvContent) {
+        CVFeatures features = extract(cvContent);
+        Map<String, CVScore> scores = new LinkedHashMap<>();
+        for (String modelName : models.keySet()) {
+            scores.put(modelName, score(modelName, features));
+        }
+        return scores;
+    }
+}
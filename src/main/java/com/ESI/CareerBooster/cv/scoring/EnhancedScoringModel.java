@@ -0,0 +1,281 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * The enhanced scoring model: section scores plus experience, skills relevance, achievement,
+ * career progression, formatting and ATS analysis, weighted into the overall score, with grade,
+ * career level and industry benchmark.
+ */
+@Component
+public class EnhancedScoringModel implements ScoringModel {
+
+    public static final String NAME = "enhanced";
+
+    // Achievement indicator weights, see TextPatterns#achievements for what each one counts
+    private static final int IMPROVEMENT_WEIGHT = 5;
+    private static final int AMOUNT_WEIGHT = 4;
+    private static final int TEAM_LED_WEIGHT = 4;
+    private static final int RECOGNITION_WEIGHT = 3;
+
+    private static final List<String> SECTION_ORDER =
+        List.of("CONTACT", "SUMMARY", "EXPERIENCE", "EDUCATION", "SKILLS", "PROJECTS");
+
+    private final IndustryBenchmarks industryBenchmarks;
+
+    public EnhancedScoringModel(IndustryBenchmarks industryBenchmarks) {
+        this.industryBenchmarks = industryBenchmarks;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(CVFeatures features, CVScore score) {
+        KeywordMatches matches = features.keywords();
+        String industry = detectIndustry(matches);
+
+        // 1. Basic section analysis
+        Map<String, Boolean> sectionsPresent = detectSections(matches);
+        Map<String, Integer> basicScores = calculateBasicSectionScores(sectionsPresent);
+
+        // 2. Enhanced quality analysis
+        int experienceQualityScore = calculateEnhancedExperienceScore(features);
+        int skillsRelevanceScore = calculateSkillsRelevanceScore(matches, industry);
+        int achievementScore = calculateAchievementScore(features.achievements());
+        int careerProgressionScore = calculateCareerProgressionScore(matches);
+        int formattingScore = calculateAdvancedFormattingScore(features);
+        int atsCompatibilityScore = calculateATSCompatibilityScore(features);
+
+        // 3. Set individual scores
+        score.setContactInfoScore(basicScores.get("CONTACT"));
+        score.setSummaryScore(basicScores.get("SUMMARY"));
+        score.setExperienceScore(Math.min(experienceQualityScore + basicScores.get("EXPERIENCE"), 35));
+        score.setEducationScore(basicScores.get("EDUCATION"));
+        score.setSkillsScore(Math.min(skillsRelevanceScore + basicScores.get("SKILLS"), 30));
+        score.setProjectsScore(basicScores.get("PROJECTS"));
+        score.setFormattingScore(formattingScore);
+        score.setKeywordScore(achievementScore + careerProgressionScore);
+
+        // 4. Calculate weighted overall score
+        int overallScore = calculateWeightedOverallScore(score, atsCompatibilityScore);
+        score.setOverallScore(Math.min(overallScore, 100));
+
+        // 5. Set additional enhanced fields
+        score.setGrade(calculateGrade(score.getOverallScore()));
+        score.setCareerLevel(detectCareerLevel(matches));
+        score.setAtsCompatibilityScore(atsCompatibilityScore);
+        score.setIndustryBenchmark(industryBenchmarks.averageScore(industry));
+
+        // 6. Generate enhanced recommendations
+        score.setRecommendations(generateEnhancedRecommendations(score));
+        score.setMissingSections(String.join(", ", findMissingSections(sectionsPresent)));
+        score.setIndustryType(industry);
+    }
+
+    private int calculateEnhancedExperienceScore(CVFeatures features) {
+        int score = 0;
+
+        // Years of experience detection
+        if (features.yearsOfExperience() >= 0) {
+            score += Math.min(features.yearsOfExperience(), 10); // Max 10 points for experience years
+        }
+
+        // Job progression (multiple positions)
+        score += Math.min(features.datedLines() * 2, 8); // Max 8 points for job progression
+
+        // Leadership indicators
+        if (features.keywords().containsAny(ScoringKeywords.LEADERSHIP_TERMS)) {
+            score += 2;
+        }
+
+        return Math.min(score, 20);
+    }
+
+    private int calculateSkillsRelevanceScore(KeywordMatches matches, String industry) {
+        Map<String, Integer> industryKeywords = ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.get(industry.toUpperCase());
+        if (industryKeywords == null) return 5;
+
+        int totalScore = 0;
+        int keywordCount = 0;
+
+        for (Map.Entry<String, Integer> entry : industryKeywords.entrySet()) {
+            if (matches.contains(entry.getKey())) {
+                totalScore += entry.getValue();
+                keywordCount++;
+            }
+        }
+
+        // Bonus for skill diversity
+        if (keywordCount >= 5) totalScore += 5;
+        if (keywordCount >= 8) totalScore += 3;
+
+        return Math.min(totalScore, 25);
+    }
+
+    private int calculateAchievementScore(TextPatterns.Achievements achievements) {
+        int score = achievements.improvements() * IMPROVEMENT_WEIGHT
+            + achievements.amounts() * AMOUNT_WEIGHT
+            + achievements.teamsLed() * TEAM_LED_WEIGHT
+            + achievements.recognitions() * RECOGNITION_WEIGHT;
+
+        return Math.min(score, 15);
+    }
+
+    private int calculateCareerProgressionScore(KeywordMatches matches) {
+        int maxLevel = 0;
+
+        for (Map.Entry<String, Integer> entry : ScoringKeywords.CAREER_LEVEL_KEYWORDS.entrySet()) {
+            if (matches.contains(entry.getKey())) {
+                maxLevel = Math.max(maxLevel, entry.getValue());
+            }
+        }
+
+        return Math.min(maxLevel, 10);
+    }
+
+    private int calculateAdvancedFormattingScore(CVFeatures features) {
+        int score = 10; // Base score
+
+        // Length optimization
+        int length = features.length();
+        if (length >= 800 && length <= 3000) score += 3;
+        else if (length < 500 || length > 5000) score -= 5;
+
+        // Structure indicators
+        if (features.keywords().contains(ScoringKeywords.BULLET) || features.keywords().contains(ScoringKeywords.DASH)) score += 2;
+        if (features.lineCount() >= 10) score += 2; // Good sectioning
+
+        // Professional formatting indicators
+        if (features.hasCapitalizedPair()) score += 1; // Proper names
+        if (features.hasYearRange()) score += 2; // Date ranges
+
+        return Math.min(score, 20);
+    }
+
+    private int calculateATSCompatibilityScore(CVFeatures features) {
+        KeywordMatches matches = features.keywords();
+        int score = 10; // Base ATS score
+
+        // ATS-friendly indicators
+        if (!matches.contains(ScoringKeywords.EMAIL_MARKER) || !matches.contains(ScoringKeywords.DOMAIN_MARKER)) score -= 3; // Missing contact
+        if (features.length() < 300) score -= 5; // Too short for ATS
+        if (features.hasNonAscii()) score -= 2; // Special characters
+
+        // ATS-friendly structure
+        score += matches.countPresent(ScoringKeywords.ATS_SECTIONS);
+
+        return Math.min(score, 15);
+    }
+
+    private int calculateWeightedOverallScore(CVScore score, int atsScore) {
+        // Weighted calculation based on importance
+        double weightedScore =
+            (score.getContactInfoScore() * 0.10) +
+            (score.getSummaryScore() * 0.15) +
+            (score.getExperienceScore() * 0.30) +
+            (score.getEducationScore() * 0.10) +
+            (score.getSkillsScore() * 0.20) +
+            (score.getProjectsScore() * 0.05) +
+            (score.getFormattingScore() * 0.05) +
+            (score.getKeywordScore() * 0.03) +
+            (atsScore * 0.02);
+
+        return (int) Math.round(weightedScore);
+    }
+
+    private Map<String, Boolean> detectSections(KeywordMatches matches) {
+        Map<String, Boolean> sections = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : ScoringKeywords.SECTION_MARKERS.entrySet()) {
+            sections.put(entry.getKey(), matches.containsAny(entry.getValue()));
+        }
+        return sections;
+    }
+
+    private Map<String, Integer> calculateBasicSectionScores(Map<String, Boolean> sections) {
+        Map<String, Integer> scores = new HashMap<>();
+        scores.put("CONTACT", sections.get("CONTACT") ? 15 : 0);
+        scores.put("SUMMARY", sections.get("SUMMARY") ? 15 : 0);
+        scores.put("EXPERIENCE", sections.get("EXPERIENCE") ? 25 : 0);
+        scores.put("EDUCATION", sections.get("EDUCATION") ? 15 : 0);
+        scores.put("SKILLS", sections.get("SKILLS") ? 20 : 0);
+        scores.put("PROJECTS", sections.get("PROJECTS") ? 10 : 0);
+        return scores;
+    }
+
+    private List<String> findMissingSections(Map<String, Boolean> sections) {
+        List<String> missing = new ArrayList<>();
+        for (String section : SECTION_ORDER) {
+            if (!sections.get(section)) {
+                missing.add(section);
+            }
+        }
+        return missing;
+    }
+
+    private String detectIndustry(KeywordMatches matches) {
+        for (String industry : ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.keySet()) {
+            Map<String, Integer> keywords = ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.get(industry);
+            if (matches.countPresent(keywords.keySet()) >= 3) return industry;
+        }
+        return "GENERAL";
+    }
+
+    private String generateEnhancedRecommendations(CVScore score) {
+        StringBuilder recommendations = new StringBuilder();
+
+        if (score.getOverallScore() >= 90) {
+            recommendations.append("🌟 Excellent CV! Your profile stands out with strong achievements and relevant skills.\n");
+        } else if (score.getOverallScore() >= 75) {
+            recommendations.append("✅ Good CV! A few enhancements could make it even stronger:\n");
+        } else {
+            recommendations.append("🔧 Your CV has potential! Here are key improvements:\n");
+        }
+
+        if (score.getExperienceScore() < 25) {
+            recommendations.append("• Add quantifiable achievements (e.g., 'Increased sales by 25%')\n");
+        }
+        if (score.getSkillsScore() < 20) {
+            recommendations.append("• Include more industry-relevant technical skills\n");
+        }
+        if (score.getFormattingScore() < 15) {
+            recommendations.append("• Improve formatting with bullet points and clear sections\n");
+        }
+
+        return recommendations.toString();
+    }
+
+    // Grade calculation helper
+    private String calculateGrade(int score) {
+        if (score >= 90) return "A+";
+        if (score >= 85) return "A";
+        if (score >= 80) return "A-";
+        if (score >= 75) return "B+";
+        if (score >= 70) return "B";
+        if (score >= 65) return "B-";
+        if (score >= 60) return "C+";
+        if (score >= 55) return "C";
+        return "D";
+    }
+
+    private String detectCareerLevel(KeywordMatches matches) {
+        int maxLevel = 0;
+
+        for (Map.Entry<String, Integer> entry : ScoringKeywords.CAREER_LEVEL_KEYWORDS.entrySet()) {
+            if (matches.contains(entry.getKey())) {
+                maxLevel = Math.max(maxLevel, entry.getValue());
+            }
+        }
+
+        if (maxLevel >= 8) return "EXECUTIVE";
+        if (maxLevel >= 6) return "SENIOR";
+        if (maxLevel >= 4) return "MID_LEVEL";
+        if (maxLevel >= 2) return "JUNIOR";
+        return "ENTRY_LEVEL";
+    }
+}
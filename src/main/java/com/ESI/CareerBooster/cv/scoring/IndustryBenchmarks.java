@@ -0,0 +1,13 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+/**
+ * Score statistics of the stored population, which scoring models compare a CV against.
+ * Implemented outside the scoring package, since it depends on what has been scored so far.
+ */
+public interface IndustryBenchmarks {
+
+    /**
+     * Average overall score in {@code industry}, rounded.
+     */
+    int averageScore(String industry);
+}
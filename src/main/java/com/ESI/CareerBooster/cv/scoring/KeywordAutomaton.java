@@ -0,0 +1,158 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aho-Corasick matcher over a fixed set of literal keywords. One pass over the text finds every
+ * occurrence of every keyword, with the same substring semantics as {@link String#contains}.
+ * The automaton is compiled into a dense transition table once and is immutable afterwards, so
+ * one instance can be shared by all threads.
+ */
+public final class KeywordAutomaton {
+
+    private final List<String> keywords;
+    private final Map<String, Integer> ids;
+    // Maps a char to its column in the transition table; 0 is every char no keyword uses
+    private final char[] charClasses;
+    private final int alphabetSize;
+    private final int[] transitions;
+    // Keyword ids ending at each state, including those reached through failure links
+    private final int[][] outputs;
+
+    private KeywordAutomaton(List<String> keywords) {
+        this.keywords = List.copyOf(keywords);
+        this.ids = new HashMap<>();
+        for (int i = 0; i < this.keywords.size(); i++) {
+            ids.put(this.keywords.get(i), i);
+        }
+
+        this.charClasses = new char[Character.MAX_VALUE + 1];
+        int classes = 1;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = (char) classes++;
+                }
+            }
+        }
+        this.alphabetSize = classes;
+
+        // Trie of all keywords; -1 marks a missing edge until failure links fill it in
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(newRow());
+        ends.add(new ArrayList<>());
+        for (int id = 0; id < this.keywords.size(); id++) {
+            String keyword = this.keywords.get(id);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int column = charClasses[keyword.charAt(i)];
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[column];
+            }
+            ends.get(state).add(id);
+        }
+
+        // Breadth-first pass turns the trie into a full DFA: missing edges follow the failure link
+        int states = trie.size();
+        int[] failure = new int[states];
+        this.transitions = new int[states * alphabetSize];
+        this.outputs = new int[states][];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < alphabetSize; column++) {
+            int next = trie.get(0)[column];
+            if (next < 0) {
+                transitions[column] = 0;
+            } else {
+                transitions[column] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = toArray(ends.get(0));
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> found = new ArrayList<>(ends.get(state));
+            for (int inherited : outputs[failure[state]]) {
+                found.add(inherited);
+            }
+            outputs[state] = toArray(found);
+            for (int column = 0; column < alphabetSize; column++) {
+                int next = trie.get(state)[column];
+                if (next < 0) {
+                    transitions[state * alphabetSize + column] = transitions[failure[state] * alphabetSize + column];
+                } else {
+                    transitions[state * alphabetSize + column] = next;
+                    failure[next] = transitions[failure[state] * alphabetSize + column];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds an automaton for the given keywords; duplicates and empty strings are ignored.
+     */
+    public static KeywordAutomaton of(Collection<String> keywords) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isEmpty()) {
+                unique.add(keyword);
+            }
+        }
+        return new KeywordAutomaton(new ArrayList<>(unique));
+    }
+
+    /**
+     * Scans {@code text} once and counts the occurrences of every keyword, overlapping ones
+     * included. Callers lowercase the text first, as the keywords are matched case-sensitively.
+     */
+    public KeywordMatches scan(String text) {
+        int[] counts = new int[keywords.size()];
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = transitions[state * alphabetSize + charClasses[text.charAt(i)]];
+            for (int id : outputs[state]) {
+                counts[id]++;
+            }
+        }
+        return new KeywordMatches(this, counts);
+    }
+
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(keywords);
+    }
+
+    int idOf(String keyword) {
+        Integer id = ids.get(keyword);
+        if (id == null) {
+            throw new IllegalArgumentException("Keyword not in automaton: " + keyword);
+        }
+        return id;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
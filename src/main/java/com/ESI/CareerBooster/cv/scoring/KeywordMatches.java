@@ -0,0 +1,52 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import java.util.Collection;
+
+/**
+ * Match-count vector produced by one {@link KeywordAutomaton#scan} of a CV. Lookups are by keyword
+ * and fail fast for keywords the automaton was not built with, so a scorer cannot silently read a
+ * dictionary entry that was never compiled in.
+ */
+public final class KeywordMatches {
+
+    private final KeywordAutomaton automaton;
+    private final int[] counts;
+
+    KeywordMatches(KeywordAutomaton automaton, int[] counts) {
+        this.automaton = automaton;
+        this.counts = counts;
+    }
+
+    /**
+     * Same result as {@code text.contains(keyword)} on the scanned text.
+     */
+    public boolean contains(String keyword) {
+        return counts[automaton.idOf(keyword)] > 0;
+    }
+
+    public int occurrences(String keyword) {
+        return counts[automaton.idOf(keyword)];
+    }
+
+    /**
+     * Number of distinct keywords from {@code keywords} that occur at least once.
+     */
+    public int countPresent(Collection<String> keywords) {
+        int present = 0;
+        for (String keyword : keywords) {
+            if (contains(keyword)) {
+                present++;
+            }
+        }
+        return present;
+    }
+
+    public boolean containsAny(Collection<String> keywords) {
+        for (String keyword : keywords) {
+            if (contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
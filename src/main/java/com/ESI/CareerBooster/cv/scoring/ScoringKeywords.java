@@ -0,0 +1,112 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyword dictionaries used by the CV scorers, compiled once into a single
+ * {@link KeywordAutomaton}. Scorers call {@link #scan} on the lowercased CV text and read every
+ * dictionary lookup from the resulting {@link KeywordMatches} instead of rescanning the text.
+ */
+public final class ScoringKeywords {
+
+    // Industry keywords for detection (CVAnalyzerService)
+    public static final Map<String, List<String>> INDUSTRY_KEYWORDS = Map.of(
+        "TECHNOLOGY", Arrays.asList("java", "python", "javascript", "react", "angular", "spring", "docker", "kubernetes", "aws", "azure", "software", "developer", "engineer", "programming", "coding", "database", "api", "frontend", "backend", "fullstack"),
+        "FINANCE", Arrays.asList("finance", "banking", "investment", "accounting", "financial", "analyst", "portfolio", "risk", "trading", "economics", "budget", "audit", "compliance", "treasury"),
+        "MARKETING", Arrays.asList("marketing", "digital", "social media", "seo", "sem", "content", "brand", "campaign", "analytics", "advertising", "promotion", "market research"),
+        "HEALTHCARE", Arrays.asList("healthcare", "medical", "nurse", "doctor", "patient", "clinical", "hospital", "pharmacy", "therapy", "diagnosis", "treatment", "medicine"),
+        "EDUCATION", Arrays.asList("education", "teaching", "teacher", "professor", "curriculum", "student", "learning", "academic", "research", "university", "school"),
+        "GENERAL", Arrays.asList("management", "leadership", "communication", "teamwork", "project", "analysis", "problem solving", "customer service")
+    );
+
+    // Enhanced industry keywords with weights (EnhancedCVScoringService)
+    public static final Map<String, Map<String, Integer>> WEIGHTED_INDUSTRY_KEYWORDS = Map.of(
+        "TECHNOLOGY", Map.of(
+            "java" , 5, "python", 5, "javascript", 5, "react", 4, "spring", 4,
+            "docker", 4, "kubernetes", 4, "aws", 5, "microservices", 4, "agile", 3
+        ),
+        "MARKETING", Map.of(
+            "seo", 5, "google analytics", 4, "social media", 3, "content marketing", 4,
+            "ppc", 4, "conversion", 4, "brand", 3, "campaign", 3, "roi", 4
+        ),
+        "FINANCE", Map.of(
+            "financial modeling", 5, "excel", 4, "bloomberg", 4, "risk management", 5,
+            "portfolio", 4, "derivatives", 4, "compliance", 4, "audit", 3
+        )
+    );
+
+    // Career level indicators
+    public static final Map<String, Integer> CAREER_LEVEL_KEYWORDS = Map.of(
+        "intern", 1, "junior", 2, "associate", 3, "senior", 4, "lead", 5,
+        "principal", 6, "manager", 5, "director", 7, "vp", 8, "ceo", 10
+    );
+
+    public static final List<String> ACTION_VERBS =
+        List.of("developed", "managed", "led", "created", "implemented", "designed", "improved", "achieved");
+
+    public static final List<String> LEADERSHIP_TERMS =
+        List.of("managed", "led", "supervised", "coordinated", "directed");
+
+    // Section detection keywords (CVAnalyzerService)
+    public static final Map<String, List<String>> SECTION_KEYWORDS = Map.of(
+        "CONTACT", List.of("contact", "email", "phone", "address", "linkedin", "github"),
+        "SUMMARY", List.of("summary", "profile", "objective", "about", "overview"),
+        "EXPERIENCE", List.of("experience", "work", "employment", "career", "professional", "job"),
+        "EDUCATION", List.of("education", "academic", "degree", "university", "college", "school", "qualification"),
+        "SKILLS", List.of("skills", "technical", "competencies", "abilities", "expertise", "technologies"),
+        "PROJECTS", List.of("projects", "portfolio", "achievements", "accomplishments")
+    );
+
+    // Section and contact markers checked by the enhanced scorer and its ATS check
+    public static final Map<String, List<String>> SECTION_MARKERS = Map.of(
+        "CONTACT", List.of("@", "phone"),
+        "SUMMARY", List.of("summary", "objective"),
+        "EXPERIENCE", List.of("experience", "work"),
+        "EDUCATION", List.of("education", "degree"),
+        "SKILLS", List.of("skills", "technologies"),
+        "PROJECTS", List.of("projects", "portfolio")
+    );
+
+    public static final List<String> ATS_SECTIONS = List.of("experience", "education", "skills", "summary");
+
+    public static final String EMAIL_MARKER = "@";
+    public static final String DOMAIN_MARKER = ".com";
+
+    // Layout markers both scorers reward
+    public static final String LINE_BREAK = "\n";
+    public static final String BULLET = "•";
+    public static final String DASH = "-";
+
+    private static final KeywordAutomaton AUTOMATON = KeywordAutomaton.of(allKeywords());
+
+    private ScoringKeywords() {
+    }
+
+    /**
+     * Finds every dictionary keyword in {@code lowercasedContent} in one pass.
+     */
+    public static KeywordMatches scan(String lowercasedContent) {
+        return AUTOMATON.scan(lowercasedContent);
+    }
+
+    private static List<String> allKeywords() {
+        List<String> keywords = new ArrayList<>();
+        INDUSTRY_KEYWORDS.values().forEach(keywords::addAll);
+        WEIGHTED_INDUSTRY_KEYWORDS.values().forEach(weighted -> keywords.addAll(weighted.keySet()));
+        keywords.addAll(CAREER_LEVEL_KEYWORDS.keySet());
+        keywords.addAll(ACTION_VERBS);
+        keywords.addAll(LEADERSHIP_TERMS);
+        SECTION_KEYWORDS.values().forEach(keywords::addAll);
+        SECTION_MARKERS.values().forEach(keywords::addAll);
+        keywords.addAll(ATS_SECTIONS);
+        keywords.add(EMAIL_MARKER);
+        keywords.add(DOMAIN_MARKER);
+        keywords.add(LINE_BREAK);
+        keywords.add(BULLET);
+        keywords.add(DASH);
+        return keywords;
+    }
+}
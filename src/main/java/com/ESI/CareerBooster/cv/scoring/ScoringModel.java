@@ -0,0 +1,21 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.cv.model.CVScore;
+
+/**
+ * A way of turning {@link CVFeatures} into scores. Implementations are Spring beans picked up by
+ * {@link CVScoringEngine}, and must not look at the CV text themselves.
+ */
+public interface ScoringModel {
+
+    /**
+     * Unique name the model is selected by, e.g. {@code "analyzer"}.
+     */
+    String getName();
+
+    /**
+     * Fills the score fields this model is responsible for. {@code score} may be an existing,
+     * already persisted score that is being recalculated.
+     */
+    void apply(CVFeatures features, CVScore score);
+}
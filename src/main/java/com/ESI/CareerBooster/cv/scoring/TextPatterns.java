@@ -0,0 +1,577 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import java.util.regex.Pattern;
+
+/**
+ * Hand-written, linear-time equivalents of the regular expressions the CV scorers used to run over
+ * whole uploads. Every method returns exactly what the regex it replaces returned, including the
+ * quirks of {@link String#matches} with {@code ".*...*"}: '.' does not cross line terminators, so
+ * on multi-line text those checks only succeed when the match itself spans every line break.
+ * The regex each method replaces is quoted in its comment; the parity test compares both.
+ */
+public final class TextPatterns {
+
+    // JDK 19+ treats \b as an ASCII word boundary (JDK-8264160); earlier JDKs use isLetterOrDigit
+    private static final boolean ASCII_WORD_BOUNDARIES = !Pattern.compile("\\b").matcher("\u00e9").find();
+
+    private static final String[] IMPROVEMENT_VERBS = {"increased", "improved", "reduced", "saved", "generated"};
+    private static final String[] LEADERSHIP_VERBS = {"managed", "led", "supervised"};
+    private static final String[] TEAM_WORDS = {"people", "team", "employees"};
+    private static final String[] RECOGNITION_WORDS = {"award", "recognition", "certification", "patent"};
+
+    private TextPatterns() {
+    }
+
+    /**
+     * {@code text.matches(".*\\b(20\\d{2}|19\\d{2})\\b.*")}
+     */
+    public static boolean containsYear(String text) {
+        if (hasLineTerminator(text, 0, text.length())) {
+            return false;
+        }
+        return findYear(text, 0, text.length(), true);
+    }
+
+    /**
+     * {@code text.matches(".*\\b\\d+%\\b.*")}
+     */
+    public static boolean containsPercentage(String text) {
+        if (hasLineTerminator(text, 0, text.length())) {
+            return false;
+        }
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            if (isDigit(text.charAt(i)) && isWordBoundary(text, i)) {
+                int end = digitRunEnd(text, i);
+                if (end < n && text.charAt(end) == '%' && isWordBoundary(text, end + 1)) {
+                    return true;
+                }
+                i = end - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code text.matches(".*\\$\\d+.*")}
+     */
+    public static boolean containsDollarAmount(String text) {
+        if (hasLineTerminator(text, 0, text.length())) {
+            return false;
+        }
+        for (int i = 0, n = text.length() - 1; i < n; i++) {
+            if (text.charAt(i) == '$' && isDigit(text.charAt(i + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code text.matches(".*[^\\x00-\\x7F].*")}: true when the text is a single line with a
+     * non-ASCII character, or when its only line terminator is itself non-ASCII.
+     */
+    public static boolean containsNonAscii(String text) {
+        int terminators = 0;
+        boolean nonAsciiTerminator = false;
+        boolean nonAscii = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (isLineTerminator(c)) {
+                terminators++;
+                nonAsciiTerminator = c > 0x7F;
+            } else if (c > 0x7F) {
+                nonAscii = true;
+            }
+        }
+        if (terminators == 0) {
+            return nonAscii;
+        }
+        return terminators == 1 && nonAsciiTerminator;
+    }
+
+    /**
+     * {@code text.matches(".*\\b[A-Z][a-z]+\\s+[A-Z][a-z]+\\b.*")}
+     */
+    public static boolean containsCapitalizedPair(String text) {
+        int n = text.length();
+        int firstTerminator = firstLineTerminator(text);
+        int lastTerminator = lastLineTerminator(text);
+        for (int start = 0; start < n && start <= firstTerminator; start++) {
+            if (!isUpper(text.charAt(start)) || !isWordBoundary(text, start)) {
+                continue;
+            }
+            int i = lowerRunEnd(text, start + 1);
+            if (i == start + 1) {
+                continue;
+            }
+            int afterSpace = spaceRunEnd(text, i);
+            if (afterSpace == i || afterSpace >= n || !isUpper(text.charAt(afterSpace))) {
+                continue;
+            }
+            int end = lowerRunEnd(text, afterSpace + 1);
+            if (end > afterSpace + 1 && isWordBoundary(text, end) && end > lastTerminator) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code text.matches(".*\\b\\d{4}\\s*-\\s*\\d{4}\\b.*")}
+     */
+    public static boolean containsYearRange(String text) {
+        int n = text.length();
+        int firstTerminator = firstLineTerminator(text);
+        int lastTerminator = lastLineTerminator(text);
+        for (int start = 0; start + 4 <= n && start <= firstTerminator; start++) {
+            if (!isDigit(text.charAt(start)) || !isWordBoundary(text, start) || !fourDigits(text, start)) {
+                continue;
+            }
+            int dash = spaceRunEnd(text, start + 4);
+            if (dash >= n || text.charAt(dash) != '-') {
+                continue;
+            }
+            int second = spaceRunEnd(text, dash + 1);
+            if (second + 4 <= n && fourDigits(text, second)
+                    && isWordBoundary(text, second + 4) && second + 4 > lastTerminator) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of lines of {@code text.split("\\n")} that match {@code ".*\\b(20\\d{2})\\b.*"}.
+     */
+    public static int countLinesWithYear(String text) {
+        int count = 0;
+        int lineStart = 0;
+        int n = text.length();
+        while (lineStart <= n) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = n;
+            }
+            if (!hasLineTerminator(text, lineStart, lineEnd) && findYear(text, lineStart, lineEnd, false)) {
+                count++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return count;
+    }
+
+    /**
+     * {@code text.split("\\n").length}, without building the array.
+     */
+    public static int splitLineCount(String text) {
+        int newlines = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (text.charAt(i) == '\n') {
+                newlines++;
+            }
+        }
+        if (newlines == 0) {
+            return 1;
+        }
+        // split drops trailing empty strings
+        int trailing = 0;
+        for (int i = text.length() - 1; i >= 0 && text.charAt(i) == '\n'; i--) {
+            trailing++;
+        }
+        return trailing == text.length() ? 0 : newlines + 1 - trailing;
+    }
+
+    /**
+     * The first {@code (\\d+)} of
+     * {@code (\\d+)\\s*(?:\\+)?\\s*years?\\s+(?:of\\s+)?experience} (case-insensitive), or -1 when
+     * there is none. Numbers beyond {@code int} range, which made the regex version throw, are
+     * reported as {@link Integer#MAX_VALUE}.
+     */
+    public static int yearsOfExperience(String text) {
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            if (!isDigit(text.charAt(i))) {
+                continue;
+            }
+            int end = digitRunEnd(text, i);
+            if (isYearsOfExperienceSuffix(text, end)) {
+                return parseCapped(text, i, end);
+            }
+            i = end - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Counts what repeated {@code find()} calls report for each achievement pattern (all
+     * case-insensitive):
+     * <ul>
+     *   <li>improvements: {@code \\b(increased|improved|reduced|saved|generated)\\s+.*?\\b(\\d+)%}</li>
+     *   <li>amounts: {@code \\$\\s*(\\d+(?:,\\d{3})*(?:\\.\\d{2})?)[kmb]?}</li>
+     *   <li>teams led: {@code \\b(managed|led|supervised)\\s+.*?(\\d+)\\s+(people|team|employees)}</li>
+     *   <li>recognitions: {@code \\b(award|recognition|certification|patent)}</li>
+     * </ul>
+     */
+    public static Achievements achievements(String text) {
+        return new Achievements(countImprovements(text), countAmounts(text), countTeamsLed(text), countRecognitions(text));
+    }
+
+    public record Achievements(int improvements, int amounts, int teamsLed, int recognitions) {
+    }
+
+    private static int countImprovements(String text) {
+        int n = text.length();
+        int count = 0;
+        ForwardSearch percentages = new ForwardSearch(text, TextPatterns::isPercentageStart);
+        ForwardSearch terminators = new ForwardSearch(text, (t, i) -> isLineTerminator(t.charAt(i)));
+        int i = 0;
+        while (i < n) {
+            int verbEnd = matchWordAt(text, i, IMPROVEMENT_VERBS);
+            if (verbEnd < 0 || !isWordBoundary(text, i)) {
+                i++;
+                continue;
+            }
+            int lazyStart = spaceRunEnd(text, verbEnd);
+            if (lazyStart == verbEnd) {
+                i++;
+                continue;
+            }
+            // .*? stops at the first line terminator; the first number + % before it wins
+            int number = percentages.next(lazyStart);
+            if (number < n && number < terminators.next(lazyStart)) {
+                count++;
+                i = digitRunEnd(text, number) + 1;
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    private static int countAmounts(String text) {
+        int n = text.length();
+        int count = 0;
+        int i = 0;
+        while (i < n) {
+            if (text.charAt(i) != '$') {
+                i++;
+                continue;
+            }
+            int digits = spaceRunEnd(text, i + 1);
+            if (digits >= n || !isDigit(text.charAt(digits))) {
+                i++;
+                continue;
+            }
+            int end = digitRunEnd(text, digits);
+            while (end + 3 < n && text.charAt(end) == ',' && isDigit(text.charAt(end + 1))
+                    && isDigit(text.charAt(end + 2)) && isDigit(text.charAt(end + 3))) {
+                end += 4;
+            }
+            if (end + 2 < n && text.charAt(end) == '.' && isDigit(text.charAt(end + 1)) && isDigit(text.charAt(end + 2))) {
+                end += 3;
+            }
+            if (end < n && "kmbKMB".indexOf(text.charAt(end)) >= 0) {
+                end++;
+            }
+            count++;
+            i = end;
+        }
+        return count;
+    }
+
+    private static int countTeamsLed(String text) {
+        int n = text.length();
+        int count = 0;
+        ForwardSearch teamSizes = new ForwardSearch(text, TextPatterns::isTeamSizeStart);
+        ForwardSearch terminators = new ForwardSearch(text, (t, i) -> isLineTerminator(t.charAt(i)));
+        int i = 0;
+        while (i < n) {
+            int verbEnd = matchWordAt(text, i, LEADERSHIP_VERBS);
+            if (verbEnd < 0 || !isWordBoundary(text, i)) {
+                i++;
+                continue;
+            }
+            int lazyStart = spaceRunEnd(text, verbEnd);
+            if (lazyStart == verbEnd) {
+                i++;
+                continue;
+            }
+            int number = teamSizes.next(lazyStart);
+            if (number < n && number < terminators.next(lazyStart)) {
+                count++;
+                int word = spaceRunEnd(text, digitRunEnd(text, number));
+                i = matchWordAt(text, word, TEAM_WORDS);
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    private static int countRecognitions(String text) {
+        int n = text.length();
+        int count = 0;
+        int i = 0;
+        while (i < n) {
+            int end = matchWordAt(text, i, RECOGNITION_WORDS);
+            if (end >= 0 && isWordBoundary(text, i)) {
+                count++;
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return count;
+    }
+
+    // \b\d+% starting at i
+    private static boolean isPercentageStart(String text, int i) {
+        if (!isDigit(text.charAt(i)) || !isWordBoundary(text, i)) {
+            return false;
+        }
+        int end = digitRunEnd(text, i);
+        return end < text.length() && text.charAt(end) == '%';
+    }
+
+    // (\d+)\s+(people|team|employees) starting at i. Only run starts are tried: the lazy span
+    // always begins after whitespace, so the first valid digit is the start of a valid run.
+    private static boolean isTeamSizeStart(String text, int i) {
+        if (!isDigit(text.charAt(i)) || (i > 0 && isDigit(text.charAt(i - 1)))) {
+            return false;
+        }
+        int end = digitRunEnd(text, i);
+        int word = spaceRunEnd(text, end);
+        return word > end && matchWordAt(text, word, TEAM_WORDS) >= 0;
+    }
+
+    private static boolean isYearsOfExperienceSuffix(String text, int i) {
+        int n = text.length();
+        i = spaceRunEnd(text, i);
+        if (i < n && text.charAt(i) == '+') {
+            i++;
+        }
+        i = spaceRunEnd(text, i);
+        if (!regionMatchesIgnoreCase(text, i, "year")) {
+            return false;
+        }
+        i += 4;
+        if (i < n && (text.charAt(i) == 's' || text.charAt(i) == 'S')) {
+            i++;
+        }
+        int afterSpace = spaceRunEnd(text, i);
+        if (afterSpace == i) {
+            return false;
+        }
+        if (regionMatchesIgnoreCase(text, afterSpace, "experience")) {
+            return true;
+        }
+        if (regionMatchesIgnoreCase(text, afterSpace, "of")) {
+            int afterOf = spaceRunEnd(text, afterSpace + 2);
+            return afterOf > afterSpace + 2 && regionMatchesIgnoreCase(text, afterOf, "experience");
+        }
+        return false;
+    }
+
+    // \b(20\d{2}|19\d{2})\b within [from, to), or only \b(20\d{2})\b
+    private static boolean findYear(String text, int from, int to, boolean allowNineteenHundreds) {
+        for (int i = from; i + 4 <= to; i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            boolean century = (first == '2' && second == '0') || (allowNineteenHundreds && first == '1' && second == '9');
+            if (century && isDigit(text.charAt(i + 2)) && isDigit(text.charAt(i + 3))
+                    && isWordBoundary(text, i) && isWordBoundary(text, i + 4)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int parseCapped(String text, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the end of whichever of {@code words} occurs at {@code i} (ASCII case-insensitive,
+     * as {@link Pattern#CASE_INSENSITIVE} without UNICODE_CASE), or -1.
+     */
+    private static int matchWordAt(String text, int i, String[] words) {
+        for (String word : words) {
+            if (regionMatchesIgnoreCase(text, i, word)) {
+                return i + word.length();
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(String text, int i, String lowercaseWord) {
+        if (i < 0 || i + lowercaseWord.length() > text.length()) {
+            return false;
+        }
+        for (int j = 0; j < lowercaseWord.length(); j++) {
+            char c = text.charAt(i + j);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != lowercaseWord.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fourDigits(String text, int i) {
+        return isDigit(text.charAt(i)) && isDigit(text.charAt(i + 1))
+            && isDigit(text.charAt(i + 2)) && isDigit(text.charAt(i + 3));
+    }
+
+    private static int digitRunEnd(String text, int i) {
+        int n = text.length();
+        while (i < n && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lowerRunEnd(String text, int i) {
+        int n = text.length();
+        while (i < n && text.charAt(i) >= 'a' && text.charAt(i) <= 'z') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int spaceRunEnd(String text, int i) {
+        int n = text.length();
+        while (i < n && isSpace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean hasLineTerminator(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isLineTerminator(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int firstLineTerminator(String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (isLineTerminator(text.charAt(i))) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    private static int lastLineTerminator(String text) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (isLineTerminator(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // What '.' refuses to match without DOTALL or UNIX_LINES
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // \s without UNICODE_CHARACTER_CLASS
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // \d without UNICODE_CHARACTER_CLASS
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    /**
+     * \b as {@link Pattern} evaluates it: word characters on exactly one side, where a
+     * non-spacing mark attached to a letter or digit also counts as a word character.
+     */
+    static boolean isWordBoundary(String text, int i) {
+        boolean left = i > 0 && isWordSide(text, i - 1, Character.codePointBefore(text, i));
+        boolean right = i < text.length() && isWordSide(text, i, Character.codePointAt(text, i));
+        return left ^ right;
+    }
+
+    private static boolean isWordSide(String text, int index, int codePoint) {
+        return isWord(codePoint)
+            || (Character.getType(codePoint) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index));
+    }
+
+    private static boolean isWord(int codePoint) {
+        if (codePoint == '_') {
+            return true;
+        }
+        return ASCII_WORD_BOUNDARIES
+            ? codePoint < 0x80 && Character.isLetterOrDigit(codePoint)
+            : Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean hasBaseCharacter(String text, int i) {
+        for (int x = i; x >= 0; x--) {
+            int codePoint = Character.codePointAt(text, x);
+            if (Character.isLetterOrDigit(codePoint)) {
+                return true;
+            }
+            if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface PositionTest {
+        boolean test(String text, int i);
+    }
+
+    /**
+     * "First position at or after {@code from} that passes the test", for queries whose
+     * {@code from} never decreases: each position is tested at most once, keeping the lazy
+     * {@code .*?} searches linear overall.
+     */
+    private static final class ForwardSearch {
+        private final String text;
+        private final PositionTest test;
+        private int scanned;
+        private int found = -1;
+
+        ForwardSearch(String text, PositionTest test) {
+            this.text = text;
+            this.test = test;
+        }
+
+        int next(int from) {
+            if (found >= from) {
+                return found;
+            }
+            int i = Math.max(from, scanned);
+            int n = text.length();
+            while (i < n && !test.test(text, i)) {
+                i++;
+            }
+            scanned = i;
+            found = i;
+            return i;
+        }
+    }
+}
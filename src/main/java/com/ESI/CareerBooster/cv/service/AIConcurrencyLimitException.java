@@ -0,0 +1,19 @@
+package com.ESI.CareerBooster.cv.service;
+
+/**
+ * Thrown when the reactive AI client already has the maximum number of calls running and queued.
+ * Controllers translate it into a 503 response with a Retry-After header.
+ */
+public class AIConcurrencyLimitException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AIConcurrencyLimitException(long retryAfterSeconds) {
+        super("AI analysis is at capacity, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,260 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.AIResponseCacheEntry;
+import com.ESI.CareerBooster.cv.repository.AIResponseCacheRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches AI model responses by model and prompt hash. The in-process tier is a Caffeine cache
+ * (W-TinyLFU eviction, bounded by response size, expiring after a TTL); an optional Postgres tier
+ * keeps responses across restarts and instances, and its expired rows are deleted on a
+ * schedule. Concurrent requests for the same prompt share a single in-flight model call.
+ */
+@Slf4j
+@Service
+public class AIResponseCache {
+
+    private final AIResponseCacheRepository repository;
+    private final AsyncCache<String, CachedResponse> memory;
+    private final boolean enabled;
+    private final boolean persistentEnabled;
+    private final Duration ttl;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter latencySaved;
+
+    public AIResponseCache(
+            AIResponseCacheRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.cache.enabled:true}") boolean enabled,
+            @Value("${app.ai.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${app.ai.cache.max-weight-chars:20000000}") long maxWeightChars,
+            @Value("${app.ai.cache.persistent.enabled:false}") boolean persistentEnabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.persistentEnabled = persistentEnabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.memory = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumWeight(maxWeightChars)
+            .weigher((String key, CachedResponse value) -> key.length() + value.text().length())
+            .buildAsync();
+
+        this.memoryHits = requests(meterRegistry, "hit", "memory");
+        this.persistentHits = requests(meterRegistry, "hit", "persistent");
+        this.misses = requests(meterRegistry, "miss", "none");
+        this.latencySaved = Counter.builder("ai.cache.latency.saved")
+            .description("AI call time avoided by serving cached responses")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("ai.cache.size", memory, cache -> cache.synchronous().estimatedSize())
+            .description("Responses held in the in-process AI response cache")
+            .register(meterRegistry);
+
+        log.info("AI response cache {} (ttl {} min, persistent tier {})",
+            enabled ? "enabled" : "disabled", ttlMinutes, persistentEnabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Returns the cached response for {@code prompt} or calls {@code loader} once to produce it.
+     * Failed calls are not cached; callers waiting on the same in-flight call get the same error.
+     */
+    public String get(String model, String prompt, Supplier<String> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = key(model, prompt);
+
+        CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> inFlight = memory.asMap().putIfAbsent(key, pending);
+        if (inFlight != null) {
+            CachedResponse cached = await(inFlight);
+            memoryHits.increment();
+            latencySaved.increment(cached.latencyMillis());
+            return cached.text();
+        }
+
+        try {
+            CachedResponse loaded = loadFromStoreOrModel(key, model, loader);
+            pending.complete(loaded);
+            return loaded.text();
+        } catch (RuntimeException e) {
+            // Caffeine drops exceptionally completed futures, so the next call retries
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get} for the reactive client: the same cache, keys and
+     * in-flight sharing, with {@code loader} subscribed at most once per key. The load is not
+     * cancelled when a caller goes away, so the others waiting on it, and the cache, still get
+     * the answer. Persistent tier reads and writes run on the bounded elastic scheduler, never
+     * on the event loop.
+     */
+    public Mono<String> getReactive(String model, String prompt, Supplier<Mono<String>> loader) {
+        if (!enabled) {
+            return Mono.defer(loader);
+        }
+        String key = key(model, prompt);
+        return Mono.defer(() -> {
+            CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> inFlight = memory.asMap().putIfAbsent(key, pending);
+            if (inFlight != null) {
+                return Mono.fromFuture(inFlight, true)
+                    .map(cached -> {
+                        memoryHits.increment();
+                        latencySaved.increment(cached.latencyMillis());
+                        return cached.text();
+                    });
+            }
+            // Caffeine drops exceptionally completed futures, so the next call retries
+            loadFromStoreOrModelReactive(key, model, loader).subscribe(pending::complete, pending::completeExceptionally);
+            return Mono.fromFuture(pending, true).map(CachedResponse::text);
+        });
+    }
+
+    private Mono<CachedResponse> loadFromStoreOrModelReactive(String key, String model, Supplier<Mono<String>> loader) {
+        Mono<CachedResponse> stored = !persistentEnabled ? Mono.empty() : Mono.fromCallable(() -> findStored(key))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(Mono::justOrEmpty)
+            .map(this::storedHit);
+        return stored.switchIfEmpty(Mono.defer(() -> {
+            long start = System.nanoTime();
+            return loader.get()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("AI model " + model + " returned no text")))
+                .flatMap(text -> {
+                    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    misses.increment();
+                    CachedResponse loaded = new CachedResponse(text, latencyMillis);
+                    if (!persistentEnabled) {
+                        return Mono.just(loaded);
+                    }
+                    return Mono.fromRunnable(() -> store(key, model, text, latencyMillis))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(loaded);
+                });
+        }));
+    }
+
+    private CachedResponse loadFromStoreOrModel(String key, String model, Supplier<String> loader) {
+        if (persistentEnabled) {
+            Optional<AIResponseCacheEntry> stored = findStored(key);
+            if (stored.isPresent()) {
+                return storedHit(stored.get());
+            }
+        }
+
+        long start = System.nanoTime();
+        String text = loader.get();
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        misses.increment();
+        if (text == null) {
+            throw new IllegalStateException("AI model " + model + " returned no text");
+        }
+
+        if (persistentEnabled) {
+            store(key, model, text, latencyMillis);
+        }
+        return new CachedResponse(text, latencyMillis);
+    }
+
+    private CachedResponse storedHit(AIResponseCacheEntry stored) {
+        long latencyMillis = stored.getLatencyMs() != null ? stored.getLatencyMs() : 0L;
+        persistentHits.increment();
+        latencySaved.increment(latencyMillis);
+        return new CachedResponse(stored.getResponse(), latencyMillis);
+    }
+
+    private Optional<AIResponseCacheEntry> findStored(String key) {
+        try {
+            return repository.findByCacheKeyAndExpiresAtAfter(key, LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.warn("AI response cache lookup failed, calling the model: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void store(String key, String model, String text, long latencyMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            repository.save(new AIResponseCacheEntry(key, model, text, latencyMillis, now, now.plus(ttl)));
+        } catch (DataAccessException e) {
+            log.warn("Could not persist AI response for {}: {}", model, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes expired rows of the persistent tier. Reads already skip them, but without this
+     * the table would keep every response ever stored.
+     */
+    @Scheduled(initialDelayString = "${app.ai.cache.persistent.purge-interval-ms:3600000}",
+               fixedDelayString = "${app.ai.cache.persistent.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!persistentEnabled) {
+            return;
+        }
+        try {
+            int purged = repository.deleteExpired(LocalDateTime.now());
+            log.debug("Purged {} expired AI responses", purged);
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired AI responses: {}", e.getMessage());
+        }
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    static String key(String model, String prompt) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(prompt.getBytes(StandardCharsets.UTF_8));
+            return model + ":" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result, String tier) {
+        return Counter.builder("ai.cache.requests")
+            .description("AI response cache lookups by outcome and tier")
+            .tag("result", result)
+            .tag("tier", tier)
+            .register(meterRegistry);
+    }
+
+    private record CachedResponse(String text, long latencyMillis) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.ESI.CareerBooster.cv.service;
 
+import com.ESI.CareerBooster.config.ResilientCalls;
 import com.ESI.CareerBooster.cv.dto.CVAnalysisResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,10 +12,12 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
@@ -22,6 +26,10 @@ public class AIService {
     
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
+    private final AIResponseCache aiResponseCache;
+    private final ResilientCalls resilientCalls;
+
+    static final String MODEL = "gemini-2.0-flash";
     
     @Value("${spring.ai.gemini.api-key}")
     private String apiKey;
@@ -31,76 +39,56 @@ public class AIService {
         
         try {
             String promptText = constructPrompt(cvContent);
+            String rawApiResponse = callGemini(promptText, "courses");
+            return parseCourseAnalysis(rawApiResponse);
 
-            String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent?key=" + apiKey;
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", promptText);
-            content.put("parts", List.of(part));
-            requestBody.put("contents", List.of(content));
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            log.debug("Sending request to Gemini AI service with prompt (courses): {}", requestBody);
-            
+        } catch (AIServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error analyzing CV (courses): {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to analyze CV (courses): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits the model's answer into the embedded JSON (skills, gaps, course list) and the free text.
+     */
+    CVAnalysisResponse parseCourseAnalysis(String rawApiResponse) {
+        CVAnalysisResponse analysisResponse = new CVAnalysisResponse();
+
+        int jsonStartIndex = rawApiResponse.indexOf("{");
+        int jsonEndIndex = rawApiResponse.lastIndexOf("}");
+
+        if (jsonStartIndex != -1 && jsonEndIndex != -1 && jsonEndIndex > jsonStartIndex) {
+            String jsonSubstring = rawApiResponse.substring(jsonStartIndex, jsonEndIndex + 1);
             try {
-                Map<String, Object> response = restTemplate.postForObject(url, request, Map.class);
-                log.debug("Raw AI response (courses): {}", response);
+                JsonNode structuredDataNode = objectMapper.readTree(jsonSubstring);
 
-                if (response == null) {
-                    log.error("Received null response from AI service (courses)");
-                    throw new RuntimeException("No response received from AI service (courses)");
+                if (structuredDataNode.has("skills")) {
+                    structuredDataNode.path("skills").forEach(skill -> analysisResponse.getSkills().add(skill.asText()));
                 }
-
-                String rawApiResponse = extractTextFromResponse(response);
-                CVAnalysisResponse analysisResponse = new CVAnalysisResponse();
-
-                int jsonStartIndex = rawApiResponse.indexOf("{");
-                int jsonEndIndex = rawApiResponse.lastIndexOf("}");
-
-                if (jsonStartIndex != -1 && jsonEndIndex != -1 && jsonEndIndex > jsonStartIndex) {
-                    String jsonSubstring = rawApiResponse.substring(jsonStartIndex, jsonEndIndex + 1);
-                    try {
-                        JsonNode structuredDataNode = objectMapper.readTree(jsonSubstring);
-
-                        if (structuredDataNode.has("skills")) {
-                            structuredDataNode.path("skills").forEach(skill -> analysisResponse.getSkills().add(skill.asText()));
-                        }
-                        if (structuredDataNode.has("gaps")) {
-                            structuredDataNode.path("gaps").forEach(gap -> analysisResponse.getGaps().add(gap.asText()));
-                        }
-                        if (structuredDataNode.has("recommendations") && structuredDataNode.path("recommendations").isArray()) {
-                            List<CVAnalysisResponse.CourseRecommendation> courseRecommendations = objectMapper.readValue(
-                                structuredDataNode.path("recommendations").traverse(),
-                                objectMapper.getTypeFactory().constructCollectionType(List.class, CVAnalysisResponse.CourseRecommendation.class)
-                            );
-                            analysisResponse.setRecommendations(courseRecommendations);
-                        }
-
-                        analysisResponse.setTextAnalysis(rawApiResponse.substring(0, jsonStartIndex) + rawApiResponse.substring(jsonEndIndex + 1));
-
-                    } catch (Exception e) {
-                        log.warn("Could not parse embedded JSON from AI response content (courses): {}", e.getMessage());
-                        analysisResponse.setTextAnalysis(rawApiResponse);
-                    }
-                } else {
-                    analysisResponse.setTextAnalysis(rawApiResponse);
+                if (structuredDataNode.has("gaps")) {
+                    structuredDataNode.path("gaps").forEach(gap -> analysisResponse.getGaps().add(gap.asText()));
                 }
+                if (structuredDataNode.has("recommendations") && structuredDataNode.path("recommendations").isArray()) {
+                    List<CVAnalysisResponse.CourseRecommendation> courseRecommendations = objectMapper.readValue(
+                        structuredDataNode.path("recommendations").traverse(),
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, CVAnalysisResponse.CourseRecommendation.class)
+                    );
+                    analysisResponse.setRecommendations(courseRecommendations);
+                }
+
+                analysisResponse.setTextAnalysis(rawApiResponse.substring(0, jsonStartIndex) + rawApiResponse.substring(jsonEndIndex + 1));
 
-                return analysisResponse;
             } catch (Exception e) {
-                log.error("Error calling Gemini API (courses): {}", e.getMessage(), e);
-                throw new RuntimeException("Failed to call Gemini API (courses): " + e.getMessage(), e);
+                log.warn("Could not parse embedded JSON from AI response content (courses): {}", e.getMessage());
+                analysisResponse.setTextAnalysis(rawApiResponse);
             }
-
-        } catch (Exception e) {
-            log.error("Error analyzing CV (courses): {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to analyze CV (courses): " + e.getMessage(), e);
+        } else {
+            analysisResponse.setTextAnalysis(rawApiResponse);
         }
+
+        return analysisResponse;
     }
 
     public String analyzeCVGeneral(String cvContent) {
@@ -108,45 +96,73 @@ public class AIService {
 
         try {
             String promptText = constructGeneralAnalysisPrompt(cvContent);
+            return callGemini(promptText, "general");
 
-            String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent?key=" + apiKey;
+        } catch (AIServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error analyzing CV (general): {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to analyze CV (general): " + e.getMessage(), e);
+        }
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+    /**
+     * Returns the model's text for {@code promptText}, served from the response cache when the
+     * same prompt was answered before. Cache misses go through the "gemini" circuit breaker,
+     * retry, rate limiter and time limiter.
+     */
+    private String callGemini(String promptText, String label) {
+        try {
+            return aiResponseCache.get(MODEL, promptText,
+                () -> resilientCalls.call(ResilientCalls.GEMINI, () -> requestGemini(promptText, label)));
+        } catch (CallNotPermittedException e) {
+            log.warn("Gemini circuit breaker is open, skipping AI call ({})", label);
+            throw new AIServiceUnavailableException("AI service is temporarily unavailable", e);
+        } catch (RejectedExecutionException e) {
+            throw new AIServiceUnavailableException("AI service is busy", e);
+        }
+    }
 
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", promptText);
-            content.put("parts", List.of(part));
-            requestBody.put("contents", List.of(content));
+    private String requestGemini(String promptText, String label) {
+        String url = "https://generativelanguage.googleapis.com/v1beta/models/" + MODEL + ":generateContent";
 
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            log.debug("Sending request to Gemini AI service with prompt (general): {}", requestBody);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        // In a header rather than the query string, which RestClientException messages quote in full
+        headers.set("x-goog-api-key", apiKey);
 
-            try {
-                Map<String, Object> response = restTemplate.postForObject(url, request, Map.class);
-                log.debug("Raw AI response (general): {}", response);
+        Map<String, Object> requestBody = new HashMap<>();
+        Map<String, Object> content = new HashMap<>();
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", promptText);
+        content.put("parts", List.of(part));
+        requestBody.put("contents", List.of(content));
 
-                if (response == null) {
-                    log.error("Received null response from AI service (general)");
-                    throw new RuntimeException("No response received from AI service (general)");
-                }
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        log.debug("Sending request to Gemini AI service with prompt ({}): {}", label, requestBody);
 
-                return extractTextFromResponse(response);
+        try {
+            Map<String, Object> response = restTemplate.postForObject(url, request, Map.class);
+            log.debug("Raw AI response ({}): {}", label, response);
 
-            } catch (Exception e) {
-                log.error("Error calling Gemini API (general): {}", e.getMessage(), e);
-                throw new RuntimeException("Failed to call Gemini API (general): " + e.getMessage(), e);
+            if (response == null) {
+                log.error("Received null response from AI service ({})", label);
+                throw new RuntimeException("No response received from AI service (" + label + ")");
             }
 
+            return extractTextFromResponse(response);
+
+        } catch (RestClientException e) {
+            // Left unwrapped so retry and the circuit breaker can tell transient failures apart
+            log.error("Error calling Gemini API ({}): {}", label, e.getMessage());
+            throw e;
         } catch (Exception e) {
-            log.error("Error analyzing CV (general): {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to analyze CV (general): " + e.getMessage(), e);
+            log.error("Error calling Gemini API ({}): {}", label, e.getMessage(), e);
+            throw new RuntimeException("Failed to call Gemini API (" + label + "): " + e.getMessage(), e);
         }
     }
 
-    private String extractTextFromResponse(Map<String, Object> response) {
+    String extractTextFromResponse(Map<String, Object> response) {
         try {
             List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
             if (candidates != null && !candidates.isEmpty()) {
@@ -165,7 +181,7 @@ public class AIService {
         }
     }
 
-    private String constructPrompt(String cvText) {
+    String constructPrompt(String cvText) {
         return String.format("""
             You are a career development AI assistant. Analyze the following CV to identify relevant skills and potential areas for growth.
 
@@ -183,7 +199,39 @@ public class AIService {
             """, cvText);
     }
 
-    private String constructGeneralAnalysisPrompt(String cvText) {
+    /**
+     * Prompt for the streaming analysis: the answer is a single JSON object so skills, gaps and
+     * course recommendations can be shown as soon as each one has been generated.
+     */
+    String constructStructuredPrompt(String cvText) {
+        return String.format("""
+            You are a career development AI assistant. Analyze the following CV to identify relevant skills, gaps and highly relevant online courses.
+
+            Respond with a single JSON object and nothing else, using exactly these fields:
+            {
+              "skills": ["skill found in the CV", ...],
+              "gaps": ["skill or experience the CV is missing", ...],
+              "recommendations": [
+                {
+                  "title": "course title",
+                  "provider": "course provider",
+                  "matchScore": 0-100,
+                  "reason": "one sentence based on the CV content",
+                  "skillGapAddressed": "gap from the list above",
+                  "estimatedTimeToComplete": "e.g. 4 weeks",
+                  "difficultyLevel": "Beginner, Intermediate or Advanced",
+                  "prerequisites": ["..."],
+                  "careerImpact": "one sentence"
+                }
+              ]
+            }
+
+            CV Text:
+            %s
+            """, cvText);
+    }
+
+    String constructGeneralAnalysisPrompt(String cvText) {
         return String.format("""
             You are a professional CV reviewer. Analyze the provided CV and provide feedback in the following structured format:
 
@@ -0,0 +1,12 @@
+package com.ESI.CareerBooster.cv.service;
+
+/**
+ * Thrown without calling the AI provider while its circuit breaker is open.
+ * Callers fall back to the locally computed CV score.
+ */
+public class AIServiceUnavailableException extends RuntimeException {
+
+    public AIServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
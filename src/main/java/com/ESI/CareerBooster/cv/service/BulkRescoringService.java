@@ -0,0 +1,95 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.ESI.CareerBooster.cv.scoring.AnalyzerScoringModel;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes the stored scores of existing CVs. CVs are processed in chunks, one transaction
+ * each: the chunk's CVs and scores are read with two queries and the updated scores are written
+ * in one batched flush, through the same {@link ScorePersistenceService#saveRescoredScores}
+ * as the {@link RescoringJobService}. Rescoring overwrites the current scores only; it adds no history
+ * entries, so it never changes score statistics or industry benchmarks.
+ */
+@Slf4j
+@Service
+public class BulkRescoringService {
+
+    private final CVRepository cvRepository;
+    private final CVScoringEngine scoringEngine;
+    private final ScorePersistenceService scorePersistenceService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkRescoringService(
+            CVRepository cvRepository,
+            CVScoringEngine scoringEngine,
+            ScorePersistenceService scorePersistenceService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cv.rescore.chunk-size:200}") int chunkSize) {
+        this.cvRepository = cvRepository;
+        this.scoringEngine = scoringEngine;
+        this.scorePersistenceService = scorePersistenceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public record RescoreResult(int requested, int rescored, long elapsedMillis) {
+
+        public double rowsPerSecond() {
+            // Each rescored CV writes its score row
+            return elapsedMillis == 0 ? 0 : rescored * 1000.0 / elapsedMillis;
+        }
+    }
+
+    /**
+     * Rescores the given CVs with the model they were first scored with. Ids without a CV and
+     * CVs without extracted text are skipped.
+     */
+    public RescoreResult rescore(List<Long> cvIds) {
+        long startedAt = System.nanoTime();
+        int rescored = 0;
+        for (int from = 0; from < cvIds.size(); from += chunkSize) {
+            List<Long> chunk = cvIds.subList(from, Math.min(from + chunkSize, cvIds.size()));
+            rescored += transactionTemplate.execute(status -> rescoreChunk(chunk));
+        }
+
+        RescoreResult result = new RescoreResult(cvIds.size(), rescored,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("Rescored {} of {} CVs in {} ms ({} rows/s)", result.rescored(), result.requested(),
+            result.elapsedMillis(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private int rescoreChunk(List<Long> cvIds) {
+        Map<Long, CVScore> scores = new LinkedHashMap<>();
+        for (CV cv : cvRepository.findWithUserByIdIn(cvIds)) {
+            if (cv.getContent() != null) {
+                scores.put(cv.getId(), scoringEngine.score(modelFor(cv.getAnalysisType()), scoringEngine.extract(cv.getContent())));
+            }
+        }
+        return scorePersistenceService.saveRescoredScores(scores);
+    }
+
+    /**
+     * The scoring model a CV was first scored with, given its analysis type.
+     */
+    static String modelFor(String analysisType) {
+        return EnhancedCVScoringService.ENHANCED_ANALYSIS.equals(analysisType)
+            ? EnhancedScoringModel.NAME
+            : AnalyzerScoringModel.NAME;
+    }
+}
@@ -0,0 +1,271 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.CVJobStatus;
+import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Processes CV uploads in the background as a staged pipeline
+ * (extract -> score -> AI enrich -> persist), each stage on its own thread pool.
+ * Jobs are tracked in memory and can be polled or followed over Server-Sent Events.
+ */
+@Slf4j
+@Service
+public class CVProcessingPipeline {
+
+    public enum Stage {
+        QUEUED(0), EXTRACTING(10), SCORING(35), AI_ENRICHMENT(55), PERSISTING(85), COMPLETED(100), FAILED(100);
+
+        private final int progress;
+
+        Stage(int progress) {
+            this.progress = progress;
+        }
+
+        boolean isTerminal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final CVService cvService;
+    private final CVAnalyzerService cvAnalyzerService;
+    private final PdfExtractionExecutor pdfExtractionExecutor;
+    private final CVUploadCache cvUploadCache;
+    private final Executor scoringExecutor;
+    private final Executor aiExecutor;
+    private final Executor persistExecutor;
+    private final Duration retention;
+    private final long sseTimeoutMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public CVProcessingPipeline(
+            CVService cvService,
+            CVAnalyzerService cvAnalyzerService,
+            PdfExtractionExecutor pdfExtractionExecutor,
+            CVUploadCache cvUploadCache,
+            @Qualifier("cvScoringExecutor") Executor scoringExecutor,
+            @Qualifier("cvAiExecutor") Executor aiExecutor,
+            @Qualifier("cvPersistExecutor") Executor persistExecutor,
+            @Value("${app.cv.jobs.retention-minutes:30}") long retentionMinutes,
+            @Value("${app.cv.jobs.sse-timeout-ms:120000}") long sseTimeoutMillis) {
+        this.cvService = cvService;
+        this.cvAnalyzerService = cvAnalyzerService;
+        this.pdfExtractionExecutor = pdfExtractionExecutor;
+        this.cvUploadCache = cvUploadCache;
+        this.scoringExecutor = scoringExecutor;
+        this.aiExecutor = aiExecutor;
+        this.persistExecutor = persistExecutor;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.sseTimeoutMillis = sseTimeoutMillis;
+    }
+
+    /**
+     * Starts processing an upload and returns immediately. Throws {@link ExtractionRejectedException}
+     * when the extraction pool is saturated so the caller can answer with 503.
+     */
+    public CVJobStatus submit(MultipartFile file, String userEmail, String analysisType) throws IOException {
+        evictExpiredJobs();
+
+        // The multipart content is released when the request ends, so keep our own copy
+        byte[] data = file.getBytes();
+        String fileName = file.getOriginalFilename();
+        Job job = new Job(UUID.randomUUID().toString(), userEmail, fileName);
+
+        // Same file uploaded before: the job is done without parsing or calling the AI
+        String fileHash = CVUploadCache.fileHash(data);
+        Optional<CVUploadResponse> cached = cvUploadCache.findByFileHash(userEmail, fileHash, analysisType, fileName);
+        if (cached.isPresent()) {
+            jobs.put(job.id, job);
+            job.complete(cached.get());
+            return job.toStatus();
+        }
+
+        CompletableFuture<String> extraction = pdfExtractionExecutor.extractAsync(data, fileName);
+        jobs.put(job.id, job);
+        job.advance(Stage.EXTRACTING);
+        log.info("Started CV job {} for user: {}", job.id, userEmail);
+
+        CompletableFuture<Work> scored = stage(extraction, scoringExecutor, content -> {
+            job.advance(Stage.SCORING);
+            String contentHash = CVUploadCache.contentHash(content);
+            return cvUploadCache.findByContentHash(userEmail, contentHash, analysisType, fileName)
+                .map(Work::completed)
+                .orElseGet(() -> new Work(content, cvAnalyzerService.scoreContent(content), null, null));
+        });
+        CompletableFuture<CVUploadResponse> persisted = scored.thenCompose(work -> work.done() != null
+            ? CompletableFuture.completedFuture(work.done())
+            : enrichAndPersist(job, work, fileName, fileHash, userEmail, analysisType));
+
+        persisted.whenComplete((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log.error("CV job {} failed: {}", job.id, cause.getMessage(), cause);
+                job.fail(cause instanceof RejectedExecutionException
+                    ? "CV processing is at capacity, please retry later"
+                    : cause.getMessage());
+            } else {
+                log.info("CV job {} completed", job.id);
+                job.complete(result);
+            }
+        });
+
+        return job.toStatus();
+    }
+
+    private CompletableFuture<CVUploadResponse> enrichAndPersist(Job job, Work scored, String fileName, String fileHash,
+                                                                 String userEmail, String analysisType) {
+        CompletableFuture<Work> enriched = stage(CompletableFuture.completedFuture(scored), aiExecutor, work -> {
+            job.advance(Stage.AI_ENRICHMENT);
+            try {
+                return new Work(work.content(), work.score(), cvService.enrichWithAI(work.content(), analysisType), null);
+            } catch (AIServiceUnavailableException e) {
+                return Work.completed(cvService.degradedResponse(fileName, work.score()));
+            }
+        });
+        return enriched.thenCompose(work -> work.done() != null
+            ? CompletableFuture.completedFuture(work.done())
+            : stage(CompletableFuture.completedFuture(work), persistExecutor, persisting -> {
+                job.advance(Stage.PERSISTING);
+                return cvService.persist(fileName, userEmail, persisting.content(), fileHash, analysisType,
+                    persisting.enrichment(), persisting.score());
+            }));
+    }
+
+    public Optional<CVJobStatus> getStatus(String jobId, String userEmail) {
+        return findOwnedJob(jobId, userEmail).map(Job::toStatus);
+    }
+
+    public Optional<SseEmitter> subscribe(String jobId, String userEmail) {
+        return findOwnedJob(jobId, userEmail).map(job -> job.subscribe(new SseEmitter(sseTimeoutMillis)));
+    }
+
+    private Optional<Job> findOwnedJob(String jobId, String userEmail) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userEmail.equals(userEmail)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    private <T, R> CompletableFuture<R> stage(CompletableFuture<T> previous, Executor executor, Function<T, R> step) {
+        return previous.thenCompose(value -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> step.apply(value), executor);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.stage.isTerminal() && job.updatedAt.isBefore(cutoff));
+    }
+
+    private record Work(String content, CVScore score, CVService.AIEnrichment enrichment, CVUploadResponse done) {
+        static Work completed(CVUploadResponse response) {
+            return new Work(null, null, null, response);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String userEmail;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private volatile Stage stage = Stage.QUEUED;
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile String error;
+        private volatile CVUploadResponse result;
+
+        Job(String id, String userEmail, String fileName) {
+            this.id = id;
+            this.userEmail = userEmail;
+            this.fileName = fileName;
+        }
+
+        void advance(Stage next) {
+            synchronized (this) {
+                stage = next;
+                updatedAt = LocalDateTime.now();
+            }
+            publish();
+        }
+
+        void complete(CVUploadResponse response) {
+            synchronized (this) {
+                result = response;
+                stage = Stage.COMPLETED;
+                updatedAt = LocalDateTime.now();
+            }
+            publish();
+        }
+
+        void fail(String message) {
+            synchronized (this) {
+                error = message;
+                stage = Stage.FAILED;
+                updatedAt = LocalDateTime.now();
+            }
+            publish();
+        }
+
+        synchronized CVJobStatus toStatus() {
+            return new CVJobStatus(id, stage.name(), stage.progress, fileName, createdAt, updatedAt, error, result);
+        }
+
+        SseEmitter subscribe(SseEmitter emitter) {
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(e -> emitters.remove(emitter));
+            synchronized (this) {
+                emitters.add(emitter);
+                send(emitter, toStatus());
+            }
+            return emitter;
+        }
+
+        private synchronized void publish() {
+            CVJobStatus status = toStatus();
+            for (SseEmitter emitter : emitters) {
+                send(emitter, status);
+            }
+        }
+
+        private void send(SseEmitter emitter, CVJobStatus status) {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(status));
+                if (stage.isTerminal()) {
+                    emitter.complete();
+                    emitters.remove(emitter);
+                }
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+}
@@ -1,29 +1,27 @@
 package com.ESI.CareerBooster.cv.service;
 
+import com.ESI.CareerBooster.cv.dto.CVAnalysisStreamEvent;
 import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
 import com.ESI.CareerBooster.cv.dto.CourseRecommendation;
 import com.ESI.CareerBooster.cv.repository.CVRepository;
 import com.ESI.CareerBooster.cv.model.CV;
 import com.ESI.CareerBooster.auth.model.User;
-import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.ArrayList;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ESI.CareerBooster.cv.dto.CVAnalysisResponse;
-import org.apache.tika.Tika;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.io.InputStream;
 import com.ESI.CareerBooster.cv.service.AIService;
 import com.ESI.CareerBooster.cv.model.CVScore;
 
@@ -32,117 +30,254 @@ import com.ESI.CareerBooster.cv.model.CVScore;
 @RequiredArgsConstructor
 public class CVService {
     private final CVRepository cvRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final AIService aiService;
     private final CVAnalyzerService cvAnalyzerService;
     private final ObjectMapper objectMapper;
-    private final Tika tika;
+    private final PdfExtractionExecutor pdfExtractionExecutor;
+    private final CVUploadCache cvUploadCache;
+    private final ReactiveAIService reactiveAIService;
+
+    // Top-level arrays of the streamed course analysis and the event each element is sent as
+    private static final Map<String, String> STREAMED_ELEMENTS = Map.of(
+        "skills", CVAnalysisStreamEvent.SKILL,
+        "gaps", CVAnalysisStreamEvent.GAP,
+        "recommendations", CVAnalysisStreamEvent.RECOMMENDATION);
 
     public CVUploadResponse processCV(MultipartFile file, String userEmail, String analysisType) throws IOException {
         log.debug("Processing CV for user: {} with analysis type: {}", userEmail, analysisType);
+        String fileName = file.getOriginalFilename();
+
+        // Same file uploaded before: skip parsing and the AI call
+        String fileHash = CVUploadCache.fileHash(file);
+        Optional<CVUploadResponse> cached = cvUploadCache.findByFileHash(userEmail, fileHash, analysisType, fileName);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
         // Extract text from PDF
         String cvContent = extractTextFromPDF(file);
         log.debug("Extracted CV content length: {}", cvContent.length());
 
-        CVAnalysisResponse analysisResult = null;
-        String recommendationsText = null;
-        List<CVAnalysisResponse.CourseRecommendation> courseRecommendationsList = null;
+        // Different file, same text (e.g. re-exported PDF): skip the AI call
+        cached = cvUploadCache.findByContentHash(userEmail, CVUploadCache.contentHash(cvContent), analysisType, fileName);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        AIEnrichment enrichment;
+        try {
+            enrichment = enrichWithAI(cvContent, analysisType);
+        } catch (AIServiceUnavailableException e) {
+            return degradedResponse(fileName, cvAnalyzerService.scoreContent(cvContent));
+        }
+
+        return persist(fileName, userEmail, cvContent, fileHash, analysisType, enrichment, null);
+    }
+
+    /**
+     * Same flow as {@link #processCV} without holding the calling thread: extraction runs on the
+     * extraction pool, the AI call on the reactive client, and database work on the bounded elastic
+     * scheduler. Saturation of the extraction pool is still thrown synchronously.
+     */
+    public Mono<CVUploadResponse> processCVReactive(MultipartFile file, String userEmail, String analysisType)
+            throws IOException {
+        log.debug("Processing CV reactively for user: {} with analysis type: {}", userEmail, analysisType);
+        byte[] data = file.getBytes();
+        String fileName = file.getOriginalFilename();
+
+        String fileHash = CVUploadCache.fileHash(data);
+        Optional<CVUploadResponse> cached = cvUploadCache.findByFileHash(userEmail, fileHash, analysisType, fileName);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+
+        return Mono.fromFuture(pdfExtractionExecutor.extractAsync(data, fileName))
+            .publishOn(Schedulers.boundedElastic())
+            .flatMap(cvContent -> cvUploadCache
+                .findByContentHash(userEmail, CVUploadCache.contentHash(cvContent), analysisType, fileName)
+                .map(Mono::just)
+                .orElseGet(() -> enrichWithAIReactive(cvContent, analysisType)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(enrichment -> persist(fileName, userEmail, cvContent, fileHash, analysisType, enrichment, null))
+                    .onErrorResume(AIServiceUnavailableException.class,
+                        e -> Mono.fromCallable(() -> degradedResponse(fileName, cvAnalyzerService.scoreContent(cvContent)))
+                            .subscribeOn(Schedulers.boundedElastic()))));
+    }
+
+    /**
+     * Streams the AI analysis while it is generated: every text chunk, each skill, gap and course
+     * recommendation as soon as its JSON element is complete, and finally the stored result as a
+     * {@code done} event. Re-uploads answered from a previous analysis emit only {@code done}.
+     */
+    public Flux<CVAnalysisStreamEvent> streamAnalysis(MultipartFile file, String userEmail, String analysisType)
+            throws IOException {
+        log.debug("Streaming CV analysis for user: {} with analysis type: {}", userEmail, analysisType);
+        byte[] data = file.getBytes();
+        String fileName = file.getOriginalFilename();
+
+        String fileHash = CVUploadCache.fileHash(data);
+        Optional<CVUploadResponse> cached = cvUploadCache.findByFileHash(userEmail, fileHash, analysisType, fileName);
+        if (cached.isPresent()) {
+            return Flux.just(CVAnalysisStreamEvent.done(cached.get()));
+        }
+
+        return Mono.fromFuture(pdfExtractionExecutor.extractAsync(data, fileName))
+            .publishOn(Schedulers.boundedElastic())
+            .flatMapMany(cvContent -> cvUploadCache
+                .findByContentHash(userEmail, CVUploadCache.contentHash(cvContent), analysisType, fileName)
+                .map(response -> Flux.just(CVAnalysisStreamEvent.done(response)))
+                .orElseGet(() -> streamAIAnalysis(fileName, userEmail, cvContent, fileHash, analysisType)));
+    }
+
+    private Flux<CVAnalysisStreamEvent> streamAIAnalysis(String fileName, String userEmail, String cvContent,
+                                                         String fileHash, String analysisType) {
+        boolean general = CVUploadCache.GENERAL_ANALYSIS.equals(CVUploadCache.analysisKey(analysisType));
+        StringBuilder answer = new StringBuilder();
+        IncrementalJsonArrayParser parser = general
+            ? null
+            : new IncrementalJsonArrayParser(objectMapper, STREAMED_ELEMENTS.keySet());
+        Flux<String> chunks = general
+            ? reactiveAIService.streamCVAnalysisGeneral(cvContent)
+            : reactiveAIService.streamCVAnalysis(cvContent);
+
+        Flux<CVAnalysisStreamEvent> relayed = chunks.concatMapIterable(chunk -> {
+            answer.append(chunk);
+            List<CVAnalysisStreamEvent> events = new ArrayList<>();
+            events.add(CVAnalysisStreamEvent.chunk(chunk));
+            if (parser != null) {
+                parser.feed(chunk).forEach(element -> events.add(
+                    new CVAnalysisStreamEvent(STREAMED_ELEMENTS.get(element.field()), element.value())));
+            }
+            return events;
+        });
+        Mono<CVAnalysisStreamEvent> stored = Mono.fromCallable(() -> {
+                AIEnrichment enrichment = general
+                    ? new AIEnrichment(answer.toString(), null)
+                    : streamedCourseEnrichment(answer.toString());
+                return CVAnalysisStreamEvent.done(
+                    persist(fileName, userEmail, cvContent, fileHash, analysisType, enrichment, null));
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+
+        return relayed.concatWith(stored)
+            .onErrorResume(AIServiceUnavailableException.class,
+                e -> Mono.fromCallable(() -> CVAnalysisStreamEvent.done(
+                        degradedResponse(fileName, cvAnalyzerService.scoreContent(cvContent))))
+                    .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * The streamed course analysis is pure JSON, so the stored text is rebuilt in the
+     * "- [Course Title]: [explanation]" format of the non-streaming analysis.
+     */
+    private AIEnrichment streamedCourseEnrichment(String answer) {
+        CVAnalysisResponse analysisResult = aiService.parseCourseAnalysis(answer);
+        List<CVAnalysisResponse.CourseRecommendation> courses = analysisResult.getRecommendations();
+        if (courses.isEmpty()) {
+            return new AIEnrichment(analysisResult.getTextAnalysis(), courses);
+        }
+        StringBuilder courseList = new StringBuilder();
+        for (CVAnalysisResponse.CourseRecommendation course : courses) {
+            courseList.append("- ").append(course.getTitle()).append(": ").append(course.getReason()).append('\n');
+        }
+        return new AIEnrichment(courseList.toString().trim(), courses);
+    }
 
+    public Mono<AIEnrichment> enrichWithAIReactive(String cvContent, String analysisType) {
+        if ("general_analysis".equals(analysisType)) {
+            return reactiveAIService.analyzeCVGeneral(cvContent)
+                .map(text -> new AIEnrichment(text, null));
+        }
+        return reactiveAIService.analyzeCV(cvContent)
+            .map(analysisResult -> new AIEnrichment(analysisResult.getTextAnalysis(), analysisResult.getRecommendations()));
+    }
+
+    /**
+     * Runs the AI analysis selected by {@code analysisType} on already extracted CV text.
+     */
+    public AIEnrichment enrichWithAI(String cvContent, String analysisType) {
         // Determine which AI analysis to perform based on analysisType
         if ("general_analysis".equals(analysisType)) {
             log.debug("Requesting general CV analysis from AI");
             // Call AI for general analysis (strengths, weaknesses, etc.)
-            recommendationsText = aiService.analyzeCVGeneral(cvContent); // New method for general analysis
-        } else { // Default to course recommendations if type is not specified or unknown
-            log.debug("Requesting course recommendations from AI");
-            // Call AI for course recommendations (existing logic)
-            analysisResult = aiService.analyzeCV(cvContent);
-            recommendationsText = analysisResult.getTextAnalysis(); // Get text analysis (should be the course list)
-            courseRecommendationsList = analysisResult.getRecommendations(); // Get structured course list if available
+            return new AIEnrichment(aiService.analyzeCVGeneral(cvContent), null);
         }
+        // Default to course recommendations if type is not specified or unknown
+        log.debug("Requesting course recommendations from AI");
+        CVAnalysisResponse analysisResult = aiService.analyzeCV(cvContent);
+        return new AIEnrichment(
+            analysisResult.getTextAnalysis(), // Get text analysis (should be the course list)
+            analysisResult.getRecommendations() // Get structured course list if available
+        );
+    }
 
-
+    /**
+     * Saves the CV and its score. When {@code precomputedScore} is null the score is calculated here.
+     */
+    public CVUploadResponse persist(String fileName, String userEmail, String cvContent, String fileHash,
+                                    String analysisType, AIEnrichment enrichment, CVScore precomputedScore) {
         // Save CV to database
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
         CV cv = new CV();
         cv.setUser(user);
-        cv.setFileName(file.getOriginalFilename());
+        cv.setFileName(fileName);
         cv.setContent(cvContent);
-        cv.setRecommendations(recommendationsText); // Save the appropriate text analysis
+        cv.setRecommendations(enrichment.recommendationsText()); // Save the appropriate text analysis
+        cv.setCourseRecommendations(cvUploadCache.writeCourseRecommendations(enrichment.courseRecommendations()));
+        cv.setFileHash(fileHash);
+        cv.setContentHash(CVUploadCache.contentHash(cvContent));
+        cv.setAnalysisType(CVUploadCache.analysisKey(analysisType));
         CV savedCV = cvRepository.save(cv);
 
         // Analyze CV and calculate score
-        log.debug("Starting CV scoring analysis for: {}", file.getOriginalFilename());
-        CVScore cvScore = cvAnalyzerService.analyzeCV(savedCV);
+        log.debug("Starting CV scoring analysis for: {}", fileName);
+        CVScore cvScore = precomputedScore != null
+            ? cvAnalyzerService.saveScore(savedCV, precomputedScore)
+            : cvAnalyzerService.analyzeCV(savedCV);
         log.debug("CV scoring completed. Overall score: {}", cvScore.getOverallScore());
 
         // Return the appropriate response
         return new CVUploadResponse(
-            file.getOriginalFilename(),
-            recommendationsText, // Return the text analysis/recommendations
-            courseRecommendationsList // Return course list (will be null for general analysis)
+            fileName,
+            enrichment.recommendationsText(), // Return the text analysis/recommendations
+            enrichment.courseRecommendations() // Return course list (will be null for general analysis)
         );
     }
 
     public String extractTextFromPDF(MultipartFile file) throws IOException {
         log.debug("Starting PDF text extraction for file: {}", file.getOriginalFilename());
-        Path tmp = null;
         try {
-            // Validate file type
-            String mimeType = tika.detect(file.getInputStream());
-            if (!mimeType.equals("application/pdf")) {
-                throw new IOException("Invalid file type. Expected PDF but got: " + mimeType);
-            }
-
-            // 1. Persist to tmp so PDFBox can re-open as RandomAccess
-            tmp = Files.createTempFile("cv_", ".pdf");
-            try (InputStream in = file.getInputStream()) {
-                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
-            }
-            log.debug("File copied to temporary location: {}", tmp);
-
-            // Use Loader.loadPDF with File, password, scratchFile (null), and lenient flag
-            try (PDDocument doc = Loader.loadPDF(tmp.toFile())) { // Simplified to use default parameters
-                if (doc.isEncrypted()) {
-                    log.warn("Password-protected PDF detected: {}", file.getOriginalFilename());
-                    throw new IOException("PDF is password-protected");
-                }
-                PDFTextStripper stripper = new PDFTextStripper();
-                stripper.setSortByPosition(true);
-                String text = stripper.getText(doc);
-
-                if (text == null || text.trim().isEmpty()) {
-                    log.warn("No extractable text from PDF: {}", file.getOriginalFilename());
-                    throw new IOException("No extractable text found in PDF. It might be a scanned image or corrupted.");
-                }
-
-                log.debug("Successfully extracted text (length {}): {}", text.length(), text.substring(0, Math.min(text.length(), 200))); // Log a preview
-                return text;
-            } catch (InvalidPasswordException e) {
-                 log.error("PDF password error for file {}: {}", file.getOriginalFilename(), e.getMessage());
-                 throw new IOException("PDF is password-protected", e);
-            } catch (java.lang.SecurityException e) {
-                 log.error("PDF security error for file {}: {}", file.getOriginalFilename(), e.getMessage());
-                 throw new IOException("PDF has security restrictions", e);
-            } catch (IOException e) {
-                log.error("PDFBox extraction failed for file {}: {}", file.getOriginalFilename(), e.getMessage(), e);
-                throw new IOException("Failed to extract text from PDF: " + e.getMessage(), e);
-            }
+            String text = pdfExtractionExecutor.extract(file);
+            log.debug("Successfully extracted text (length {}): {}", text.length(), text.substring(0, Math.min(text.length(), 200))); // Log a preview
+            return text;
+        } catch (InvalidPasswordException e) {
+            log.error("PDF password error for file {}: {}", file.getOriginalFilename(), e.getMessage());
+            throw new IOException("File processing error: PDF is password-protected", e);
+        } catch (java.lang.SecurityException e) {
+            log.error("PDF security error for file {}: {}", file.getOriginalFilename(), e.getMessage());
+            throw new IOException("File processing error: PDF has security restrictions", e);
         } catch (IOException e) {
-            log.error("File operation error for file {}: {}", file.getOriginalFilename(), e.getMessage(), e);
+            log.error("PDF extraction failed for file {}: {}", file.getOriginalFilename(), e.getMessage(), e);
             throw new IOException("File processing error: " + e.getMessage(), e);
-        } finally {
-            if (tmp != null) {
-                try {
-                    Files.deleteIfExists(tmp);
-                    log.debug("Temporary file deleted: {}", tmp);
-                } catch (IOException e) {
-                    log.error("Failed to delete temporary file {}: {}", tmp, e.getMessage(), e);
-                }
-            }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Response used while the AI provider's circuit breaker is open: the local score and its
+     * recommendations only. Nothing is stored, so the next upload of the same CV gets the full analysis.
+     */
+    public CVUploadResponse degradedResponse(String fileName, CVScore localScore) {
+        log.warn("AI service unavailable, returning local score only for: {}", fileName);
+        CVUploadResponse response = new CVUploadResponse(fileName, localScore.getRecommendations(), null);
+        response.setDegraded(true);
+        response.setOverallScore(localScore.getOverallScore());
+        return response;
+    }
+
+    public record AIEnrichment(String recommendationsText,
+                               List<CVAnalysisResponse.CourseRecommendation> courseRecommendations) {
+    }
+}
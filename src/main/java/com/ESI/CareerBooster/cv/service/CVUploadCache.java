@@ -0,0 +1,195 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.CVAnalysisResponse;
+import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Recognises re-uploads of a CV the user already analysed. Uploads are fingerprinted with
+ * SHA-256 over the raw PDF bytes and over the normalized extracted text; both hashes are
+ * stored on {@code cvs}, so a match lets the caller return the stored analysis without
+ * parsing the PDF or calling the AI again.
+ */
+@Slf4j
+@Service
+public class CVUploadCache {
+
+    public static final String COURSE_RECOMMENDATIONS = "course_recommendations";
+    public static final String GENERAL_ANALYSIS = "general_analysis";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final TypeReference<List<CVAnalysisResponse.CourseRecommendation>> COURSE_LIST =
+        new TypeReference<>() {};
+
+    private final CVRepository cvRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final Counter byteHits;
+    private final Counter textHits;
+    private final Counter misses;
+
+    public CVUploadCache(
+            CVRepository cvRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.cv.dedup.enabled:true}") boolean enabled) {
+        this.cvRepository = cvRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        this.byteHits = lookups(meterRegistry, "hit_bytes");
+        this.textHits = lookups(meterRegistry, "hit_text");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("cv.dedup.hit.ratio", this, CVUploadCache::hitRatio)
+            .description("Share of CV uploads answered from a previous analysis")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Maps the request parameter to the stored analysis type; anything other than a general
+     * analysis produces course recommendations.
+     */
+    public static String analysisKey(String analysisType) {
+        return GENERAL_ANALYSIS.equals(analysisType) ? GENERAL_ANALYSIS : COURSE_RECOMMENDATIONS;
+    }
+
+    public static String fileHash(byte[] data) {
+        return HexFormat.of().formatHex(sha256().digest(data));
+    }
+
+    public static String fileHash(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String contentHash(String cvContent) {
+        return HexFormat.of().formatHex(sha256().digest(normalize(cvContent).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Lowercases and collapses whitespace so layout-only differences between exports of the
+     * same CV produce the same fingerprint.
+     */
+    static String normalize(String cvContent) {
+        return WHITESPACE.matcher(cvContent.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Looks for a previous upload of exactly the same file. A miss here is not counted since the
+     * caller still checks the extracted text.
+     */
+    public Optional<CVUploadResponse> findByFileHash(String userEmail, String fileHash, String analysisType,
+                                                     String fileName) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<CVUploadResponse> cached = cvRepository
+            .findFirstByUserEmailAndFileHashAndAnalysisTypeOrderByCreatedAtDesc(
+                userEmail, fileHash, analysisKey(analysisType))
+            .map(cv -> toResponse(cv, fileName));
+        cached.ifPresent(response -> {
+            byteHits.increment();
+            log.info("Reusing analysis of identical upload {} for user: {}", fileName, userEmail);
+        });
+        return cached;
+    }
+
+    /**
+     * Looks for a previous upload with the same normalized text; this is the final lookup, so a
+     * miss here is recorded as a cache miss.
+     */
+    public Optional<CVUploadResponse> findByContentHash(String userEmail, String contentHash, String analysisType,
+                                                        String fileName) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<CVUploadResponse> cached = cvRepository
+            .findFirstByUserEmailAndContentHashAndAnalysisTypeOrderByCreatedAtDesc(
+                userEmail, contentHash, analysisKey(analysisType))
+            .map(cv -> toResponse(cv, fileName));
+        if (cached.isPresent()) {
+            textHits.increment();
+            log.info("Reusing analysis of previously uploaded CV with identical text for user: {}", userEmail);
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public String writeCourseRecommendations(List<CVAnalysisResponse.CourseRecommendation> courses) {
+        if (courses == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(courses);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize course recommendations: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private CVUploadResponse toResponse(CV cv, String fileName) {
+        return new CVUploadResponse(fileName, cv.getRecommendations(), readCourseRecommendations(cv));
+    }
+
+    private List<CVAnalysisResponse.CourseRecommendation> readCourseRecommendations(CV cv) {
+        if (cv.getCourseRecommendations() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cv.getCourseRecommendations(), COURSE_LIST);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not read stored course recommendations for CV {}: {}", cv.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private double hitRatio() {
+        double hits = byteHits.count() + textHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cv.dedup.lookups")
+            .description("CV upload fingerprint lookups by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,125 +1,144 @@
 package com.ESI.CareerBooster.cv.service;
 
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
+import com.ESI.CareerBooster.config.CacheConfig;
 import com.ESI.CareerBooster.cv.model.CV;
 import com.ESI.CareerBooster.cv.model.CVScore;
 import com.ESI.CareerBooster.cv.model.ScoreHistory;
-import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
 import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
 import com.ESI.CareerBooster.cv.dto.EnhancedCVAnalysisResponse;
 import com.ESI.CareerBooster.cv.dto.ScoreHistoryDTO;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EnhancedCVScoringService {
 
-    private final CVScoreRepository cvScoreRepository;
-    private final ScoreHistoryRepository scoreHistoryRepository;
-
-    // Enhanced industry keywords with weights
-    private static final Map<String, Map<String, Integer>> WEIGHTED_INDUSTRY_KEYWORDS = Map.of(
-        "TECHNOLOGY", Map.of(
-            "java" , 5, "python", 5, "javascript", 5, "react", 4, "spring", 4,
-            "docker", 4, "kubernetes", 4, "aws", 5, "microservices", 4, "agile", 3
-        ),
-        "MARKETING", Map.of(
-            "seo", 5, "google analytics", 4, "social media", 3, "content marketing", 4,
-            "ppc", 4, "conversion", 4, "brand", 3, "campaign", 3, "roi", 4
-        ),
-        "FINANCE", Map.of(
-            "financial modeling", 5, "excel", 4, "bloomberg", 4, "risk management", 5,
-            "portfolio", 4, "derivatives", 4, "compliance", 4, "audit", 3
-        )
-    );
-
-    // Career level indicators
-    private static final Map<String, Integer> CAREER_LEVEL_KEYWORDS = Map.of(
-        "intern", 1, "junior", 2, "associate", 3, "senior", 4, "lead", 5,
-        "principal", 6, "manager", 5, "director", 7, "vp", 8, "ceo", 10
-    );
+    // Stored as the CV's analysis type, so enhanced uploads never answer the upload dedup lookups
+    static final String ENHANCED_ANALYSIS = "enhanced_analysis";
 
-    // Achievement indicators with weights
-    private static final Map<Pattern, Integer> ACHIEVEMENT_PATTERNS = Map.of(
-        Pattern.compile("\\b(increased|improved|reduced|saved|generated)\\s+.*?\\b(\\d+)%", Pattern.CASE_INSENSITIVE), 5,
-        Pattern.compile("\\$\\s*(\\d+(?:,\\d{3})*(?:\\.\\d{2})?)[kmb]?", Pattern.CASE_INSENSITIVE), 4,
-        Pattern.compile("\\b(managed|led|supervised)\\s+.*?(\\d+)\\s+(people|team|employees)", Pattern.CASE_INSENSITIVE), 4,
-        Pattern.compile("\\b(award|recognition|certification|patent)", Pattern.CASE_INSENSITIVE), 3
-    );
+    private final ScoreHistoryRepository scoreHistoryRepository;
+    private final UserScoreStatsService userScoreStatsService;
+    private final IndustryBenchmarkService industryBenchmarkService;
+    private final UserIdentityService userIdentityService;
+    private final CVScoringEngine scoringEngine;
+    private final ScorePersistenceService scorePersistenceService;
+    private final PdfExtractionExecutor pdfExtractionExecutor;
+    private final Timer analysisTimer;
+    private final Duration latencyBudget;
+
+    public EnhancedCVScoringService(
+            ScoreHistoryRepository scoreHistoryRepository,
+            UserScoreStatsService userScoreStatsService,
+            IndustryBenchmarkService industryBenchmarkService,
+            UserIdentityService userIdentityService,
+            CVScoringEngine scoringEngine,
+            ScorePersistenceService scorePersistenceService,
+            PdfExtractionExecutor pdfExtractionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.cv.enhanced.latency-budget-ms:3000}") long latencyBudgetMillis) {
+        this.scoreHistoryRepository = scoreHistoryRepository;
+        this.userScoreStatsService = userScoreStatsService;
+        this.industryBenchmarkService = industryBenchmarkService;
+        this.userIdentityService = userIdentityService;
+        this.scoringEngine = scoringEngine;
+        this.scorePersistenceService = scorePersistenceService;
+        this.pdfExtractionExecutor = pdfExtractionExecutor;
+        this.latencyBudget = Duration.ofMillis(latencyBudgetMillis);
+        // The SLO bucket shows the share of analyses within budget next to the p95
+        this.analysisTimer = Timer.builder("cv.enhanced.analysis")
+            .description("Time to extract, score and store an enhanced CV analysis")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .serviceLevelObjectives(latencyBudget)
+            .register(meterRegistry);
+    }
 
     /**
-     * Main method to analyze CV and return enhanced response
+     * Extracts the uploaded PDF, scores it with the enhanced model and stores the CV, its score
+     * and the history entry in one transaction.
      */
-    public EnhancedCVAnalysisResponse analyzeCV(MultipartFile file, String userEmail, String industry) {
+    public EnhancedCVAnalysisResponse analyzeCV(MultipartFile file, String userEmail, String industry) throws IOException {
+        log.info("Analyzing CV for user: {} with industry: {}", userEmail, industry);
+        long startedAt = System.nanoTime();
         try {
-            // This would integrate with existing CV upload logic
-            // For now, we'll assume CV is already processed
-            log.info("Analyzing CV for user: {} with industry: {}", userEmail, industry);
-
-            // TODO: Integrate with existing CVAnalyzerService to get CV content
-            // String content = extractContentFromFile(file);
-            // CV cv = createCVEntity(file, userEmail, content);
-
-            // For now, return a mock response - this will be integrated with actual CV processing
-            return createMockEnhancedResponse();
-
-        } catch (Exception e) {
-            log.error("Error analyzing CV for user: {}", userEmail, e);
-            throw new RuntimeException("Failed to analyze CV", e);
+            String content = pdfExtractionExecutor.extract(file);
+            User user = userIdentityService.findUser(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+            CVScore score = scoringEngine.score(EnhancedScoringModel.NAME, scoringEngine.extract(content));
+            ScoreHistory previous = scoreHistoryRepository.getLatestScoreByUserEmail(userEmail);
+
+            CV cv = new CV();
+            cv.setUser(user);
+            cv.setFileName(file.getOriginalFilename());
+            cv.setContent(content);
+            cv.setRecommendations(score.getRecommendations());
+            cv.setFileHash(CVUploadCache.fileHash(file));
+            cv.setContentHash(CVUploadCache.contentHash(content));
+            cv.setAnalysisType(ENHANCED_ANALYSIS);
+            CVScore savedScore = scorePersistenceService.saveAnalysis(cv, score, userEmail);
+
+            return toResponse(savedScore, previous);
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            analysisTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > latencyBudget.toNanos()) {
+                log.warn("Enhanced analysis of {} took {} ms, over the {} ms budget",
+                    file.getOriginalFilename(), TimeUnit.NANOSECONDS.toMillis(elapsed), latencyBudget.toMillis());
+            }
         }
     }
 
     /**
-     * Get score history for a user
+     * Get score history for a user. Cached until the user's scores change.
      */
+    @Cacheable(cacheNames = CacheConfig.SCORE_HISTORY, key = "#userEmail + ':' + #limit")
     public ScoreHistoryDTO getScoreHistory(String userEmail, int limit) {
         log.info("Getting score history for user: {} with limit: {}", userEmail, limit);
 
-        List<ScoreHistory> history = scoreHistoryRepository.findRecentByUserEmail(userEmail);
-        if (history.isEmpty()) {
+        // Aggregates come from the user's statistics row, only the requested points are read
+        Optional<UserScoreStats> found = userScoreStatsService.findByUserEmail(userEmail);
+        if (found.isEmpty() || found.get().getAnalysisCount() == 0) {
             return createEmptyScoreHistory();
         }
+        UserScoreStats stats = found.get();
 
         ScoreHistoryDTO dto = new ScoreHistoryDTO();
-        ScoreHistory latest = history.get(0);
-
-        dto.setLatestScore(latest.getOverallScore());
-        dto.setIndustryType(latest.getIndustryType());
-        dto.setCareerLevel(latest.getCareerLevel());
-        dto.setCurrentGrade(latest.getGrade());
-        dto.setLastAnalysisDate(latest.getAnalysisDate());
-        dto.setTotalAnalyses(scoreHistoryRepository.countAnalysesByUserEmail(userEmail));
-        dto.setAverageScore(scoreHistoryRepository.getAverageScoreByUserEmail(userEmail));
-
-        // Calculate trend
-        if (history.size() >= 2) {
-            int current = history.get(0).getOverallScore();
-            int previous = history.get(1).getOverallScore();
-            dto.setTrend(current > previous ? "IMPROVING" : current < previous ? "DECLINING" : "STABLE");
-        } else {
-            dto.setTrend("STABLE");
-        }
+        dto.setLatestScore(stats.getLatestScore());
+        dto.setIndustryType(stats.getLatestIndustryType());
+        dto.setCareerLevel(stats.getLatestCareerLevel());
+        dto.setCurrentGrade(stats.getLatestGrade());
+        dto.setLastAnalysisDate(stats.getLastAnalysisDate());
+        dto.setTotalAnalyses(stats.getAnalysisCount());
+        dto.setAverageScore(stats.getAverageScore());
+        dto.setTrend(stats.getTrend());
 
         // Convert history to data points
+        List<ScoreHistory> history = limit > 0 ? scoreHistoryRepository.findScoreTrend(userEmail, limit) : List.of();
         List<ScoreHistoryDTO.ScoreDataPoint> dataPoints = history.stream()
-            .limit(limit)
             .map(this::convertToDataPoint)
             .toList();
         dto.setScoreHistory(dataPoints);
 
         // Set industry benchmark
-        if (latest.getIndustryType() != null) {
-            Double benchmark = scoreHistoryRepository.getIndustryBenchmark(latest.getIndustryType());
-            dto.setIndustryBenchmark(benchmark != null ? benchmark.intValue() : 75);
+        if (stats.getLatestIndustryType() != null) {
+            dto.setIndustryBenchmark(industryBenchmarkService.averageScore(stats.getLatestIndustryType()));
         }
 
         return dto;
@@ -128,278 +147,56 @@ public class EnhancedCVScoringService {
     public CVScore calculateEnhancedScore(CV cv) {
         log.info("Calculating enhanced score for CV: {}", cv.getFileName());
 
-        String content = cv.getContent().toLowerCase();
-        CVScore score = new CVScore();
+        CVScore score = scoringEngine.score(EnhancedScoringModel.NAME, scoringEngine.extract(cv.getContent()));
         score.setCv(cv);
 
-        // 1. Basic section analysis
-        Map<String, Boolean> sectionsPresent = detectSections(content);
-        Map<String, Integer> basicScores = calculateBasicSectionScores(sectionsPresent);
-
-        // 2. Enhanced quality analysis
-        int experienceQualityScore = calculateEnhancedExperienceScore(content);
-        int skillsRelevanceScore = calculateSkillsRelevanceScore(content, detectIndustry(content));
-        int achievementScore = calculateAchievementScore(content);
-        int careerProgressionScore = calculateCareerProgressionScore(content);
-        int formattingScore = calculateAdvancedFormattingScore(content);
-        int atsCompatibilityScore = calculateATSCompatibilityScore(content);
-
-        // 3. Set individual scores
-        score.setContactInfoScore(basicScores.get("CONTACT"));
-        score.setSummaryScore(basicScores.get("SUMMARY"));
-        score.setExperienceScore(Math.min(experienceQualityScore + basicScores.get("EXPERIENCE"), 35));
-        score.setEducationScore(basicScores.get("EDUCATION"));
-        score.setSkillsScore(Math.min(skillsRelevanceScore + basicScores.get("SKILLS"), 30));
-        score.setProjectsScore(basicScores.get("PROJECTS"));
-        score.setFormattingScore(formattingScore);
-        score.setKeywordScore(achievementScore + careerProgressionScore);
-
-        // 4. Calculate weighted overall score
-        int overallScore = calculateWeightedOverallScore(score, atsCompatibilityScore);
-        score.setOverallScore(Math.min(overallScore, 100));
-
-        // 5. Set additional enhanced fields
-        score.setGrade(calculateGrade(score.getOverallScore()));
-        score.setCareerLevel(detectCareerLevel(content));
-        score.setAtsCompatibilityScore(atsCompatibilityScore);
-        score.setIndustryBenchmark(getIndustryBenchmark(detectIndustry(content)));
-
-        // 6. Generate enhanced recommendations
-        score.setRecommendations(generateEnhancedRecommendations(score, content));
-        score.setIndustryType(detectIndustry(content));
-
-        CVScore savedScore = cvScoreRepository.save(score);
-
-        // 7. Save to score history for tracking
-        if (cv.getUser() != null && cv.getUser().getEmail() != null) {
-            ScoreHistory history = ScoreHistory.fromCVScore(savedScore, cv.getUser().getEmail());
-            scoreHistoryRepository.save(history);
-        }
-
-        return savedScore;
-    }
-
-    private int calculateEnhancedExperienceScore(String content) {
-        int score = 0;
-
-        // Years of experience detection
-        Pattern yearsPattern = Pattern.compile("(\\d+)\\s*(?:\\+)?\\s*years?\\s+(?:of\\s+)?experience", Pattern.CASE_INSENSITIVE);
-        Matcher yearsMatcher = yearsPattern.matcher(content);
-        if (yearsMatcher.find()) {
-            int years = Integer.parseInt(yearsMatcher.group(1));
-            score += Math.min(years, 10); // Max 10 points for experience years
-        }
-
-        // Job progression (multiple positions)
-        long jobCount = Arrays.stream(content.split("\\n"))
-            .filter(line -> line.matches(".*\\b(20\\d{2})\\b.*"))
-            .count();
-        score += Math.min(jobCount * 2, 8); // Max 8 points for job progression
-
-        // Leadership indicators
-        String[] leadershipTerms = {"managed", "led", "supervised", "coordinated", "directed"};
-        for (String term : leadershipTerms) {
-            if (content.contains(term)) {
-                score += 2;
-                break;
-            }
-        }
-
-        return Math.min(score, 20);
-    }
-
-    private int calculateSkillsRelevanceScore(String content, String industry) {
-        Map<String, Integer> industryKeywords = WEIGHTED_INDUSTRY_KEYWORDS.get(industry.toUpperCase());
-        if (industryKeywords == null) return 5;
-
-        int totalScore = 0;
-        int keywordCount = 0;
-
-        for (Map.Entry<String, Integer> entry : industryKeywords.entrySet()) {
-            if (content.contains(entry.getKey().toLowerCase())) {
-                totalScore += entry.getValue();
-                keywordCount++;
-            }
-        }
-
-        // Bonus for skill diversity
-        if (keywordCount >= 5) totalScore += 5;
-        if (keywordCount >= 8) totalScore += 3;
-
-        return Math.min(totalScore, 25);
-    }
-
-    private int calculateAchievementScore(String content) {
-        int score = 0;
-
-        for (Map.Entry<Pattern, Integer> entry : ACHIEVEMENT_PATTERNS.entrySet()) {
-            Matcher matcher = entry.getKey().matcher(content);
-            while (matcher.find() && score < 15) {
-                score += entry.getValue();
-            }
-        }
-
-        return Math.min(score, 15);
+        // Score and history entry for tracking are stored together
+        String userEmail = cv.getUser() != null ? cv.getUser().getEmail() : null;
+        return scorePersistenceService.saveScore(score, userEmail);
     }
 
-    private int calculateCareerProgressionScore(String content) {
-        int maxLevel = 0;
-
-        for (Map.Entry<String, Integer> entry : CAREER_LEVEL_KEYWORDS.entrySet()) {
-            if (content.contains(entry.getKey())) {
-                maxLevel = Math.max(maxLevel, entry.getValue());
-            }
-        }
-
-        return Math.min(maxLevel, 10);
-    }
-
-    private int calculateAdvancedFormattingScore(String content) {
-        int score = 10; // Base score
-
-        // Length optimization
-        int length = content.length();
-        if (length >= 800 && length <= 3000) score += 3;
-        else if (length < 500 || length > 5000) score -= 5;
-
-        // Structure indicators
-        if (content.contains("•") || content.contains("-")) score += 2;
-        if (content.split("\\n").length >= 10) score += 2; // Good sectioning
-
-        // Professional formatting indicators
-        if (content.matches(".*\\b[A-Z][a-z]+\\s+[A-Z][a-z]+\\b.*")) score += 1; // Proper names
-        if (content.matches(".*\\b\\d{4}\\s*-\\s*\\d{4}\\b.*")) score += 2; // Date ranges
-
-        return Math.min(score, 20);
-    }
-
-    private int calculateATSCompatibilityScore(String content) {
-        int score = 10; // Base ATS score
-
-        // ATS-friendly indicators
-        if (!content.contains("@") || !content.contains(".com")) score -= 3; // Missing contact
-        if (content.length() < 300) score -= 5; // Too short for ATS
-        if (content.matches(".*[^\\x00-\\x7F].*")) score -= 2; // Special characters
-
-        // ATS-friendly structure
-        String[] sections = {"experience", "education", "skills", "summary"};
-        for (String section : sections) {
-            if (content.contains(section)) score += 1;
-        }
-
-        return Math.min(score, 15);
-    }
-
-    private int calculateWeightedOverallScore(CVScore score, int atsScore) {
-        // Weighted calculation based on importance
-        double weightedScore =
-            (score.getContactInfoScore() * 0.10) +
-            (score.getSummaryScore() * 0.15) +
-            (score.getExperienceScore() * 0.30) +
-            (score.getEducationScore() * 0.10) +
-            (score.getSkillsScore() * 0.20) +
-            (score.getProjectsScore() * 0.05) +
-            (score.getFormattingScore() * 0.05) +
-            (score.getKeywordScore() * 0.03) +
-            (atsScore * 0.02);
-
-        return (int) Math.round(weightedScore);
-    }
-
-    // Helper methods (simplified for brevity)
-    private Map<String, Boolean> detectSections(String content) {
-        Map<String, Boolean> sections = new HashMap<>();
-        sections.put("CONTACT", content.contains("@") || content.contains("phone"));
-        sections.put("SUMMARY", content.contains("summary") || content.contains("objective"));
-        sections.put("EXPERIENCE", content.contains("experience") || content.contains("work"));
-        sections.put("EDUCATION", content.contains("education") || content.contains("degree"));
-        sections.put("SKILLS", content.contains("skills") || content.contains("technologies"));
-        sections.put("PROJECTS", content.contains("projects") || content.contains("portfolio"));
-        return sections;
-    }
-
-    private Map<String, Integer> calculateBasicSectionScores(Map<String, Boolean> sections) {
-        Map<String, Integer> scores = new HashMap<>();
-        scores.put("CONTACT", sections.get("CONTACT") ? 15 : 0);
-        scores.put("SUMMARY", sections.get("SUMMARY") ? 15 : 0);
-        scores.put("EXPERIENCE", sections.get("EXPERIENCE") ? 25 : 0);
-        scores.put("EDUCATION", sections.get("EDUCATION") ? 15 : 0);
-        scores.put("SKILLS", sections.get("SKILLS") ? 20 : 0);
-        scores.put("PROJECTS", sections.get("PROJECTS") ? 10 : 0);
-        return scores;
-    }
-
-    private String detectIndustry(String content) {
-        for (String industry : WEIGHTED_INDUSTRY_KEYWORDS.keySet()) {
-            Map<String, Integer> keywords = WEIGHTED_INDUSTRY_KEYWORDS.get(industry);
-            long matchCount = keywords.keySet().stream()
-                .mapToLong(keyword -> content.contains(keyword.toLowerCase()) ? 1 : 0)
-                .sum();
-            if (matchCount >= 3) return industry;
-        }
-        return "GENERAL";
-    }
-
-    private String generateEnhancedRecommendations(CVScore score, String content) {
-        StringBuilder recommendations = new StringBuilder();
-
-        if (score.getOverallScore() >= 90) {
-            recommendations.append("🌟 Excellent CV! Your profile stands out with strong achievements and relevant skills.\n");
-        } else if (score.getOverallScore() >= 75) {
-            recommendations.append("✅ Good CV! A few enhancements could make it even stronger:\n");
+    private EnhancedCVAnalysisResponse toResponse(CVScore score, ScoreHistory previous) {
+        EnhancedCVAnalysisResponse response = new EnhancedCVAnalysisResponse();
+        response.setOverallScore(score.getOverallScore());
+        response.setGrade(score.getGrade());
+        response.setIndustryType(score.getIndustryType());
+        response.setCareerLevel(score.getCareerLevel());
+        response.setIndustryBenchmark(score.getIndustryBenchmark());
+        response.setAnalysisDate(score.getCreatedAt());
+        response.setAtsCompatibilityScore(score.getAtsCompatibilityScore());
+
+        response.setSectionScores(new EnhancedCVAnalysisResponse.SectionScores(
+            score.getContactInfoScore(),
+            score.getSummaryScore(),
+            score.getExperienceScore(),
+            score.getEducationScore(),
+            score.getSkillsScore(),
+            score.getProjectsScore(),
+            score.getFormattingScore(),
+            score.getKeywordScore()));
+
+        response.setRecommendations(score.getRecommendations().lines()
+            .map(line -> line.startsWith("• ") ? line.substring(2) : line)
+            .filter(line -> !line.isBlank())
+            .toList());
+        response.setMissingSections(score.getMissingSections() == null || score.getMissingSections().isEmpty()
+            ? List.of()
+            : List.of(score.getMissingSections().split(", ")));
+
+        if (previous == null) {
+            response.setTrend("STABLE");
         } else {
-            recommendations.append("🔧 Your CV has potential! Here are key improvements:\n");
-        }
-
-        if (score.getExperienceScore() < 25) {
-            recommendations.append("• Add quantifiable achievements (e.g., 'Increased sales by 25%')\n");
-        }
-        if (score.getSkillsScore() < 20) {
-            recommendations.append("• Include more industry-relevant technical skills\n");
+            int current = score.getOverallScore();
+            int before = previous.getOverallScore();
+            response.setTrend(current > before ? "IMPROVING" : current < before ? "DECLINING" : "STABLE");
         }
-        if (score.getFormattingScore() < 15) {
-            recommendations.append("• Improve formatting with bullet points and clear sections\n");
-        }
-
-        return recommendations.toString();
-    }
-
-    // Helper methods for the new public API
-    private EnhancedCVAnalysisResponse createMockEnhancedResponse() {
-        EnhancedCVAnalysisResponse response = new EnhancedCVAnalysisResponse();
-        response.setOverallScore(85);
-        response.setGrade("A");
-        response.setIndustryType("TECHNOLOGY");
-        response.setCareerLevel("SENIOR");
-        response.setIndustryBenchmark(78);
-        response.setTrend("IMPROVING");
-        response.setAnalysisDate(LocalDateTime.now());
-        response.setAtsCompatibilityScore(92);
-
-        // Section scores
-        EnhancedCVAnalysisResponse.SectionScores sectionScores = new EnhancedCVAnalysisResponse.SectionScores();
-        sectionScores.setContactInfo(15);
-        sectionScores.setSummary(12);
-        sectionScores.setExperience(28);
-        sectionScores.setEducation(14);
-        sectionScores.setSkills(25);
-        sectionScores.setProjects(8);
-        sectionScores.setFormatting(18);
-        sectionScores.setKeywords(12);
-        response.setSectionScores(sectionScores);
 
-        // Recommendations
-        response.setRecommendations(List.of(
-            "Add quantifiable achievements to your experience section",
-            "Include more industry-specific technical skills",
-            "Consider adding a projects section to showcase your work"
-        ));
-
-        // Score comparison
         EnhancedCVAnalysisResponse.ScoreComparison comparison = new EnhancedCVAnalysisResponse.ScoreComparison();
-        comparison.setPercentileRank(75);
-        comparison.setPointsDifference(7);
-        comparison.setStatus("ABOVE_AVERAGE");
+        comparison.setPercentileRank(
+            industryBenchmarkService.percentileRank(score.getIndustryType(), score.getOverallScore()));
+        int pointsDifference = score.getOverallScore() - score.getIndustryBenchmark();
+        comparison.setPointsDifference(pointsDifference);
+        comparison.setStatus(pointsDifference > 5 ? "ABOVE_AVERAGE" : pointsDifference < -5 ? "BELOW_AVERAGE" : "AVERAGE");
         response.setScoreComparison(comparison);
 
         return response;
@@ -424,44 +221,4 @@ public class EnhancedCVScoringService {
         point.setIndustryType(history.getIndustryType());
         return point;
     }
-
-    // Grade calculation helper
-    private String calculateGrade(int score) {
-        if (score >= 90) return "A+";
-        if (score >= 85) return "A";
-        if (score >= 80) return "A-";
-        if (score >= 75) return "B+";
-        if (score >= 70) return "B";
-        if (score >= 65) return "B-";
-        if (score >= 60) return "C+";
-        if (score >= 55) return "C";
-        return "D";
-    }
-
-    private String detectCareerLevel(String content) {
-        int maxLevel = 0;
-
-        for (Map.Entry<String, Integer> entry : CAREER_LEVEL_KEYWORDS.entrySet()) {
-            if (content.contains(entry.getKey().toLowerCase())) {
-                maxLevel = Math.max(maxLevel, entry.getValue());
-            }
-        }
-
-        if (maxLevel >= 8) return "EXECUTIVE";
-        if (maxLevel >= 6) return "SENIOR";
-        if (maxLevel >= 4) return "MID_LEVEL";
-        if (maxLevel >= 2) return "JUNIOR";
-        return "ENTRY_LEVEL";
-    }
-
-    private Integer getIndustryBenchmark(String industry) {
-        return switch (industry.toUpperCase()) {
-            case "TECHNOLOGY" -> 78;
-            case "MARKETING" -> 75;
-            case "FINANCE" -> 80;
-            case "HEALTHCARE" -> 76;
-            case "EDUCATION" -> 74;
-            default -> 75;
-        };
-    }
 }
@@ -0,0 +1,19 @@
+package com.ESI.CareerBooster.cv.service;
+
+/**
+ * Thrown when the PDF extraction pool is saturated and cannot accept another upload.
+ * Controllers translate it into a 503 response with a Retry-After header.
+ */
+public class ExtractionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExtractionRejectedException(long retryAfterSeconds) {
+        super("CV processing is at capacity, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,18 +1,15 @@
 package com.ESI.CareerBooster.cv.service;
 
+import com.ESI.CareerBooster.config.CacheConfig;
 import com.ESI.CareerBooster.cv.dto.HomeScreenData;
+import com.ESI.CareerBooster.cv.dto.HomeSummary;
 import com.ESI.CareerBooster.cv.repository.CVRepository;
-import com.ESI.CareerBooster.auth.repository.UserRepository;
-import com.ESI.CareerBooster.cv.model.CV;
-import com.ESI.CareerBooster.cv.model.CVScore;
-import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.ArrayList;
 
 @Slf4j
@@ -21,70 +18,68 @@ import java.util.ArrayList;
 public class HomeService {
 
     private final CVRepository cvRepository;
-    private final UserRepository userRepository;
-    private final CVScoreRepository cvScoreRepository;
 
+    /**
+     * Builds the home screen for a user. Cached until the user's scores change.
+     */
+    @Cacheable(cacheNames = CacheConfig.HOME_DATA, key = "#userEmail")
     public HomeScreenData getHomeData(String userEmail) {
         log.debug("Fetching home data for user: {}", userEmail);
 
         HomeScreenData homeData = new HomeScreenData();
 
-        // Get user's CV analyses
-        List<CV> userCVs = cvRepository.findByUserEmailOrderByCreatedAtDesc(userEmail);
+        // Counts, latest CV and scores in one query, without loading any CV content
+        HomeSummary summary = cvRepository.findHomeSummaryByUserEmail(userEmail).orElse(HomeSummary.empty());
 
         // Set user progress
         HomeScreenData.UserProgress progress = new HomeScreenData.UserProgress();
-        progress.setCompletedAnalyses(userCVs.size());
+        progress.setCompletedAnalyses((int) summary.cvCount());
         progress.setCompletedCourses(0); // TODO: Implement course completion tracking
-        progress.setSkillScore(calculateSkillScore(userCVs));
+        progress.setSkillScore(calculateSkillScore(summary));
         progress.setLastAnalysisDate(
-            userCVs.isEmpty() ? LocalDateTime.now() : userCVs.get(0).getCreatedAt()
+            summary.hasCVs() ? summary.latestCreatedAt() : LocalDateTime.now()
         );
 
         // Add enhanced score data
-        if (!userCVs.isEmpty()) {
-            Double averageScore = cvScoreRepository.getAverageScoreByUserEmail(userEmail);
-            progress.setAverageScore(averageScore);
-
-            Optional<CVScore> latestScore = cvScoreRepository.getLatestScoreByUserEmail(userEmail);
-            if (latestScore.isPresent()) {
-                progress.setLatestScore(latestScore.get().getOverallScore());
-                progress.setIndustryType(latestScore.get().getIndustryType());
+        if (summary.hasCVs()) {
+            progress.setAverageScore(summary.averageScore());
+
+            if (summary.latestScore() != null) {
+                progress.setLatestScore(summary.latestScore());
+                progress.setIndustryType(summary.latestIndustryType());
             }
         }
 
         homeData.setUserProgress(progress);
 
         // Set recent analyses
-        if (!userCVs.isEmpty()) {
-            List<HomeScreenData.RecentAnalysis> recentAnalyses = userCVs.stream()
-                .limit(1) // Only get the most recent analysis
-                .map(this::convertToRecentAnalysis)
-                .collect(Collectors.toList());
-            homeData.setRecentAnalyses(recentAnalyses);
+        if (summary.hasCVs()) {
+            // Only the most recent analysis
+            homeData.setRecentAnalyses(List.of(convertToRecentAnalysis(summary)));
         }
 
         // Set CV status
         HomeScreenData.CVStatus cvStatus = new HomeScreenData.CVStatus();
-        cvStatus.setStatus(userCVs.isEmpty() ? "PENDING" : "COMPLETED");
-        cvStatus.setMessage(userCVs.isEmpty() ? "Upload your first CV" : "Analysis complete");
+        cvStatus.setStatus(summary.hasCVs() ? "COMPLETED" : "PENDING");
+        cvStatus.setMessage(summary.hasCVs() ? "Analysis complete" : "Upload your first CV");
         cvStatus.setLastUpdate(
-            userCVs.isEmpty() ? LocalDateTime.now() : userCVs.get(0).getCreatedAt()
+            summary.hasCVs() ? summary.latestCreatedAt() : LocalDateTime.now()
         );
         homeData.setCvStatus(cvStatus);
 
         return homeData;
     }
 
-    private HomeScreenData.RecentAnalysis convertToRecentAnalysis(CV cv) {
+    private HomeScreenData.RecentAnalysis convertToRecentAnalysis(HomeSummary summary) {
         HomeScreenData.RecentAnalysis analysis = new HomeScreenData.RecentAnalysis();
-        analysis.setId(cv.getId().toString());
-        analysis.setFileName(cv.getFileName());
-        analysis.setAnalysisDate(cv.getCreatedAt());
+        analysis.setId(summary.latestCvId().toString());
+        analysis.setFileName(summary.latestFileName());
+        analysis.setAnalysisDate(summary.latestCreatedAt());
         analysis.setSummary("Recent CV Analysis");
 
         // Parse recommendations into strengths and improvements
-        String[] recommendations = cv.getRecommendations().split("\n");
+        String recommendationsText = summary.latestRecommendations();
+        String[] recommendations = recommendationsText == null ? new String[0] : recommendationsText.split("\n");
         List<HomeScreenData.AnalysisPoint> strengths = new ArrayList<>();
         List<HomeScreenData.AnalysisPoint> improvements = new ArrayList<>();
 
@@ -131,19 +126,17 @@ public class HomeService {
         return analysis;
     }
 
-    private int calculateSkillScore(List<CV> cvs) {
-        if (cvs.isEmpty()) {
+    private int calculateSkillScore(HomeSummary summary) {
+        if (!summary.hasCVs()) {
             return 0;
         }
 
-        // Get the average score from all CV scores for this user
-        Double averageScore = cvScoreRepository.getAverageScoreByUserEmail(cvs.get(0).getUser().getEmail());
-
-        if (averageScore != null) {
-            return averageScore.intValue();
+        // Average score from all CV scores for this user
+        if (summary.averageScore() != null) {
+            return summary.averageScore().intValue();
         }
 
         // Fallback to simple calculation if no scores exist yet
-        return Math.min(cvs.size() * 10, 100);
+        return (int) Math.min(summary.cvCount() * 10, 100);
     }
-}
\ No newline at end of file
+}
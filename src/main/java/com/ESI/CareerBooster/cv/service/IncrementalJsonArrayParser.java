@@ -0,0 +1,141 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses a JSON object that arrives in pieces, as in a streamed model answer, and returns each
+ * element of the watched top-level arrays as soon as the element is complete. Text before the
+ * first '{' (prose, a Markdown fence) and anything after the closing '}' is ignored. Not
+ * thread-safe; use one instance per stream.
+ */
+@Slf4j
+public class IncrementalJsonArrayParser {
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> fields;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String currentField;
+    private String arrayField;
+    private TokenBuffer element;
+    private int elementDepth;
+
+    public IncrementalJsonArrayParser(ObjectMapper objectMapper, Set<String> fields) {
+        this.objectMapper = objectMapper;
+        this.fields = fields;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next piece of text and returns the array elements it completed, in order.
+     */
+    public List<Element> feed(String chunk) {
+        List<Element> completed = new ArrayList<>();
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return completed;
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return completed;
+            }
+            started = true;
+            chunk = chunk.substring(start);
+        }
+
+        try {
+            byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token, completed);
+            }
+        } catch (IOException e) {
+            // The full answer is still parsed once the stream ends, so stop emitting early results
+            log.debug("Stopped incremental parsing of streamed JSON: {}", e.getMessage());
+            finished = true;
+        }
+        return completed;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void handle(JsonToken token, List<Element> completed) throws IOException {
+        if (element != null) {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd()) {
+                elementDepth--;
+            }
+            if (elementDepth == 0) {
+                completeElement(completed);
+            }
+            return;
+        }
+
+        if (arrayField != null) {
+            if (token == JsonToken.END_ARRAY) {
+                arrayField = null;
+                depth--;
+                return;
+            }
+            element = new TokenBuffer(parser);
+            element.copyCurrentEvent(parser);
+            elementDepth = token.isStructStart() ? 1 : 0;
+            if (elementDepth == 0) {
+                completeElement(completed);
+            }
+            return;
+        }
+
+        if (token == JsonToken.START_ARRAY && depth == 1 && fields.contains(currentField)) {
+            arrayField = currentField;
+        }
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+            if (depth == 0) {
+                finished = true;
+            }
+        } else if (token == JsonToken.FIELD_NAME && depth == 1) {
+            currentField = parser.currentName();
+        }
+    }
+
+    private void completeElement(List<Element> completed) throws IOException {
+        JsonNode value = objectMapper.readTree(element.asParser());
+        completed.add(new Element(arrayField, value));
+        element = null;
+    }
+
+    /**
+     * One completed element of the top-level array {@code field}.
+     */
+    public record Element(String field, JsonNode value) {
+    }
+}
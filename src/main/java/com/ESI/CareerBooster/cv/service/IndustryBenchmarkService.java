@@ -0,0 +1,172 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.IndustryBenchmark;
+import com.ESI.CareerBooster.cv.dto.IndustryScoreCount;
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.scoring.IndustryBenchmarks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Industry benchmarks from the stored score history, answered from memory. Each industry (and
+ * all of them together) has a {@link ScoreHistogram} that is rebuilt from one grouped query on
+ * a schedule and updated in between as new history entries commit.
+ *
+ * <p>A refresh counts the history up to the highest id it sees, and from then on only entries
+ * above that id are added as they commit; increments that arrive while the query runs are held
+ * back and replayed onto the new histograms by the same rule. So no entry is ever counted twice.
+ * History ids are allocated in blocks per instance, though, so an entry with a lower id that
+ * commits after the refresh query is left out until the next refresh.</p>
+ *
+ * <p>An industry with fewer than {@code min-sample-size} scores is compared against all
+ * industries, and until there are that many scores at all the defaults are reported.</p>
+ */
+@Slf4j
+@Service
+public class IndustryBenchmarkService implements IndustryBenchmarks {
+
+    static final String ALL_INDUSTRIES = "ALL";
+    static final int DEFAULT_AVERAGE_SCORE = 75;
+    static final int DEFAULT_TOP_PERCENTILE_SCORE = 93;
+    // "Top percentile" is the score the best 10% of CVs reach
+    static final double TOP_PERCENTILE = 90;
+
+    private final ScoreHistoryRepository scoreHistoryRepository;
+    private final int minSampleSize;
+
+    // Guards updates of the histograms, the watermark and the held back increments; reads take no lock
+    private final Object updates = new Object();
+    private volatile Map<String, ScoreHistogram> histograms = new ConcurrentHashMap<>();
+    // Entries up to this history id are included in the histograms
+    private long maxCountedId;
+    // Increments that arrived while a refresh was running, null otherwise
+    private List<ScoreHistory> heldBack;
+
+    public IndustryBenchmarkService(
+            ScoreHistoryRepository scoreHistoryRepository,
+            @Value("${app.cv.benchmark.min-sample-size:30}") int minSampleSize) {
+        this.scoreHistoryRepository = scoreHistoryRepository;
+        this.minSampleSize = Math.max(1, minSampleSize);
+    }
+
+    /**
+     * Rebuilds the histograms from the score history up to its current highest id, then replays
+     * the increments above that id that arrived in the meantime.
+     */
+    @Scheduled(initialDelayString = "${app.cv.benchmark.initial-delay-ms:0}",
+               fixedDelayString = "${app.cv.benchmark.refresh-interval-ms:900000}")
+    public void refresh() {
+        long startedAt = System.nanoTime();
+        synchronized (updates) {
+            heldBack = new ArrayList<>();
+        }
+        Long maxId = scoreHistoryRepository.findMaxId();
+        long countedUpTo = maxId == null ? 0 : maxId;
+        Map<String, ScoreHistogram> rebuilt = new ConcurrentHashMap<>();
+        ScoreHistogram all = new ScoreHistogram();
+        try {
+            for (IndustryScoreCount row : scoreHistoryRepository.countScoresByIndustry(countedUpTo)) {
+                rebuilt.computeIfAbsent(key(row.industryType()), industry -> new ScoreHistogram())
+                    .add(row.overallScore(), row.occurrences());
+                all.add(row.overallScore(), row.occurrences());
+            }
+        } catch (RuntimeException e) {
+            synchronized (updates) {
+                heldBack = null;
+            }
+            throw e;
+        }
+        rebuilt.put(ALL_INDUSTRIES, all);
+
+        synchronized (updates) {
+            for (ScoreHistory entry : heldBack) {
+                if (isAbove(entry, countedUpTo)) {
+                    add(rebuilt, entry);
+                }
+            }
+            heldBack = null;
+            maxCountedId = countedUpTo;
+            histograms = rebuilt;
+        }
+        log.info("Refreshed industry benchmarks: {} scores in {} industries ({} ms)", all.count(),
+            rebuilt.size() - 1, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreHistoryRecorded(ScoreHistoryRecordedEvent event) {
+        synchronized (updates) {
+            Map<String, ScoreHistogram> current = histograms;
+            for (ScoreHistory entry : event.entries()) {
+                if (entry.getIndustryType() == null) {
+                    continue;
+                }
+                // Already included when the last refresh counted up to a higher id
+                if (isAbove(entry, maxCountedId)) {
+                    add(current, entry);
+                }
+                if (heldBack != null) {
+                    heldBack.add(entry);
+                }
+            }
+        }
+    }
+
+    private static boolean isAbove(ScoreHistory entry, long id) {
+        return entry.getId() == null || entry.getId() > id;
+    }
+
+    private static void add(Map<String, ScoreHistogram> histograms, ScoreHistory entry) {
+        histograms.computeIfAbsent(key(entry.getIndustryType()), industry -> new ScoreHistogram())
+            .add(entry.getOverallScore(), 1);
+        histograms.computeIfAbsent(ALL_INDUSTRIES, industry -> new ScoreHistogram())
+            .add(entry.getOverallScore(), 1);
+    }
+
+    public IndustryBenchmark getBenchmark(String industry) {
+        ScoreHistogram histogram = histogramFor(industry);
+        if (histogram == null) {
+            return new IndustryBenchmark(key(industry), DEFAULT_AVERAGE_SCORE, DEFAULT_TOP_PERCENTILE_SCORE, 0);
+        }
+        return new IndustryBenchmark(key(industry), (int) Math.round(histogram.average()),
+            histogram.percentileScore(TOP_PERCENTILE), histogram.count());
+    }
+
+    @Override
+    public int averageScore(String industry) {
+        ScoreHistogram histogram = histogramFor(industry);
+        return histogram == null ? DEFAULT_AVERAGE_SCORE : (int) Math.round(histogram.average());
+    }
+
+    /**
+     * Where {@code score} ranks among the industry's scores, from 0 to 100, or null while there
+     * are too few scores to rank against.
+     */
+    public Integer percentileRank(String industry, int score) {
+        ScoreHistogram histogram = histogramFor(industry);
+        return histogram == null ? null : histogram.percentileRank(score);
+    }
+
+    private ScoreHistogram histogramFor(String industry) {
+        Map<String, ScoreHistogram> current = histograms;
+        ScoreHistogram histogram = industry == null ? null : current.get(key(industry));
+        if (histogram != null && histogram.count() >= minSampleSize) {
+            return histogram;
+        }
+        ScoreHistogram all = current.get(ALL_INDUSTRIES);
+        return all != null && all.count() >= minSampleSize ? all : null;
+    }
+
+    private static String key(String industry) {
+        return industry.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,210 @@
+package com.ESI.CareerBooster.cv.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs PDF text extraction on a dedicated, bounded worker pool so large uploads cannot tie up
+ * an unbounded number of request threads. When both the workers and the queue are busy the
+ * upload is rejected with {@link ExtractionRejectedException} instead of waiting. An extraction
+ * that runs past {@code timeout-ms} is interrupted, on the blocking and asynchronous paths
+ * alike, so a slow PDF gives its worker back instead of parsing on after the caller gave up.
+ */
+@Slf4j
+@Service
+public class PdfExtractionExecutor {
+
+    private final PdfTextExtractor pdfTextExtractor;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService canceller;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer parseTimer;
+    private final Counter rejectedCounter;
+
+    public PdfExtractionExecutor(
+            PdfTextExtractor pdfTextExtractor,
+            MeterRegistry meterRegistry,
+            @Value("${app.cv.extraction.pool.max-concurrent:0}") int maxConcurrent,
+            @Value("${app.cv.extraction.pool.queue-capacity:16}") int queueCapacity,
+            @Value("${app.cv.extraction.pool.timeout-ms:30000}") long timeoutMillis,
+            @Value("${app.cv.extraction.pool.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.pdfTextExtractor = pdfTextExtractor;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int workers = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            namedThreads("pdf-extract-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.canceller = Executors.newSingleThreadScheduledExecutor(namedThreads("pdf-extract-timeout-"));
+
+        this.waitTimer = Timer.builder("cv.extraction.wait")
+            .description("Time an upload waits for a free extraction worker")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.parseTimer = Timer.builder("cv.extraction.parse")
+            .description("Time spent parsing a PDF")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("cv.extraction.rejected")
+            .description("Uploads rejected because the extraction pool was saturated")
+            .register(meterRegistry);
+        Gauge.builder("cv.extraction.queue.depth", executor, e -> e.getQueue().size())
+            .description("Uploads waiting for an extraction worker")
+            .register(meterRegistry);
+        Gauge.builder("cv.extraction.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("PDFs currently being parsed")
+            .register(meterRegistry);
+
+        log.info("PDF extraction pool started with {} workers and a queue of {}", workers, queueCapacity);
+    }
+
+    public String extract(MultipartFile file) throws IOException {
+        return run(() -> pdfTextExtractor.extractText(file), file.getOriginalFilename());
+    }
+
+    public String extract(byte[] data, String fileName) throws IOException {
+        return run(() -> pdfTextExtractor.extractInMemory(data, fileName), fileName);
+    }
+
+    /**
+     * Queues extraction of an in-memory upload without blocking the caller. Saturation is still
+     * reported synchronously so the caller can answer with 503 right away. On timeout, or when
+     * the caller cancels the returned future, the extraction is interrupted and its worker freed.
+     */
+    public CompletableFuture<String> extractAsync(byte[] data, String fileName) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        FutureTask<String> task = new FutureTask<>(timed(() -> pdfTextExtractor.extractInMemory(data, fileName))) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    result.complete(get());
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw rejected(fileName);
+        }
+
+        ScheduledFuture<?> timeout = canceller.schedule(() -> {
+            if (result.completeExceptionally(timedOut(fileName, null))) {
+                cancel(task);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((text, error) -> {
+            timeout.cancel(false);
+            if (result.isCancelled()) {
+                cancel(task);
+            }
+        });
+        return result;
+    }
+
+    private void cancel(FutureTask<String> task) {
+        task.cancel(true);
+        // Frees the queue slot right away if the extraction had not started yet
+        executor.remove(task);
+    }
+
+    private String run(Callable<String> extraction, String fileName) throws IOException {
+        Future<String> future;
+        try {
+            future = executor.submit(timed(extraction));
+        } catch (RejectedExecutionException e) {
+            throw rejected(fileName);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw timedOut(fileName, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF text extraction was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("PDF text extraction failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private Callable<String> timed(Callable<String> extraction) {
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            return parseTimer.recordCallable(extraction);
+        };
+    }
+
+    private IOException timedOut(String fileName, TimeoutException cause) {
+        log.warn("PDF extraction timed out after {} ms for file: {}", timeoutMillis, fileName);
+        return new IOException("PDF text extraction timed out after " + timeoutMillis + " ms", cause);
+    }
+
+    private ExtractionRejectedException rejected(String fileName) {
+        rejectedCounter.increment();
+        log.warn("Extraction pool saturated, rejecting upload: {}", fileName);
+        return new ExtractionRejectedException(retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        canceller.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.ESI.CareerBooster.cv.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.tika.Tika;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Extracts the text layer of an uploaded PDF.
+ *
+ * In {@link Mode#MEMORY} mode the upload is read once into a byte array, the file type is sniffed
+ * from its first bytes and PDFBox parses straight from that buffer. Uploads larger than the spill
+ * threshold are streamed once to a temporary file which PDFBox then memory-maps. {@link Mode#TEMP_FILE}
+ * keeps the original detect / copy / reopen behaviour for comparison.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PdfTextExtractor {
+
+    public enum Mode { MEMORY, TEMP_FILE }
+
+    /** Enough bytes for Tika's magic detection of PDF headers. */
+    static final int SNIFF_LENGTH = 1024;
+
+    private static final String PDF_MIME_TYPE = "application/pdf";
+
+    private final Tika tika;
+
+    @Value("${app.cv.extraction.mode:MEMORY}")
+    private Mode mode = Mode.MEMORY;
+
+    @Value("${app.cv.extraction.spill-threshold-bytes:8388608}")
+    private long spillThresholdBytes = 8L * 1024 * 1024;
+
+    public String extractText(MultipartFile file) throws IOException {
+        return extractText(file, mode);
+    }
+
+    public String extractText(MultipartFile file, Mode extractionMode) throws IOException {
+        if (extractionMode == Mode.TEMP_FILE) {
+            return extractViaTempFile(file);
+        }
+        if (file.getSize() > spillThresholdBytes) {
+            return extractViaSpillFile(file);
+        }
+        return extractInMemory(file.getBytes(), file.getOriginalFilename());
+    }
+
+    /**
+     * Parses a PDF that is already held in memory without touching the file system.
+     */
+    public String extractInMemory(byte[] data, String fileName) throws IOException {
+        checkPdf(Arrays.copyOf(data, Math.min(data.length, SNIFF_LENGTH)));
+        return parse(new RandomAccessReadBuffer(data), fileName);
+    }
+
+    private String extractViaSpillFile(MultipartFile file) throws IOException {
+        Path tmp = Files.createTempFile("cv_", ".pdf");
+        try {
+            try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] prefix = in.readNBytes(SNIFF_LENGTH);
+                checkPdf(prefix);
+                out.write(prefix);
+                in.transferTo(out);
+            }
+            log.debug("Upload of {} bytes spilled to {}", file.getSize(), tmp);
+            return parse(new RandomAccessReadMemoryMappedFile(tmp.toFile()), file.getOriginalFilename());
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private String extractViaTempFile(MultipartFile file) throws IOException {
+        String mimeType = tika.detect(file.getInputStream());
+        if (!mimeType.equals(PDF_MIME_TYPE)) {
+            throw new IOException("Invalid file type. Expected PDF but got: " + mimeType);
+        }
+
+        Path tmp = Files.createTempFile("cv_", ".pdf");
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("File copied to temporary location: {}", tmp);
+            try (PDDocument doc = Loader.loadPDF(tmp.toFile())) {
+                return stripText(doc, file.getOriginalFilename());
+            }
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    private void checkPdf(byte[] prefix) throws IOException {
+        String mimeType = tika.detect(prefix);
+        if (!mimeType.equals(PDF_MIME_TYPE)) {
+            throw new IOException("Invalid file type. Expected PDF but got: " + mimeType);
+        }
+    }
+
+    private String parse(RandomAccessRead source, String fileName) throws IOException {
+        PDDocument doc;
+        try {
+            doc = Loader.loadPDF(source);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+        // The document owns the source from here on and closes it together with itself
+        try (doc) {
+            return stripText(doc, fileName);
+        }
+    }
+
+    private String stripText(PDDocument doc, String fileName) throws IOException {
+        if (doc.isEncrypted()) {
+            log.warn("Password-protected PDF detected: {}", fileName);
+            throw new IOException("PDF is password-protected");
+        }
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        String text = stripper.getText(doc);
+
+        if (text == null || text.trim().isEmpty()) {
+            log.warn("No extractable text from PDF: {}", fileName);
+            throw new IOException("No extractable text found in PDF. It might be a scanned image or corrupted.");
+        }
+        return text;
+    }
+
+    private void deleteQuietly(Path tmp) {
+        try {
+            Files.deleteIfExists(tmp);
+            log.debug("Temporary file deleted: {}", tmp);
+        } catch (IOException e) {
+            log.error("Failed to delete temporary file {}: {}", tmp, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.config.ResilientCalls;
+import com.ESI.CareerBooster.cv.dto.CVAnalysisResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link AIService} on {@link WebClient}. Calls wait for the Gemini
+ * response on the Netty event loop instead of a request thread, run through a
+ * {@link ReactiveBulkhead}. Answers are served from and stored in the same
+ * {@link AIResponseCache} as the blocking client, which also makes identical prompts in flight
+ * at the same time share one call.
+ * The streaming methods relay the answer as it is generated ({@code streamGenerateContent}).
+ */
+@Slf4j
+@Service
+public class ReactiveAIService {
+
+    private static final String API_KEY_HEADER = "x-goog-api-key";
+
+    private final AIService aiService;
+    private final AIResponseCache aiResponseCache;
+    private final ResilientCalls resilientCalls;
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final ReactiveBulkhead bulkhead;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public ReactiveAIService(
+            AIService aiService,
+            AIResponseCache aiResponseCache,
+            ResilientCalls resilientCalls,
+            WebClient.Builder webClientBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${spring.ai.gemini.api-key}") String apiKey,
+            @Value("${app.ai.gemini.base-url:https://generativelanguage.googleapis.com}") String baseUrl,
+            @Value("${app.ai.reactive.max-concurrent:64}") int maxConcurrent,
+            @Value("${app.ai.reactive.max-queued:500}") int maxQueued,
+            @Value("${app.ai.reactive.timeout-ms:20000}") long timeoutMillis,
+            @Value("${app.ai.reactive.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.aiService = aiService;
+        this.aiResponseCache = aiResponseCache;
+        this.resilientCalls = resilientCalls;
+        this.apiKey = apiKey;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.bulkhead = new ReactiveBulkhead(maxConcurrent, maxQueued, retryAfterSeconds);
+
+        // The bulkhead already bounds concurrency, so callers never wait on the connection pool itself
+        this.connectionProvider = ConnectionProvider.builder("gemini")
+            .maxConnections(maxConcurrent)
+            .pendingAcquireMaxCount(-1)
+            .maxIdleTime(Duration.ofSeconds(30))
+            .build();
+        this.webClient = webClientBuilder
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .responseTimeout(timeout)))
+            .build();
+
+        Gauge.builder("ai.reactive.active", bulkhead, ReactiveBulkhead::getActiveCount)
+            .description("Reactive AI calls currently running")
+            .register(meterRegistry);
+        Gauge.builder("ai.reactive.queued", bulkhead, ReactiveBulkhead::getQueuedCount)
+            .description("Reactive AI calls waiting for a free slot")
+            .register(meterRegistry);
+    }
+
+    public Mono<CVAnalysisResponse> analyzeCV(String cvContent) {
+        return generate(aiService.constructPrompt(cvContent))
+            .map(aiService::parseCourseAnalysis);
+    }
+
+    public Mono<String> analyzeCVGeneral(String cvContent) {
+        return generate(aiService.constructGeneralAnalysisPrompt(cvContent));
+    }
+
+    /**
+     * Streams the course analysis as text chunks. The prompt asks for a single JSON object, so
+     * callers can pick completed elements out with {@link IncrementalJsonArrayParser}.
+     */
+    public Flux<String> streamCVAnalysis(String cvContent) {
+        return stream(aiService.constructStructuredPrompt(cvContent));
+    }
+
+    public Flux<String> streamCVAnalysisGeneral(String cvContent) {
+        return stream(aiService.constructGeneralAnalysisPrompt(cvContent));
+    }
+
+    private Flux<String> stream(String promptText) {
+        // No retry: chunks already relayed to the client cannot be taken back
+        return bulkhead.submitMany(() -> requestGeminiStream(promptText)
+                .transformDeferred(RateLimiterOperator.of(resilientCalls.rateLimiter(ResilientCalls.GEMINI)))
+                .transformDeferred(CircuitBreakerOperator.of(resilientCalls.circuitBreaker(ResilientCalls.GEMINI))))
+            .onErrorMap(CallNotPermittedException.class,
+                e -> new AIServiceUnavailableException("AI service is temporarily unavailable", e));
+    }
+
+    private Mono<String> generate(String promptText) {
+        // The cache runs the loader once per key, so concurrent identical prompts share one call
+        return aiResponseCache.getReactive(AIService.MODEL, promptText,
+                () -> bulkhead.submit(() -> requestGemini(promptText)
+                    // Same "gemini" breaker, retry and rate limiter as the blocking client
+                    .transformDeferred(RateLimiterOperator.of(resilientCalls.rateLimiter(ResilientCalls.GEMINI)))
+                    .transformDeferred(CircuitBreakerOperator.of(resilientCalls.circuitBreaker(ResilientCalls.GEMINI)))
+                    .transformDeferred(RetryOperator.of(resilientCalls.retry(ResilientCalls.GEMINI)))))
+            .onErrorMap(CallNotPermittedException.class,
+                e -> new AIServiceUnavailableException("AI service is temporarily unavailable", e));
+    }
+
+    private Mono<String> requestGemini(String promptText) {
+        return webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .path("/v1beta/models/" + AIService.MODEL + ":generateContent")
+                .build())
+            // In a header rather than the query string, which error messages quote in full
+            .header(API_KEY_HEADER, apiKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requestBody(promptText))
+            .retrieve()
+            .bodyToMono(Map.class)
+            .map(response -> aiService.extractTextFromResponse(response))
+            .timeout(timeout)
+            .doOnError(e -> log.error("Error calling Gemini API (reactive): {}", e.getMessage()));
+    }
+
+    private Flux<String> requestGeminiStream(String promptText) {
+        return webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .path("/v1beta/models/" + AIService.MODEL + ":streamGenerateContent")
+                .queryParam("alt", "sse")
+                .build())
+            .header(API_KEY_HEADER, apiKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .bodyValue(requestBody(promptText))
+            .retrieve()
+            .bodyToFlux(Map.class)
+            .map(chunk -> chunkText(chunk))
+            .filter(text -> !text.isEmpty())
+            // Applies between chunks, so a long answer that keeps streaming is not cut off
+            .timeout(timeout)
+            .doOnError(e -> log.error("Error streaming from Gemini API: {}", e.getMessage()));
+    }
+
+    private static Map<String, Object> requestBody(String promptText) {
+        return Map.of("contents", List.of(Map.of("parts", List.of(Map.of("text", promptText)))));
+    }
+
+    /**
+     * Text of one streamed chunk; the final chunk may carry only the finish reason and no text.
+     */
+    static String chunkText(Map<?, ?> chunk) {
+        if (!(chunk.get("candidates") instanceof List<?> candidates) || candidates.isEmpty()
+                || !(candidates.get(0) instanceof Map<?, ?> candidate)
+                || !(candidate.get("content") instanceof Map<?, ?> content)
+                || !(content.get("parts") instanceof List<?> parts)) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof Map<?, ?> partMap && partMap.get("text") instanceof String partText) {
+                text.append(partText);
+            }
+        }
+        return text.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkhead.dispose();
+        connectionProvider.dispose();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ESI.CareerBooster.cv.service;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking concurrency limiter for reactive calls. At most {@code maxConcurrent} calls run at
+ * once; further calls wait in a bounded queue without holding a thread, and calls beyond
+ * {@code maxQueued} fail immediately with {@link AIConcurrencyLimitException}.
+ */
+public class ReactiveBulkhead {
+
+    private final int maxQueued;
+    private final long retryAfterSeconds;
+    private final Sinks.Many<Mono<Void>> queue =
+        Sinks.many().unicast().onBackpressureBuffer(Queues.<Mono<Void>>unboundedMultiproducer().get());
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Disposable worker;
+
+    public ReactiveBulkhead(int maxConcurrent, int maxQueued, long retryAfterSeconds) {
+        this.maxQueued = maxQueued;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // flatMap only requests maxConcurrent tasks at a time; the rest stay buffered in the sink
+        this.worker = queue.asFlux()
+            .flatMap(task -> task, maxConcurrent)
+            .subscribe();
+    }
+
+    /**
+     * Runs {@code call} once a slot is free. Cancelling the returned Mono does not cancel a call
+     * that has already started.
+     */
+    public <T> Mono<T> submit(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                return Mono.error(new AIConcurrencyLimitException(retryAfterSeconds));
+            }
+
+            Sinks.One<T> result = Sinks.one();
+            Mono<Void> task = Mono.defer(() -> {
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    return call.get();
+                })
+                .doOnSuccess(value -> {
+                    if (value == null) {
+                        result.tryEmitEmpty();
+                    } else {
+                        result.tryEmitValue(value);
+                    }
+                })
+                .doOnError(result::tryEmitError)
+                .doFinally(signal -> active.decrementAndGet())
+                .onErrorResume(e -> Mono.empty())
+                .then();
+
+            if (!enqueue(task)) {
+                return Mono.error(new IllegalStateException("AI bulkhead is shut down"));
+            }
+            return result.asMono();
+        });
+    }
+
+    /**
+     * Runs the streaming {@code call} once a slot is free; the slot is held until the stream
+     * ends. Cancelling the returned Flux also cancels the running stream.
+     */
+    public <T> Flux<T> submitMany(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                return Flux.error(new AIConcurrencyLimitException(retryAfterSeconds));
+            }
+
+            Sinks.Many<T> result = Sinks.many().unicast().onBackpressureBuffer();
+            Sinks.One<Boolean> cancelled = Sinks.one();
+            Mono<Void> task = Flux.defer(() -> {
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    return call.get();
+                })
+                .takeUntilOther(cancelled.asMono())
+                .doOnNext(result::tryEmitNext)
+                .doOnComplete(result::tryEmitComplete)
+                .doOnError(result::tryEmitError)
+                .doFinally(signal -> active.decrementAndGet())
+                .onErrorResume(e -> Mono.empty())
+                .then();
+
+            if (!enqueue(task)) {
+                return Flux.error(new IllegalStateException("AI bulkhead is shut down"));
+            }
+            return result.asFlux()
+                .doOnCancel(() -> cancelled.tryEmitValue(Boolean.TRUE));
+        });
+    }
+
+    private boolean enqueue(Mono<Void> task) {
+        Sinks.EmitResult emitted;
+        synchronized (queue) {
+            emitted = queue.tryEmitNext(task);
+        }
+        if (emitted.isFailure()) {
+            queued.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public void dispose() {
+        worker.dispose();
+    }
+}
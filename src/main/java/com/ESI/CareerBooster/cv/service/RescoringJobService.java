@@ -0,0 +1,327 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.RescoreJobStatus;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.model.RescoreJob;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.ESI.CareerBooster.cv.repository.RescoreJobRepository;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes the score of every stored CV, for when the scoring weights change.
+ *
+ * <p>The job thread streams CVs in id order over a forward-only cursor and cuts them into
+ * chunks. Chunks are scored in parallel on the scoring pool but written back in order, each
+ * in its own transaction that also advances the job's checkpoint, so an interrupted run
+ * resumes right after the last chunk it committed.</p>
+ *
+ * <p>With several instances, the one running a job owns its row: it claims the row with a
+ * conditional update and refreshes a heartbeat while it works. A RUNNING job is only resumed
+ * by another instance once that heartbeat has gone stale, and an instance whose job was taken
+ * over stops at its next checkpoint without writing it.</p>
+ */
+@Slf4j
+@Service
+public class RescoringJobService {
+
+    static final String RUNNING = "RUNNING";
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+    // Reported for a RUNNING job whose heartbeat went stale, i.e. its instance went down
+    static final String INTERRUPTED = "INTERRUPTED";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final CVRepository cvRepository;
+    private final RescoreJobRepository rescoreJobRepository;
+    private final CVScoringEngine scoringEngine;
+    private final ScorePersistenceService scorePersistenceService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService scoringPool;
+    private final int scoringThreads;
+    private final int chunkSize;
+    private final Duration staleAfter;
+
+    private volatile Run current;
+
+    public RescoringJobService(
+            CVRepository cvRepository,
+            RescoreJobRepository rescoreJobRepository,
+            CVScoringEngine scoringEngine,
+            ScorePersistenceService scorePersistenceService,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.cv.rescore.job.threads:0}") int threads,
+            @Value("${app.cv.rescore.chunk-size:200}") int chunkSize,
+            @Value("${app.cv.rescore.job.stale-after-ms:60000}") long staleAfterMillis) {
+        this.cvRepository = cvRepository;
+        this.rescoreJobRepository = rescoreJobRepository;
+        this.scoringEngine = scoringEngine;
+        this.scorePersistenceService = scorePersistenceService;
+        this.entityManager = entityManager;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+        this.scoringThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Chunk writes commit on their own while the streaming read transaction stays open
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.jobExecutor = Executors.newSingleThreadExecutor(namedThreads("cv-rescore-job-"));
+        this.scoringPool = Executors.newFixedThreadPool(scoringThreads, namedThreads("cv-rescore-"));
+    }
+
+    /**
+     * Starts a rescoring run in the background. Unless {@code restart} is set, the latest
+     * interrupted or failed job is resumed from its checkpoint instead of starting over.
+     *
+     * @throws IllegalStateException when a run is already in progress, here or on another
+     *                               instance
+     */
+    public synchronized RescoreJobStatus start(boolean restart) {
+        if (current != null) {
+            throw new IllegalStateException("A rescoring job is already running");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (rescoreJobRepository.existsByStatusAndHeartbeatAtAfter(RUNNING, now.minus(staleAfter))) {
+            throw new IllegalStateException("A rescoring job is already running on another instance");
+        }
+
+        RescoreJob job = restart ? null
+            : rescoreJobRepository.findFirstByStatusInOrderByIdDesc(List.of(RUNNING, FAILED)).orElse(null);
+        if (job == null) {
+            job = new RescoreJob();
+            job.setStartedAt(now);
+            job.setTotal(cvRepository.count());
+        } else {
+            // Only one instance wins the row, even if several resume the same job at once
+            if (rescoreJobRepository.claim(job.getId(), instanceId, now, now.minus(staleAfter)) == 0) {
+                throw new IllegalStateException("Rescoring job " + job.getId() + " is running on another instance");
+            }
+            log.info("Resuming rescoring job {} after CV {} ({} already rescored)",
+                job.getId(), job.getLastCvId(), job.getProcessed());
+            job.setTotal(job.getProcessed() + cvRepository.countByIdGreaterThan(job.getLastCvId()));
+            job.setError(null);
+        }
+        job.setStatus(RUNNING);
+        job.setOwner(instanceId);
+        job.setHeartbeatAt(now);
+        job.setUpdatedAt(now);
+
+        Run run = new Run(rescoreJobRepository.save(job));
+        current = run;
+        jobExecutor.execute(() -> execute(run));
+        return toStatus(run.job, run);
+    }
+
+    /**
+     * Progress of the running job, or else of the most recent one.
+     */
+    public Optional<RescoreJobStatus> getStatus() {
+        Run run = current;
+        if (run != null) {
+            return Optional.of(toStatus(run.job, run));
+        }
+        return rescoreJobRepository.findFirstByOrderByIdDesc().map(job -> toStatus(job, null));
+    }
+
+    /**
+     * Keeps the running job's heartbeat fresh between checkpoints, so other instances do not
+     * take it over while a chunk is still being scored.
+     */
+    @Scheduled(fixedDelayString = "${app.cv.rescore.job.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        Run run = current;
+        if (run == null) {
+            return;
+        }
+        if (rescoreJobRepository.heartbeat(run.job.getId(), instanceId, LocalDateTime.now()) == 0 && current == run) {
+            log.warn("Rescoring job {} was taken over by another instance", run.job.getId());
+        }
+    }
+
+    private void execute(Run run) {
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<CV> cvs = cvRepository.streamByIdGreaterThan(run.job.getLastCvId())) {
+                    rescore(run, cvs.iterator());
+                }
+            });
+            finish(run, COMPLETED, null);
+            log.info("Rescoring job {} completed: {} CVs", run.job.getId(), run.job.getProcessed());
+        } catch (RuntimeException e) {
+            log.error("Rescoring job {} failed after CV {}", run.job.getId(), run.job.getLastCvId(), e);
+            finish(run, FAILED, e.getMessage());
+        } finally {
+            current = null;
+        }
+    }
+
+    private void rescore(Run run, Iterator<CV> cvs) {
+        // One chunk per scoring thread in flight, plus one being read
+        Deque<CompletableFuture<ScoredChunk>> inFlight = new ArrayDeque<>();
+        List<Candidate> chunk = new ArrayList<>(chunkSize);
+        while (cvs.hasNext()) {
+            CV cv = cvs.next();
+            chunk.add(new Candidate(cv.getId(), cv.getContent(), cv.getAnalysisType()));
+            if (chunk.size() == chunkSize) {
+                inFlight.add(submit(chunk));
+                chunk = new ArrayList<>(chunkSize);
+                // The candidates hold all the job needs, keep the read session from growing
+                entityManager.clear();
+                while (inFlight.size() > scoringThreads) {
+                    write(run, inFlight.removeFirst().join());
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            inFlight.add(submit(chunk));
+        }
+        while (!inFlight.isEmpty()) {
+            write(run, inFlight.removeFirst().join());
+        }
+    }
+
+    private CompletableFuture<ScoredChunk> submit(List<Candidate> chunk) {
+        return CompletableFuture.supplyAsync(() -> score(chunk), scoringPool);
+    }
+
+    private ScoredChunk score(List<Candidate> chunk) {
+        Map<Long, CVScore> scores = new LinkedHashMap<>();
+        for (Candidate candidate : chunk) {
+            if (candidate.content() != null) {
+                String model = BulkRescoringService.modelFor(candidate.analysisType());
+                scores.put(candidate.cvId(), scoringEngine.score(model, scoringEngine.extract(candidate.content())));
+            }
+        }
+        return new ScoredChunk(scores, chunk.get(chunk.size() - 1).cvId(), chunk.size());
+    }
+
+    private void write(Run run, ScoredChunk chunk) {
+        run.job = writeTransaction.execute(status -> {
+            scorePersistenceService.saveRescoredScores(chunk.scores());
+            RescoreJob job = rescoreJobRepository.findById(run.job.getId()).orElseThrow();
+            if (!ownedHere(job)) {
+                // Rolls the chunk back: the instance that took over rescores it from its checkpoint
+                throw new IllegalStateException("Rescoring job " + job.getId() + " was taken over by another instance");
+            }
+            job.setLastCvId(chunk.lastCvId());
+            job.setProcessed(job.getProcessed() + chunk.size());
+            job.setUpdatedAt(LocalDateTime.now());
+            job.setHeartbeatAt(job.getUpdatedAt());
+            return job;
+        });
+    }
+
+    private void finish(Run run, String status, String error) {
+        try {
+            run.job = writeTransaction.execute(tx -> {
+                RescoreJob job = rescoreJobRepository.findById(run.job.getId()).orElseThrow();
+                if (!ownedHere(job)) {
+                    return job;
+                }
+                job.setStatus(status);
+                job.setError(error);
+                job.setUpdatedAt(LocalDateTime.now());
+                job.setFinishedAt(COMPLETED.equals(status) ? LocalDateTime.now() : null);
+                return job;
+            });
+        } catch (RuntimeException e) {
+            // The job stays RUNNING in the table and is reported as interrupted
+            log.error("Could not record the end of rescoring job {}", run.job.getId(), e);
+        }
+    }
+
+    private boolean ownedHere(RescoreJob job) {
+        return RUNNING.equals(job.getStatus()) && instanceId.equals(job.getOwner());
+    }
+
+    private boolean isStale(RescoreJob job) {
+        return job.getHeartbeatAt() == null || job.getHeartbeatAt().isBefore(LocalDateTime.now().minus(staleAfter));
+    }
+
+    private RescoreJobStatus toStatus(RescoreJob job, Run run) {
+        RescoreJobStatus status = new RescoreJobStatus();
+        status.setJobId(job.getId());
+        status.setStatus(RUNNING.equals(job.getStatus()) && run == null && isStale(job) ? INTERRUPTED : job.getStatus());
+        status.setProcessed(job.getProcessed());
+        status.setTotal(job.getTotal());
+        status.setProgress(job.getTotal() == 0 ? 100 : (int) (job.getProcessed() * 100 / job.getTotal()));
+        status.setLastCvId(job.getLastCvId());
+        status.setStartedAt(job.getStartedAt());
+        status.setUpdatedAt(job.getUpdatedAt());
+        status.setFinishedAt(job.getFinishedAt());
+        status.setError(job.getError());
+        if (run != null) {
+            double seconds = (System.nanoTime() - run.startedAt) / 1e9;
+            status.setCvsPerSecond(seconds > 0 ? (job.getProcessed() - run.processedBefore) / seconds : 0);
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // An interrupted run keeps its last checkpoint and is resumed by the next start
+        jobExecutor.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Run {
+        private volatile RescoreJob job;
+        private final long processedBefore;
+        private final long startedAt = System.nanoTime();
+
+        private Run(RescoreJob job) {
+            this.job = job;
+            this.processedBefore = job.getProcessed();
+        }
+    }
+
+    private record Candidate(Long cvId, String content, String analysisType) {
+    }
+
+    private record ScoredChunk(Map<Long, CVScore> scores, Long lastCvId, int size) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.ESI.CareerBooster.cv.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Exact distribution of overall scores. Scores are whole numbers from 0 to 100, so one counter
+ * per score value is both smaller and more precise than a sketch, and every query is a pass
+ * over 101 counters. Safe to update and read concurrently; a read racing an update may see it
+ * partially applied.
+ */
+final class ScoreHistogram {
+
+    static final int MAX_SCORE = 100;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAX_SCORE + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    void add(int score, long occurrences) {
+        int bucket = clamp(score);
+        counts.addAndGet(bucket, occurrences);
+        sum.addAndGet(bucket * occurrences);
+        total.addAndGet(occurrences);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    double average() {
+        long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * The lowest score that at least {@code percentile} percent of the scores are at or below.
+     */
+    int percentileScore(double percentile) {
+        long count = total.get();
+        long target = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            seen += counts.get(score);
+            if (seen >= target && seen > 0) {
+                return score;
+            }
+        }
+        return MAX_SCORE;
+    }
+
+    /**
+     * Share of scores below {@code score}, counting ties as half, from 0 to 100.
+     */
+    int percentileRank(int score) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        int bucket = clamp(score);
+        long below = 0;
+        for (int value = 0; value < bucket; value++) {
+            below += counts.get(value);
+        }
+        double rank = (below + counts.get(bucket) / 2.0) * 100 / count;
+        return (int) Math.round(Math.min(rank, 100));
+    }
+
+    private static int clamp(int score) {
+        return Math.max(0, Math.min(MAX_SCORE, score));
+    }
+}
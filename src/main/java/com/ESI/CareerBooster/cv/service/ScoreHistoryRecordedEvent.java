@@ -0,0 +1,12 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+
+import java.util.List;
+
+/**
+ * Published when new score history entries are stored, i.e. for new analyses but not for
+ * recomputed scores.
+ */
+public record ScoreHistoryRecordedEvent(List<ScoreHistory> entries) {
+}
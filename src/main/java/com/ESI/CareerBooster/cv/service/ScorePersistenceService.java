@@ -0,0 +1,114 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a scored CV, its score, the score history entry and the user's score statistics in one
+ * transaction, so an analysis costs a single commit and is never stored half-way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScorePersistenceService {
+
+    private final CVRepository cvRepository;
+    private final CVScoreRepository cvScoreRepository;
+    private final ScoreHistoryRepository scoreHistoryRepository;
+    private final UserScoreStatsService userScoreStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Saves a new CV together with its score and history entry.
+     */
+    @Transactional
+    public CVScore saveAnalysis(CV cv, CVScore score, String userEmail) {
+        score.setCv(cvRepository.save(cv));
+        return saveScore(score, userEmail);
+    }
+
+    /**
+     * Saves the score of an already stored CV, plus a history entry when the owner is known.
+     */
+    @Transactional
+    public CVScore saveScore(CVScore score, String userEmail) {
+        CVScore savedScore = cvScoreRepository.save(score);
+        if (userEmail != null) {
+            ScoreHistory history = scoreHistoryRepository.save(ScoreHistory.fromCVScore(savedScore, userEmail));
+            userScoreStatsService.record(List.of(history));
+            eventPublisher.publishEvent(new ScoreHistoryRecordedEvent(List.of(history)));
+        }
+        String owner = userEmail != null ? userEmail : ownerEmail(savedScore);
+        if (owner != null) {
+            eventPublisher.publishEvent(UserScoresChangedEvent.forUser(owner));
+        }
+        log.debug("Stored score {} for CV: {}", savedScore.getOverallScore(), savedScore.getCv().getFileName());
+        return savedScore;
+    }
+
+    /**
+     * Stores recomputed scores keyed by CV id, for bulk rescoring and the rescoring job: CVs
+     * that already have a score get it overwritten in place, the others get a new one. No
+     * history entries are written: a rescore is not a new analysis, so it must not count
+     * towards the owners' score statistics or the industry benchmarks. Everything goes out in
+     * one batched flush.
+     */
+    @Transactional
+    public int saveRescoredScores(Map<Long, CVScore> scoresByCvId) {
+        Map<Long, CVScore> existing = cvScoreRepository.findWithCvByCvIdIn(scoresByCvId.keySet()).stream()
+            .collect(Collectors.toMap(score -> score.getCv().getId(), Function.identity()));
+
+        List<CVScore> scores = new ArrayList<>(scoresByCvId.size());
+        Set<String> owners = new HashSet<>();
+        boolean ownersKnown = true;
+        for (Map.Entry<Long, CVScore> entry : scoresByCvId.entrySet()) {
+            CVScore score = entry.getValue();
+            CVScore stored = existing.get(entry.getKey());
+            if (stored != null) {
+                // Merged onto the loaded instance, so the update needs no further select
+                score.setId(stored.getId());
+                score.setCv(stored.getCv());
+                score.setCreatedAt(stored.getCreatedAt());
+            } else {
+                score.setCv(cvRepository.getReferenceById(entry.getKey()));
+            }
+            // A CV only known by reference would cost a select to find its owner
+            if (Hibernate.isInitialized(score.getCv())) {
+                String owner = ownerEmail(score);
+                if (owner != null) {
+                    owners.add(owner);
+                }
+            } else {
+                ownersKnown = false;
+            }
+            scores.add(score);
+        }
+        cvScoreRepository.saveAll(scores);
+        cvScoreRepository.flush();
+        eventPublisher.publishEvent(ownersKnown ? new UserScoresChangedEvent(owners) : UserScoresChangedEvent.allUsers());
+        log.debug("Stored {} rescored scores", scores.size());
+        return scores.size();
+    }
+
+    private static String ownerEmail(CVScore score) {
+        return score.getCv() != null && score.getCv().getUser() != null ? score.getCv().getUser().getEmail() : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
+import com.ESI.CareerBooster.cv.repository.UserScoreStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user score statistics incrementally. Every batch of new history entries
+ * is folded into its users' rows in the transaction that inserts the entries, under a row lock,
+ * so concurrent analyses of one user never lose an update.
+ */
+@Slf4j
+@Service
+public class UserScoreStatsService {
+
+    private final UserScoreStatsRepository userScoreStatsRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate insertTransaction;
+
+    public UserScoreStatsService(
+            UserScoreStatsRepository userScoreStatsRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.userScoreStatsRepository = userScoreStatsRepository;
+        this.entityManager = entityManager;
+        // A user's first row commits on its own, so two first analyses racing to create it
+        // leave one row instead of failing one of the analyses
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds freshly inserted history entries to their users' statistics, in list order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<ScoreHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, List<ScoreHistory>> entriesByUser = entries.stream()
+            .collect(Collectors.groupingBy(ScoreHistory::getUserEmail, TreeMap::new, Collectors.toList()));
+
+        Map<String, UserScoreStats> stats = lock(entriesByUser);
+        if (stats.size() < entriesByUser.size()) {
+            entriesByUser.keySet().stream()
+                .filter(userEmail -> !stats.containsKey(userEmail))
+                .forEach(this::insertIfAbsent);
+            stats.putAll(lock(entriesByUser));
+        }
+
+        entriesByUser.forEach((userEmail, userEntries) -> userEntries.forEach(stats.get(userEmail)::add));
+        log.debug("Updated score statistics of {} users with {} entries", entriesByUser.size(), entries.size());
+    }
+
+    public Optional<UserScoreStats> findByUserEmail(String userEmail) {
+        return userScoreStatsRepository.findById(userEmail);
+    }
+
+    private Map<String, UserScoreStats> lock(Map<String, List<ScoreHistory>> entriesByUser) {
+        return userScoreStatsRepository.lockByUserEmailIn(new ArrayList<>(entriesByUser.keySet())).stream()
+            .collect(Collectors.toMap(UserScoreStats::getUserEmail, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private void insertIfAbsent(String userEmail) {
+        try {
+            insertTransaction.executeWithoutResult(status -> {
+                // persist rather than save: an assigned id would make save merge onto a row
+                // created concurrently and reset it
+                entityManager.persist(new UserScoreStats(userEmail));
+                entityManager.flush();
+            });
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            log.debug("Score statistics of {} were created concurrently", userEmail);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ESI.CareerBooster.cv.service;
+
+import java.util.Set;
+
+/**
+ * Published when stored scores change, so the per-user summaries derived from them can be
+ * dropped. A null {@code userEmails} means the change may affect any user.
+ */
+public record UserScoresChangedEvent(Set<String> userEmails) {
+
+    public static UserScoresChangedEvent forUser(String userEmail) {
+        return new UserScoresChangedEvent(Set.of(userEmail));
+    }
+
+    public static UserScoresChangedEvent allUsers() {
+        return new UserScoresChangedEvent(null);
+    }
+
+    public boolean affectsAllUsers() {
+        return userEmails == null;
+    }
+}
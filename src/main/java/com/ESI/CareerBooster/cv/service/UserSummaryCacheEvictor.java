@@ -0,0 +1,70 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Drops a user's cached dashboard summaries once a change to their scores has committed.
+ * Evicting after the commit means the next read reloads committed data rather than caching
+ * the state from before the write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSummaryCacheEvictor {
+
+    private static final List<String> USER_CACHES =
+        List.of(CacheConfig.HOME_DATA, CacheConfig.LATEST_SCORE, CacheConfig.AVERAGE_SCORE);
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoresChanged(UserScoresChangedEvent event) {
+        if (event.affectsAllUsers()) {
+            USER_CACHES.forEach(name -> clear(cacheManager.getCache(name)));
+            clear(cacheManager.getCache(CacheConfig.SCORE_HISTORY));
+            log.debug("Cleared all cached score summaries");
+            return;
+        }
+
+        Cache history = cacheManager.getCache(CacheConfig.SCORE_HISTORY);
+        for (String userEmail : event.userEmails()) {
+            for (String name : USER_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.evict(userEmail);
+                }
+            }
+            evictScoreHistory(history, userEmail);
+        }
+        log.debug("Evicted cached score summaries for {} users", event.userEmails().size());
+    }
+
+    /**
+     * Score history is cached under "email:limit", so every entry of the user is removed.
+     */
+    private void evictScoreHistory(Cache cache, String userEmail) {
+        if (cache == null) {
+            return;
+        }
+        String prefix = userEmail + ":";
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().keySet().removeIf(key -> key.toString().startsWith(prefix));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private static void clear(Cache cache) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.ESI.CareerBooster.cvGenerator.service.impl;
 
 import com.ESI.CareerBooster.auth.model.User;
-import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
 import com.ESI.CareerBooster.cvGenerator.model.CVGenerator;
 import com.ESI.CareerBooster.cvGenerator.repository.CVGeneratorRepository;
 import com.ESI.CareerBooster.cvGenerator.service.CVGeneratorService;
@@ -27,14 +27,14 @@ import java.util.Optional;
 public class CVGeneratorServiceImpl implements CVGeneratorService {
 
     private final CVGeneratorRepository cvGeneratorRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
 
     @Override
     public CVGenerator createCV(CVGenerator cv, String userEmail) {
         log.info("Creating new CV for user: {}", userEmail);
 
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         cv.setUser(user);
@@ -58,7 +58,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
         log.info("Fetching all CVs for user: {}", userEmail);
 
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         return cvGeneratorRepository.findByUserOrderByCreatedDateDesc(user);
@@ -70,7 +70,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
         log.info("Fetching CV with ID: {} for user: {}", id, userEmail);
 
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         return cvGeneratorRepository.findByIdAndUser(id, user);
@@ -81,7 +81,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
         log.info("Updating CV with ID: {} for user: {}", id, userEmail);
 
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         Optional<CVGenerator> existingCVOpt = cvGeneratorRepository.findByIdAndUser(id, user);
@@ -116,7 +116,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
         log.info("Deleting CV with ID: {} for user: {}", id, userEmail);
 
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         if (!cvGeneratorRepository.existsByIdAndUser(id, user)) {
@@ -134,7 +134,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
     @Transactional(readOnly = true)
     public long getCVCountByUserId(String userEmail) {
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         return cvGeneratorRepository.countByUser(user);
@@ -144,7 +144,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
     @Transactional(readOnly = true)
     public boolean existsCVForUser(Long id, String userEmail) {
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         return cvGeneratorRepository.existsByIdAndUser(id, user);
@@ -154,7 +154,7 @@ public class CVGeneratorServiceImpl implements CVGeneratorService {
     @Transactional(readOnly = true)
     public List<CVGenerator> getCVsByTemplate(String userEmail, String template) {
         // Find user by email
-        User user = userRepository.findByEmail(userEmail)
+        User user = userIdentityService.findUser(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
 
         return cvGeneratorRepository.findByUserAndTemplate(user, template);
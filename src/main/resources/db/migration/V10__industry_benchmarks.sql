@@ -0,0 +1,18 @@
+-- Industry benchmarks
+-- Benchmarks are now computed from score_history by the application. Replace the fixed
+-- averages V3 stored on existing scores with the measured ones, for industries with enough
+-- scores (app.cv.benchmark.min-sample-size)
+
+UPDATE cv_scores cs
+SET industry_benchmark = measured.average_score
+FROM (
+    SELECT industry_type, ROUND(AVG(overall_score)) AS average_score
+    FROM score_history
+    WHERE industry_type IS NOT NULL
+    GROUP BY industry_type
+    HAVING COUNT(*) >= 30
+) measured
+WHERE cs.industry_type = measured.industry_type;
+
+-- The benchmark refresh groups the history by industry and score
+CREATE INDEX IF NOT EXISTS idx_score_history_industry_score ON score_history(industry_type, overall_score);
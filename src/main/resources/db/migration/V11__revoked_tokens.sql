@@ -0,0 +1,12 @@
+-- Revoked JWTs
+-- Requests are authenticated from the token's claims without loading the user, so logging
+-- out records the token's jti here until the token would have expired anyway
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+COMMENT ON TABLE revoked_tokens IS 'Logged-out tokens, rejected until they expire';
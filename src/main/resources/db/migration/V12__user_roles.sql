@@ -0,0 +1,8 @@
+-- Roles stored on the user row
+-- The ADMIN role used to be derived from a configured list of emails, which anyone could claim
+-- by registering an address before its owner. Registration always creates USER accounts; ADMIN
+-- is granted out of band, e.g. UPDATE users SET role = 'ADMIN' WHERE email = '...'
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS role VARCHAR(20) NOT NULL DEFAULT 'USER';
+
+COMMENT ON COLUMN users.role IS 'USER or ADMIN; only granted by operators, never at registration';
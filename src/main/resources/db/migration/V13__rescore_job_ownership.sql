@@ -0,0 +1,9 @@
+-- Ownership of rescoring jobs across instances
+-- The instance running a job claims its row with a conditional UPDATE and refreshes the heartbeat
+-- while it works; a RUNNING job is only resumed elsewhere once its heartbeat has gone stale
+
+ALTER TABLE rescore_jobs ADD COLUMN IF NOT EXISTS owner VARCHAR(64);
+ALTER TABLE rescore_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+
+COMMENT ON COLUMN rescore_jobs.owner IS 'Instance that claimed the job';
+COMMENT ON COLUMN rescore_jobs.heartbeat_at IS 'Last sign of life from the owner while RUNNING';
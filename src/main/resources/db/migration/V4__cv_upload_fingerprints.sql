@@ -0,0 +1,15 @@
+-- CV upload deduplication
+-- Fingerprints let repeated uploads of the same CV reuse the stored analysis
+
+ALTER TABLE cvs ADD COLUMN IF NOT EXISTS file_hash VARCHAR(64);
+ALTER TABLE cvs ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE cvs ADD COLUMN IF NOT EXISTS analysis_type VARCHAR(32);
+ALTER TABLE cvs ADD COLUMN IF NOT EXISTS course_recommendations TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_cvs_file_hash ON cvs(file_hash);
+CREATE INDEX IF NOT EXISTS idx_cvs_content_hash ON cvs(content_hash);
+
+COMMENT ON COLUMN cvs.file_hash IS 'SHA-256 of the uploaded PDF bytes';
+COMMENT ON COLUMN cvs.content_hash IS 'SHA-256 of the extracted text, lowercased with whitespace collapsed';
+COMMENT ON COLUMN cvs.analysis_type IS 'AI analysis the stored recommendations came from (course_recommendations, general_analysis)';
+COMMENT ON COLUMN cvs.course_recommendations IS 'Structured course recommendations as a JSON array';
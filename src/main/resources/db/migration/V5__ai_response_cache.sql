@@ -0,0 +1,16 @@
+-- Persistent tier of the AI response cache
+-- Rows are keyed by model + SHA-256 of the prompt and only read while not expired
+
+CREATE TABLE IF NOT EXISTS ai_response_cache (
+    cache_key VARCHAR(128) PRIMARY KEY,
+    model VARCHAR(64) NOT NULL,
+    response TEXT NOT NULL,
+    latency_ms BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_response_cache_expires_at ON ai_response_cache(expires_at);
+
+COMMENT ON TABLE ai_response_cache IS 'Cached AI model responses shared across application instances';
+COMMENT ON COLUMN ai_response_cache.latency_ms IS 'Duration of the original AI call, reported as latency saved on hits';
@@ -0,0 +1,20 @@
+-- Pooled id allocation for cv_scores and score_history
+-- Hibernate reserves 50 ids per sequence call, so the sequences must step by 50
+-- (allocationSize on CVScore and ScoreHistory). Works for both serial and identity ids.
+
+DO $$
+DECLARE
+    tbl TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['cv_scores', 'score_history'] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = tbl AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', tbl);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence(tbl, 'id'));
+        END IF;
+    END LOOP;
+END $$;
+
+COMMENT ON COLUMN cv_scores.id IS 'Allocated in blocks of 50 by the application, gaps are expected';
+COMMENT ON COLUMN score_history.id IS 'Allocated in blocks of 50 by the application, gaps are expected';
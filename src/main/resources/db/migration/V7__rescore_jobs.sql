@@ -0,0 +1,17 @@
+-- Bulk rescoring jobs
+-- One row per admin-triggered run; last_cv_id is the checkpoint an interrupted run resumes from
+
+CREATE TABLE IF NOT EXISTS rescore_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    last_cv_id BIGINT NOT NULL DEFAULT 0,
+    processed BIGINT NOT NULL DEFAULT 0,
+    total BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    error TEXT
+);
+
+COMMENT ON TABLE rescore_jobs IS 'Runs of the bulk rescoring job over all stored CVs';
+COMMENT ON COLUMN rescore_jobs.last_cv_id IS 'Every CV up to this id is rescored and committed';
@@ -0,0 +1,4 @@
+-- Home screen summary
+-- The latest CV of a user is looked up by owner and creation date on every /api/home call
+
+CREATE INDEX IF NOT EXISTS idx_cvs_user_created_at ON cvs(user_id, created_at);
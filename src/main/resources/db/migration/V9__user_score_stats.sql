@@ -0,0 +1,48 @@
+-- Per-user score statistics
+-- Maintained by the application in the same transaction as every score_history insert, so the
+-- score history endpoint reads one row instead of aggregating the user's whole history
+
+CREATE TABLE IF NOT EXISTS user_score_stats (
+    user_email VARCHAR(255) PRIMARY KEY,
+    analysis_count BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    min_score INTEGER,
+    max_score INTEGER,
+    latest_score INTEGER,
+    previous_score INTEGER,
+    latest_grade VARCHAR(255),
+    latest_industry_type VARCHAR(255),
+    latest_career_level VARCHAR(255),
+    last_analysis_date TIMESTAMP,
+    trend VARCHAR(16) NOT NULL DEFAULT 'STABLE'
+);
+
+-- Backfill from the existing history
+WITH ranked AS (
+    SELECT sh.*,
+           ROW_NUMBER() OVER (PARTITION BY user_email ORDER BY analysis_date DESC, id DESC) AS position,
+           COUNT(*) OVER (PARTITION BY user_email) AS entries,
+           SUM(overall_score) OVER (PARTITION BY user_email) AS total,
+           MIN(overall_score) OVER (PARTITION BY user_email) AS lowest,
+           MAX(overall_score) OVER (PARTITION BY user_email) AS highest
+    FROM score_history sh
+)
+INSERT INTO user_score_stats (user_email, analysis_count, score_sum, min_score, max_score, latest_score,
+                              previous_score, latest_grade, latest_industry_type, latest_career_level,
+                              last_analysis_date, trend)
+SELECT latest.user_email, latest.entries, latest.total, latest.lowest, latest.highest, latest.overall_score,
+       previous.overall_score, latest.grade, latest.industry_type, latest.career_level, latest.analysis_date,
+       CASE
+           WHEN previous.overall_score IS NULL OR latest.overall_score = previous.overall_score THEN 'STABLE'
+           WHEN latest.overall_score > previous.overall_score THEN 'IMPROVING'
+           ELSE 'DECLINING'
+       END
+FROM ranked latest
+LEFT JOIN ranked previous ON previous.user_email = latest.user_email AND previous.position = 2
+WHERE latest.position = 1
+ON CONFLICT (user_email) DO NOTHING;
+
+-- The history chart reads a user's most recent entries
+CREATE INDEX IF NOT EXISTS idx_score_history_user_email_analysis_date ON score_history(user_email, analysis_date);
+
+COMMENT ON TABLE user_score_stats IS 'Running score aggregates per user, updated with each score_history insert';
@@ -4,17 +4,22 @@ import com.ESI.CareerBooster.auth.dto.AuthResponse;
 import com.ESI.CareerBooster.auth.dto.LoginRequest;
 import com.ESI.CareerBooster.auth.dto.RegisterRequest;
 import com.ESI.CareerBooster.auth.service.AuthService;
+import com.ESI.CareerBooster.auth.service.LoginThrottledException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 class AuthControllerTest {
@@ -45,10 +50,10 @@ class AuthControllerTest {
             LocalDateTime.now()
         );
 
-        when(authService.register(any(RegisterRequest.class))).thenReturn(expectedResponse);
+        when(authService.register(any(RegisterRequest.class), any())).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<AuthResponse> response = authController.register(request);
+        ResponseEntity<AuthResponse> response = authController.register(request, new MockHttpServletRequest());
 
         // Assert
         assertNotNull(response);
@@ -73,10 +78,10 @@ class AuthControllerTest {
             LocalDateTime.now()
         );
 
-        when(authService.login(any(LoginRequest.class))).thenReturn(expectedResponse);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<AuthResponse> response = authController.login(request);
+        ResponseEntity<AuthResponse> response = authController.login(request, new MockHttpServletRequest());
 
         // Assert
         assertNotNull(response);
@@ -86,4 +91,26 @@ class AuthControllerTest {
         assertEquals("John Doe", response.getBody().getName());
         assertEquals("john@example.com", response.getBody().getEmail());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void login_Throttled_Returns429WithRetryAfter() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("guess");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("203.0.113.7");
+        when(authService.login(any(LoginRequest.class), eq("203.0.113.7")))
+            .thenThrow(new LoginThrottledException(30));
+
+        // Act
+        LoginThrottledException thrown = assertThrows(LoginThrottledException.class,
+            () -> authController.login(request, httpRequest));
+        ResponseEntity<Map<String, String>> response = authController.throttled(thrown);
+
+        // Assert
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many attempts", response.getBody().get("error"));
+    }
+}
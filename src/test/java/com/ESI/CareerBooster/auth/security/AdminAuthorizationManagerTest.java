@@ -0,0 +1,73 @@
+package com.ESI.CareerBooster.auth.security;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.service.UserIdentity;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdminAuthorizationManagerTest {
+
+    @Mock
+    private UserIdentityService userIdentityService;
+
+    private AdminAuthorizationManager manager;
+    private RequestAuthorizationContext context;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        manager = new AdminAuthorizationManager(userIdentityService);
+        context = new RequestAuthorizationContext(new MockHttpServletRequest("POST", "/api/admin/rescore"));
+    }
+
+    @Test
+    void check_AdminTokenAndAdminRow_Grants() {
+        // Arrange
+        when(userIdentityService.findByEmail("admin@example.com")).thenReturn(Optional.of(identity(User.ROLE_ADMIN)));
+
+        // Act & Assert
+        assertTrue(manager.check(() -> authentication("USER", "ADMIN"), context).isGranted());
+    }
+
+    @Test
+    void check_AdminTokenButRoleRevokedOnRow_Denies() {
+        // Arrange
+        when(userIdentityService.findByEmail("admin@example.com")).thenReturn(Optional.of(identity(User.ROLE_USER)));
+
+        // Act & Assert
+        assertFalse(manager.check(() -> authentication("USER", "ADMIN"), context).isGranted());
+    }
+
+    @Test
+    void check_UserToken_DeniesWithoutLookup() {
+        // Act & Assert
+        assertFalse(manager.check(() -> authentication("USER"), context).isGranted());
+        verifyNoInteractions(userIdentityService);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String... roles) {
+        String[] authorities = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            authorities[i] = "ROLE_" + roles[i];
+        }
+        return new UsernamePasswordAuthenticationToken("admin@example.com", null,
+                AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    private static UserIdentity identity(String role) {
+        return new UserIdentity(1L, "admin@example.com", "Admin", "hash", role, LocalDateTime.now());
+    }
+}
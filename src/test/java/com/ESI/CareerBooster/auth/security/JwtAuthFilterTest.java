@@ -0,0 +1,149 @@
+package com.ESI.CareerBooster.auth.security;
+
+import com.ESI.CareerBooster.auth.service.TokenRevocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtUtil = new JwtUtil(SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_StatelessMode_AuthenticatesFromClaimsWithoutLoadingUser() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = filter(true);
+        String token = jwtUtil.generateToken(7L, "admin@example.com", List.of("USER", "ADMIN"));
+
+        // Act
+        Authentication first = authenticate(filter, token);
+        SecurityContextHolder.clearContext();
+        Authentication second = authenticate(filter, token);
+
+        // Assert
+        assertNotSame(first, second, "second request should be authenticated again");
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, first.getPrincipal());
+        assertEquals(7L, principal.getUserId());
+        assertEquals("admin@example.com", first.getName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), AuthorityUtils.authorityListToSet(first.getAuthorities()));
+        assertSame(principal, second.getPrincipal());
+        verifyNoInteractions(userDetailsService);
+        verify(tokenRevocationService, times(2)).isRevoked(anyString());
+    }
+
+    @Test
+    void doFilter_RevokedToken_Returns401() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = filter(true);
+        String token = jwtUtil.generateToken(7L, "user@example.com", List.of("USER"));
+        authenticate(filter, token);
+        SecurityContextHolder.clearContext();
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(true);
+        MockHttpServletRequest request = request(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Token revoked"));
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_DatabaseMode_LoadsUserOnEveryRequest() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = filter(false);
+        String token = jwtUtil.generateToken(7L, "user@example.com", List.of("USER"));
+        UserDetails user = User.withUsername("user@example.com").password("hash").roles("USER").build();
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+
+        // Act
+        Authentication first = authenticate(filter, token);
+        SecurityContextHolder.clearContext();
+        Authentication second = authenticate(filter, token);
+
+        // Assert
+        assertSame(user, first.getPrincipal());
+        assertSame(user, second.getPrincipal());
+        verify(userDetailsService, times(2)).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    void doFilter_InvalidSignature_Returns401() throws Exception {
+        // Arrange
+        JwtAuthFilter filter = filter(true);
+        String token = jwtUtil.generateToken(7L, "user@example.com", List.of("USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(tampered), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(tokenRevocationService, never()).isRevoked(any());
+    }
+
+    private JwtAuthFilter filter(boolean stateless) {
+        return new JwtAuthFilter(jwtUtil, userDetailsService, tokenRevocationService, new ObjectMapper(),
+            stateless, 100, 300);
+    }
+
+    private Authentication authenticate(JwtAuthFilter filter, String token) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(token), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest(), "request should reach the rest of the chain");
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/home");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
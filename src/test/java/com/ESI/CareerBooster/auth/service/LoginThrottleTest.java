@@ -0,0 +1,68 @@
+package com.ESI.CareerBooster.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 10 attempts per address and 3 per account, each regaining one attempt per minute
+        throttle = new LoginThrottle(meterRegistry, 10, 1, 3, 1, 1000);
+    }
+
+    @Test
+    void acquire_AccountOutOfAttempts_ThrottlesFromAnyAddress() {
+        // Arrange
+        long now = 0;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            throttle.acquire("198.51.100." + attempt, "victim@example.com", now);
+        }
+
+        // Act
+        LoginThrottledException thrown = assertThrows(LoginThrottledException.class,
+            () -> throttle.acquire("198.51.100.99", "Victim@Example.com", now));
+
+        // Assert
+        assertEquals(60, thrown.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.throttled").tag("scope", "account").counter().count());
+        assertDoesNotThrow(() -> throttle.acquire("198.51.100.99", "other@example.com", now));
+    }
+
+    @Test
+    void acquire_AddressOutOfAttempts_ThrottlesEveryAccount() {
+        // Arrange
+        long now = 0;
+        for (int attempt = 0; attempt < 10; attempt++) {
+            throttle.acquire("203.0.113.7", "user" + attempt + "@example.com", now);
+        }
+
+        // Act & Assert
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("203.0.113.7", "new@example.com", now));
+        assertEquals(1, meterRegistry.get("auth.throttled").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void acquire_AfterRefill_AllowsAgain() {
+        // Arrange
+        for (int attempt = 0; attempt < 3; attempt++) {
+            throttle.acquire("192.0.2.1", "user@example.com", 0);
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("192.0.2.1", "user@example.com", 0));
+
+        // Act & Assert: one attempt back after a minute, not two
+        long aMinuteLater = TimeUnit.MINUTES.toNanos(1);
+        assertDoesNotThrow(() -> throttle.acquire("192.0.2.1", "user@example.com", aMinuteLater));
+        assertThrows(LoginThrottledException.class,
+            () -> throttle.acquire("192.0.2.1", "user@example.com", aMinuteLater));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ESI.CareerBooster.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encode_FixedStrength_HashesOnPoolAndMatches() {
+        // Arrange
+        service = new PasswordHashingService(meterRegistry, 2, 8, 10_000, 2, 5, 200, 10, 14);
+
+        // Act
+        String hash = service.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(service.matches("password123", hash));
+        assertFalse(service.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("auth.password.wait").timer().count());
+    }
+
+    @Test
+    void needsRehash_LowerCostHash_OnlyUpgrades() {
+        // Arrange
+        service = new PasswordHashingService(meterRegistry, 1, 8, 10_000, 2, 5, 200, 10, 14);
+
+        // Act & Assert
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("password123")));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(6).encode("password123")));
+    }
+
+    @Test
+    void strengthFor_MeasuredTime_PicksHighestCostWithinTarget() {
+        long millis = TimeUnit.MILLISECONDS.toNanos(1);
+
+        // 60 ms at cost 10: 120 ms at 11, 240 ms at 12
+        assertEquals(11, PasswordHashingService.strengthFor(60 * millis, 200 * millis, 10, 14));
+        // Slow machines never go below the minimum
+        assertEquals(10, PasswordHashingService.strengthFor(500 * millis, 200 * millis, 10, 14));
+        // Fast machines stop at the maximum
+        assertEquals(14, PasswordHashingService.strengthFor(millis, 200 * millis, 10, 14));
+    }
+}
@@ -0,0 +1,141 @@
+package com.ESI.CareerBooster.auth.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.ESI.CareerBooster.auth.security.UserDetailsServiceImpl;
+import com.ESI.CareerBooster.cvGenerator.service.impl.CVGeneratorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the user lookups of one authenticated request against H2 and counts the users loaded.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({UserIdentityService.class, UserDetailsServiceImpl.class, CVGeneratorServiceImpl.class,
+    SimpleMeterRegistry.class})
+class UserIdentityServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private CVGeneratorServiceImpl cvGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void lookups_OneRequest_QueryUsersAtMostOnce() {
+        // Arrange
+        persistUser("request@example.com", "hash");
+        Statistics statistics = statistics();
+        double missesBefore = lookups("miss");
+
+        // Act: the filter and the service calls of one request, then a second request
+        startRequest();
+        userDetailsService.loadUserByUsername("request@example.com");
+        cvGeneratorService.getAllCVsByUserId("request@example.com");
+        cvGeneratorService.getCVCountByUserId("request@example.com");
+        cvGeneratorService.existsCVForUser(1L, "request@example.com");
+        long firstRequestLoads = userLoads(statistics);
+        startRequest();
+        userDetailsService.loadUserByUsername("request@example.com");
+        cvGeneratorService.getCVsByTemplate("request@example.com", "modern");
+
+        // Assert
+        assertEquals(1, firstRequestLoads);
+        assertEquals(1, userLoads(statistics));
+        assertEquals(1, lookups("miss") - missesBefore);
+        assertTrue(meterRegistry.get("user.identity.hit.ratio").gauge().value() > 0);
+    }
+
+    @Test
+    void onUserChanged_PasswordChanged_NextLookupSeesNewPassword() {
+        // Arrange
+        User user = persistUser("changed@example.com", "old-hash");
+        assertEquals("old-hash", userIdentityService.findByEmail("changed@example.com").orElseThrow().passwordHash());
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setPassword("new-hash");
+        userRepository.saveAndFlush(stored);
+
+        // Act: delivered after commit in the application
+        userIdentityService.onUserChanged(new UserChangedEvent(user.getId(), user.getEmail()));
+
+        // Assert
+        assertEquals("new-hash", userDetailsService.loadUserByUsername("changed@example.com").getPassword());
+    }
+
+    @Test
+    void findByEmail_UnknownUser_IsNotCached() {
+        // Arrange
+        assertTrue(userIdentityService.findByEmail("new@example.com").isEmpty());
+
+        // Act
+        persistUser("new@example.com", "hash");
+
+        // Assert
+        assertTrue(userIdentityService.findByEmail("new@example.com").isPresent());
+    }
+
+    private User persistUser(String email, String password) {
+        User user = new User();
+        user.setName("Test User");
+        user.setEmail(email);
+        user.setPassword(password);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        return user;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static long userLoads(Statistics statistics) {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("user.identity.lookups").tag("result", result).counter().count();
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ESI.CareerBooster.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccessLogFilterTest {
+
+    private final AccessLogFilter filter = new AccessLogFilter(true, 1.0, 1.0, 1000,
+        List.of("/api/cv-generator/**"), 100);
+
+    @Test
+    void doFilter_OptedInRoute_BuffersPayload() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cv-generator/create");
+        request.setContentType("application/json");
+        request.setContent("{\"summary\":\"Java developer\"}".getBytes());
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertInstanceOf(ContentCachingRequestWrapper.class, chain.getRequest());
+    }
+
+    @Test
+    void doFilter_OtherRoutesUploadsAndAuth_PassRequestThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/cv/upload");
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/cv-generator/import");
+        upload.setContentType("multipart/form-data; boundary=x");
+        MockHttpServletRequest login = new MockHttpServletRequest("POST", "/api/auth/login");
+        AccessLogFilter capturingAuth = new AccessLogFilter(true, 1.0, 1.0, 1000, List.of("/api/**"), 100);
+
+        // Act & Assert
+        for (MockHttpServletRequest request : List.of(other, upload)) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertSame(request, chain.getRequest());
+        }
+        MockFilterChain chain = new MockFilterChain();
+        capturingAuth.doFilter(login, new MockHttpServletResponse(), chain);
+        assertSame(login, chain.getRequest());
+    }
+
+    @Test
+    void doFilter_HandlerThrows_RecordedAsServerError() {
+        // Arrange: successful requests are never sampled, errors always are
+        AccessLogFilter errorsOnly = spy(new AccessLogFilter(true, 0.0, 1.0, 1000, List.of(), 100));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/home");
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> errorsOnly.doFilter(request, new MockHttpServletResponse(), failing));
+
+        // Assert
+        verify(errorsOnly).record(any(), eq(500), anyLong());
+    }
+
+    @Test
+    void doFilter_AsyncRequest_RecordedOnCompletionWithFinalStatus() throws Exception {
+        // Arrange
+        AccessLogFilter logging = spy(new AccessLogFilter(true, 1.0, 1.0, 1000, List.of(), 100));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cv/jobs/1/events");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain startsAsync = (req, res) -> req.startAsync();
+
+        // Act
+        logging.doFilter(request, response, startsAsync);
+        verify(logging, never()).record(any(), anyInt(), anyLong());
+        response.setStatus(503);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        // Assert
+        verify(logging).record(any(), eq(503), anyLong());
+    }
+}
@@ -0,0 +1,130 @@
+package com.ESI.CareerBooster.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives concurrent calls against a local stub server and compares the pooled client with the
+ * previous per-call {@code new RestTemplate()} setup by the connections the stub sees. The old
+ * setup also reuses connections through the JDK keep-alive cache, but that keeps only a few idle
+ * connections per host, so under concurrency most calls still open a new one; the pool keeps up
+ * to its per-route limit open.
+ */
+class HttpClientConfigLoadTest {
+
+    private static final int CALLERS = 32;
+    private static final int CALLS_PER_CALLER = 40;
+    private static final int MAX_PER_ROUTE = 32;
+
+    private HttpServer stub;
+    private ExecutorService stubWorkers;
+    private ExecutorService callers;
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubWorkers = Executors.newFixedThreadPool(64);
+        callers = Executors.newFixedThreadPool(CALLERS);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        stub.setExecutor(stubWorkers);
+        stub.createContext("/v1beta/models", exchange -> {
+            String connection = exchange.getRemoteAddress().toString();
+            connections.add(connection);
+            byte[] body = "{\"candidates\":[]}".getBytes(StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        url = "http://127.0.0.1:" + stub.getAddress().getPort() + "/v1beta/models/gemini-2.0-flash:generateContent";
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubWorkers.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void pooledClient_OpensFewerConnectionsAndPublishesPoolMetrics() throws Exception {
+        // Arrange
+        HttpClientConfig config = new HttpClientConfig();
+        PoolingHttpClientConnectionManager connectionManager =
+            config.outboundConnectionManager(200, MAX_PER_ROUTE, 2000, 5000, 5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        config.outboundConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+
+        try (CloseableHttpClient httpClient = config.httpClient(connectionManager, 2000, 5000, 30, 60)) {
+            RestTemplate pooled = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+            // Baseline: what CourseraService used to do, a fresh RestTemplate per call
+            RestTemplateSupplier perCall = () -> new RestTemplate(new SimpleClientHttpRequestFactory());
+
+            // Act
+            run(perCall);
+            int baselineConnections = connections.size();
+            connections.clear();
+            run(() -> pooled);
+            int pooledConnections = connections.size();
+
+            // Assert
+            int calls = CALLERS * CALLS_PER_CALLER;
+            assertTrue(pooledConnections <= MAX_PER_ROUTE,
+                "pooled client opened " + pooledConnections + " connections for " + calls + " calls");
+            assertTrue(baselineConnections > 2 * pooledConnections,
+                "per-call client opened " + baselineConnections + " connections, pooled " + pooledConnections);
+            assertEquals(MAX_PER_ROUTE, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .gauge().value());
+        }
+    }
+
+    private void run(RestTemplateSupplier clients) throws Exception {
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                for (int call = 0; call < CALLS_PER_CALLER; call++) {
+                    clients.get().postForObject(url, "{\"contents\":[]}", String.class);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RestTemplateSupplier {
+        RestTemplate get();
+    }
+}
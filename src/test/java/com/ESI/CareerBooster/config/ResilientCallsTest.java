@@ -0,0 +1,147 @@
+package com.ESI.CareerBooster.config;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCallsTest {
+
+    private ResilientCalls resilientCalls;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(6)
+            .minimumNumberOfCalls(6)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .retryExceptions(HttpServerErrorException.class)
+            .ignoreExceptions(CallNotPermittedException.class)
+            .build());
+        RateLimiterRegistry rateLimiters = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(1000)
+            .build());
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(200))
+            .build());
+        resilientCalls = new ResilientCalls(circuitBreakers, retries, rateLimiters, timeLimiters, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilientCalls.shutdown();
+    }
+
+    @Test
+    void call_TransientFailure_IsRetried() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = resilientCalls.call(ResilientCalls.GEMINI, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        });
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void call_RepeatedFailures_OpenBreakerAndStopCallingOut() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpServerErrorException.class, () -> resilientCalls.call(ResilientCalls.COURSERA, () -> {
+                attempts.incrementAndGet();
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }));
+        }
+        int attemptsBeforeOpen = attempts.get();
+
+        // Act & Assert
+        assertEquals(CircuitBreaker.State.OPEN, resilientCalls.circuitBreaker(ResilientCalls.COURSERA).getState());
+        assertThrows(CallNotPermittedException.class,
+            () -> resilientCalls.call(ResilientCalls.COURSERA, attempts::incrementAndGet));
+        assertEquals(attemptsBeforeOpen, attempts.get());
+    }
+
+    @Test
+    void call_SlowCall_IsCutOffByTimeLimiter() {
+        // Act & Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> resilientCalls.call(ResilientCalls.GEMINI, () -> {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return "late";
+            }));
+        assertTrue(e.getMessage().contains("timed out"));
+    }
+
+    @Test
+    void call_PoolAndQueueFull_IsRejectedWithoutWaiting() throws Exception {
+        // Arrange: one thread and one queue slot, both taken by calls held on a latch
+        ResilientCalls saturated = new ResilientCalls(CircuitBreakerRegistry.ofDefaults(),
+            RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()),
+            RateLimiterRegistry.of(RateLimiterConfig.custom().limitForPeriod(1000).build()),
+            TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(10)).build()),
+            1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2; i++) {
+            callers.submit(() -> saturated.call(ResilientCalls.GEMINI, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return "held";
+            }));
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (saturated.queuedCalls() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        try {
+            // Act & Assert
+            assertEquals(1, saturated.queuedCalls());
+            assertThrows(RejectedExecutionException.class, () -> saturated.call(ResilientCalls.GEMINI, () -> "third"));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            saturated.shutdown();
+        }
+    }
+}
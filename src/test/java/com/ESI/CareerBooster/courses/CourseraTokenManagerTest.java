@@ -0,0 +1,187 @@
+package com.ESI.CareerBooster.courses;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the token manager against a local stub of the Coursera token endpoint.
+ */
+class CourseraTokenManagerTest {
+
+    private static final int CALLERS = 1000;
+
+    private HttpServer stub;
+    private ExecutorService stubWorkers;
+    private ExecutorService callers;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile String expiresIn = "3600";
+    private volatile boolean failing;
+    private String tokenUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubWorkers = Executors.newFixedThreadPool(16);
+        callers = Executors.newFixedThreadPool(CALLERS);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        stub.setExecutor(stubWorkers);
+        stub.createContext("/oauth2/client_credentials/token", exchange -> {
+            int request = tokenRequests.incrementAndGet();
+            try {
+                // Slow enough that every caller arrives while the first request is in flight
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String lifetime = expiresIn == null ? "" : ",\"expires_in\":" + expiresIn;
+            byte[] body = ("{\"access_token\":\"token-" + request + "\"" + lifetime + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (failing) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        tokenUrl = "http://127.0.0.1:" + stub.getAddress().getPort() + "/oauth2/client_credentials/token";
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubWorkers.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    private CourseraTokenManager manager(long refreshAheadSeconds) {
+        return new CourseraTokenManager(new RestTemplate(), tokenUrl, "key", "secret", refreshAheadSeconds, 3600, 10_000);
+    }
+
+    @Test
+    void concurrentCallers_ShareASingleTokenRequest() throws Exception {
+        // Arrange
+        CourseraTokenManager manager = manager(300);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return manager.getAccessToken();
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<String> tokens = new ArrayList<>();
+        for (Future<String> result : results) {
+            tokens.add(result.get(30, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertEquals(1, tokenRequests.get());
+        assertTrue(tokens.stream().allMatch("token-1"::equals));
+        manager.shutdown();
+    }
+
+    @Test
+    void failedRefresh_KeepsTheStillValidToken() {
+        // Arrange
+        CourseraTokenManager manager = manager(300);
+        assertEquals("token-1", manager.getAccessToken());
+        failing = true;
+
+        // Act
+        String refreshed = manager.refresh().join().value();
+
+        // Assert
+        assertEquals("token-1", refreshed);
+        assertEquals("token-1", manager.getAccessToken());
+        assertEquals(2, tokenRequests.get());
+        manager.shutdown();
+    }
+
+    @Test
+    void failedRefresh_WithoutAValidToken_Throws() {
+        // Arrange
+        CourseraTokenManager manager = manager(300);
+        failing = true;
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, manager::getAccessToken);
+        assertTrue(exception.getMessage().startsWith("Failed to get Coursera access token"));
+        manager.shutdown();
+    }
+
+    @Test
+    void tokenIsRenewedInTheBackgroundBeforeItExpires() throws Exception {
+        // Arrange: usable for 2s after the 30s safety margin, so renewed after about 1s
+        expiresIn = "32";
+        CourseraTokenManager manager = manager(300);
+        assertEquals("token-1", manager.getAccessToken());
+
+        // Act
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (tokenRequests.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(300);
+
+        // Assert
+        assertEquals(2, tokenRequests.get());
+        assertEquals("token-2", manager.getAccessToken());
+        manager.shutdown();
+    }
+
+    @Test
+    void tokenWithoutExpiresIn_UsesTheDefaultLifetime() {
+        // Arrange
+        expiresIn = null;
+        CourseraTokenManager manager = manager(300);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("token-1", manager.getAccessToken());
+        }
+
+        // Assert
+        assertEquals(1, tokenRequests.get());
+        manager.shutdown();
+    }
+
+    @Test
+    void tokenWithMalformedExpiresIn_UsesTheDefaultLifetime() {
+        // Arrange
+        expiresIn = "\"soon\"";
+        CourseraTokenManager manager = manager(300);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("token-1", manager.getAccessToken());
+        }
+
+        // Assert
+        assertEquals(1, tokenRequests.get());
+        manager.shutdown();
+    }
+}
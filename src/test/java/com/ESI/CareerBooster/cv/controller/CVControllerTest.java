@@ -1,9 +1,14 @@
 package com.ESI.CareerBooster.cv.controller;
 
+import com.ESI.CareerBooster.cv.dto.CVJobStatus;
 import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
 import com.ESI.CareerBooster.cv.dto.EnhancedCVAnalysisResponse;
+import com.ESI.CareerBooster.cv.dto.IndustryBenchmark;
+import com.ESI.CareerBooster.cv.service.CVProcessingPipeline;
 import com.ESI.CareerBooster.cv.service.CVService;
 import com.ESI.CareerBooster.cv.service.EnhancedCVScoringService;
+import com.ESI.CareerBooster.cv.service.ExtractionRejectedException;
+import com.ESI.CareerBooster.cv.service.IndustryBenchmarkService;
 import com.ESI.CareerBooster.auth.security.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +29,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +46,12 @@ class CVControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private CVProcessingPipeline cvProcessingPipeline;
+
+    @Mock
+    private IndustryBenchmarkService industryBenchmarkService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -95,6 +107,61 @@ class CVControllerTest {
         verify(cvService).processCV(any(), anyString(), anyString());
     }
 
+    @Test
+    void uploadCV_ExtractionPoolSaturated_ReturnsServiceUnavailable() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test.pdf",
+            MediaType.APPLICATION_PDF_VALUE,
+            "test pdf content".getBytes()
+        );
+        when(cvService.processCV(any(), anyString(), anyString())).thenThrow(new ExtractionRejectedException(5));
+
+        // Act
+        ResponseEntity<?> response = cvController.uploadCV(file, mockRequest, "basic");
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("5", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void uploadCVAsync_ValidPdfFile_ReturnsAcceptedWithJobLocation() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test.pdf",
+            MediaType.APPLICATION_PDF_VALUE,
+            "test pdf content".getBytes()
+        );
+        CVJobStatus queued = new CVJobStatus("job-1", "EXTRACTING", 10, "test.pdf",
+            LocalDateTime.now(), LocalDateTime.now(), null, null);
+        when(cvProcessingPipeline.submit(any(), anyString(), anyString())).thenReturn(queued);
+
+        // Act
+        ResponseEntity<?> response = cvController.uploadCVAsync(file, "basic");
+
+        // Assert
+        assertEquals(202, response.getStatusCodeValue());
+        assertEquals("/api/cv/jobs/job-1", response.getHeaders().getLocation().toString());
+        assertSame(queued, response.getBody());
+        verify(cvService, never()).processCV(any(), anyString(), anyString());
+    }
+
+    @Test
+    void getJobStatus_UnknownJob_ReturnsNotFound() {
+        // Arrange
+        when(cvProcessingPipeline.getStatus("missing", "test@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<?> response = cvController.getJobStatus("missing");
+
+        // Assert
+        assertEquals(404, response.getStatusCodeValue());
+    }
+
     @Test
     void analyzeEnhanced_ValidPdfFile_ReturnsSuccess() throws Exception {
         // Arrange
@@ -153,6 +220,20 @@ class CVControllerTest {
         verify(enhancedCVScoringService).analyzeCV(any(), anyString(), anyString());
     }
 
+    @Test
+    void getIndustryBenchmark_KnownIndustry_ReturnsMeasuredBenchmark() {
+        // Arrange
+        IndustryBenchmark benchmark = new IndustryBenchmark("TECHNOLOGY", 71, 88, 420);
+        when(industryBenchmarkService.getBenchmark("technology")).thenReturn(benchmark);
+
+        // Act
+        ResponseEntity<?> response = cvController.getIndustryBenchmark("technology");
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(benchmark, response.getBody());
+    }
+
     @Test
     void uploadCV_InvalidFileType_ReturnsBadRequest() throws Exception {
         // Arrange
@@ -1,8 +1,11 @@
 package com.ESI.CareerBooster.cv.controller;
 
+import com.ESI.CareerBooster.cv.dto.LatestScore;
 import com.ESI.CareerBooster.cv.model.CV;
 import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
 import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.service.BulkRescoringService;
 import com.ESI.CareerBooster.auth.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +29,12 @@ class CVScoreControllerTest {
     @Mock
     private CVScoreRepository cvScoreRepository;
 
+    @Mock
+    private CVRepository cvRepository;
+
+    @Mock
+    private BulkRescoringService bulkRescoringService;
+
     @Mock
     private UserDetails userDetails;
 
@@ -79,7 +88,10 @@ class CVScoreControllerTest {
     @Test
     void getLatestCVScore_ValidUser_ReturnsScore() {
         // Arrange
-        when(cvScoreRepository.getLatestScoreByUserEmail(anyString())).thenReturn(Optional.of(sampleScore));
+        LatestScore latest = new LatestScore(sampleScore.getId(), sampleScore.getCv().getId(),
+            sampleScore.getOverallScore(), sampleScore.getGrade(), sampleScore.getIndustryType(), sampleScore.getCreatedAt());
+        when(cvScoreRepository.getLatestScoreByUserEmail(anyString())).thenReturn(Optional.of(latest));
+        when(cvScoreRepository.findById(sampleScore.getId())).thenReturn(Optional.of(sampleScore));
 
         // Act
         ResponseEntity<CVScore> response = cvScoreController.getLatestCVScore(userDetails);
@@ -89,6 +101,7 @@ class CVScoreControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals(sampleScore.getId(), response.getBody().getId());
+        assertSame(sampleScore.getCv(), response.getBody().getCv());
         verify(cvScoreRepository).getLatestScoreByUserEmail(userDetails.getUsername());
     }
 
@@ -219,4 +232,21 @@ class CVScoreControllerTest {
         assertTrue(response.getBody().isEmpty());
         verify(cvScoreRepository).findByUserEmailOrderByCreatedAtDesc(userDetails.getUsername());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void rescore_RequestedIds_OnlyRescoresOwnedCVs() {
+        // Arrange
+        BulkRescoringService.RescoreResult result = new BulkRescoringService.RescoreResult(2, 2, 10);
+        when(cvRepository.findIdsByUserEmail("test@example.com")).thenReturn(List.of(1L, 2L, 3L));
+        when(bulkRescoringService.rescore(List.of(1L, 3L))).thenReturn(result);
+
+        // Act
+        ResponseEntity<BulkRescoringService.RescoreResult> response =
+            cvScoreController.rescore(List.of(3L, 1L, 99L), userDetails);
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(result, response.getBody());
+        verify(bulkRescoringService).rescore(List.of(1L, 3L));
+    }
+}
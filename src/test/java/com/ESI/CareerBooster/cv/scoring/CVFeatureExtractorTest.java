@@ -0,0 +1,62 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CVFeatureExtractorTest {
+
+    private static final String SECTION = "Amina Benali\namina@mail.com\nSUMMARY\nSenior engineer with 8 years of experience.\n"
+        + "• Increased revenue by 12%\n• Led a team of 5 people\nSoftware Engineer (2019 - 2024)\n"
+        + "Publications: Java, Spring, Docker, AWS, Kubernetes — 2021 keynote award, $40k grant\n";
+
+    private final CVFeatureExtractor extractor = new CVFeatureExtractor(4, 0);
+
+    @AfterEach
+    void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Test
+    void extract_LongDocumentInParallel_MatchesSequentialExtraction() {
+        // Arrange
+        String content = SECTION.repeat(200);
+
+        // Act
+        CVFeatures parallel = extractor.extract(content);
+        CVFeatures sequential = CVFeatures.extract(content);
+
+        // Assert
+        assertEquals(sequential.length(), parallel.length());
+        assertEquals(sequential.mentionsYear(), parallel.mentionsYear());
+        assertEquals(sequential.mentionsPercentage(), parallel.mentionsPercentage());
+        assertEquals(sequential.mentionsDollarAmount(), parallel.mentionsDollarAmount());
+        assertEquals(sequential.yearsOfExperience(), parallel.yearsOfExperience());
+        assertEquals(sequential.datedLines(), parallel.datedLines());
+        assertEquals(sequential.lineCount(), parallel.lineCount());
+        assertEquals(sequential.hasCapitalizedPair(), parallel.hasCapitalizedPair());
+        assertEquals(sequential.hasYearRange(), parallel.hasYearRange());
+        assertEquals(sequential.hasNonAscii(), parallel.hasNonAscii());
+        assertEquals(sequential.achievements(), parallel.achievements());
+        for (String keyword : List.of("summary", "experience", "java", "aws", "senior", ScoringKeywords.BULLET)) {
+            assertEquals(sequential.keywords().occurrences(keyword), parallel.keywords().occurrences(keyword), keyword);
+        }
+    }
+
+    @Test
+    void extract_ShortDocument_StaysOnCallingThread() {
+        // Arrange
+        CVFeatureExtractor thresholded = new CVFeatureExtractor(4, Integer.MAX_VALUE);
+
+        // Act
+        CVFeatures features = thresholded.extract(SECTION);
+        thresholded.shutdown();
+
+        // Assert
+        assertEquals(8, features.yearsOfExperience());
+        assertTrue(features.keywords().contains("summary"));
+    }
+}
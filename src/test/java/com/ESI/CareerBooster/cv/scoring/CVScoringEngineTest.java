@@ -0,0 +1,91 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CVScoringEngineTest {
+
+    private static final String CV_TEXT = "Amina Benali\namina@mail.com\nSUMMARY\nSenior engineer with 8 years of experience.\n"
+        + "• Increased revenue by 12%\n• Led a team of 5 people\nSoftware Engineer (2019 - 2024)\n";
+
+    @Test
+    void scoreAll_EveryModelReadsTheSameFeatures() {
+        // Arrange
+        RecordingModel first = new RecordingModel("first", 40);
+        RecordingModel second = new RecordingModel("second", 70);
+        CVScoringEngine engine = new CVScoringEngine(List.of(first, second), CVFeatureExtractor.sequential());
+
+        // Act
+        Map<String, CVScore> scores = engine.scoreAll(CV_TEXT);
+
+        // Assert
+        assertEquals(List.of("first", "second"), List.copyOf(scores.keySet()));
+        assertEquals(40, scores.get("first").getOverallScore());
+        assertEquals(70, scores.get("second").getOverallScore());
+        assertEquals(1, first.seen.size());
+        assertSame(first.seen.get(0), second.seen.get(0));
+    }
+
+    @Test
+    void constructor_DuplicateModelName_Throws() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> new CVScoringEngine(
+                List.of(new RecordingModel("same", 1), new RecordingModel("same", 2)), CVFeatureExtractor.sequential()));
+    }
+
+    @Test
+    void score_UnknownModel_Throws() {
+        // Arrange
+        CVScoringEngine engine = new CVScoringEngine(List.of(new RecordingModel("first", 1)), CVFeatureExtractor.sequential());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> engine.score("missing", CVFeatures.extract(CV_TEXT)));
+    }
+
+    @Test
+    void extract_SampleCV_ReadsKeywordsDatesAndAchievements() {
+        // Act
+        CVFeatures features = CVFeatures.extract(CV_TEXT);
+
+        // Assert
+        assertEquals(CV_TEXT.length(), features.length());
+        assertTrue(features.keywords().contains("summary"));
+        assertTrue(features.keywords().contains(ScoringKeywords.BULLET));
+        assertEquals(8, features.yearsOfExperience());
+        assertEquals(1, features.datedLines());
+        assertEquals(7, features.lineCount());
+        assertEquals(1, features.achievements().improvements());
+        assertEquals(1, features.achievements().teamsLed());
+        // Multi-line text never satisfies the whole-text checks, as with String.matches
+        assertFalse(features.mentionsYear());
+    }
+
+    private static final class RecordingModel implements ScoringModel {
+        private final String name;
+        private final int overall;
+        private final List<CVFeatures> seen = new ArrayList<>();
+
+        RecordingModel(String name, int overall) {
+            this.name = name;
+            this.overall = overall;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void apply(CVFeatures features, CVScore score) {
+            seen.add(features);
+            score.setOverallScore(overall);
+        }
+    }
+}
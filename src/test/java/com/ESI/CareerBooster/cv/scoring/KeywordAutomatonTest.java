@@ -0,0 +1,78 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void scan_OverlappingKeywords_CountsEveryOccurrence() {
+        // Arrange
+        KeywordAutomaton automaton = KeywordAutomaton.of(List.of("he", "she", "his", "hers", "led", "lead"));
+
+        // Act
+        KeywordMatches matches = automaton.scan("ushers and his team led the leaders");
+
+        // Assert
+        assertEquals(1, matches.occurrences("she"));
+        assertEquals(1, matches.occurrences("hers"));
+        assertEquals(2, matches.occurrences("he"));
+        assertEquals(1, matches.occurrences("his"));
+        assertEquals(1, matches.occurrences("led"));
+        assertEquals(1, matches.occurrences("lead"));
+    }
+
+    @Test
+    void scan_RandomText_AgreesWithStringContains() {
+        // Arrange
+        List<String> keywords = allDictionaryKeywords();
+        KeywordAutomaton automaton = KeywordAutomaton.of(keywords);
+        Random random = new Random(42);
+        String alphabet = "aeiouljvsprcdnmt .@-\n•é";
+
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            while (text.length() < 2_000) {
+                if (random.nextInt(10) == 0) {
+                    text.append(keywords.get(random.nextInt(keywords.size())));
+                } else {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String content = text.toString();
+
+            // Act
+            KeywordMatches matches = automaton.scan(content);
+
+            // Assert
+            for (String keyword : keywords) {
+                assertEquals(content.contains(keyword), matches.contains(keyword), keyword + " in round " + round);
+            }
+        }
+    }
+
+    @Test
+    void contains_UnknownKeyword_Throws() {
+        // Arrange
+        KeywordMatches matches = KeywordAutomaton.of(List.of("java")).scan("java developer");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> matches.contains("python"));
+    }
+
+    private static List<String> allDictionaryKeywords() {
+        List<String> keywords = new ArrayList<>();
+        ScoringKeywords.INDUSTRY_KEYWORDS.values().forEach(keywords::addAll);
+        ScoringKeywords.WEIGHTED_INDUSTRY_KEYWORDS.values().forEach(weighted -> keywords.addAll(weighted.keySet()));
+        keywords.addAll(ScoringKeywords.CAREER_LEVEL_KEYWORDS.keySet());
+        keywords.addAll(ScoringKeywords.ACTION_VERBS);
+        ScoringKeywords.SECTION_MARKERS.values().forEach(keywords::addAll);
+        keywords.add(ScoringKeywords.DOMAIN_MARKER);
+        return keywords;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ESI.CareerBooster.cv.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Golden tests: the regexes TextPatterns replaced are the oracle, and every method has to agree
+ * with them on realistic CVs, random token soup and hand-picked edge cases.
+ */
+class TextPatternsTest {
+
+    private static final Pattern YEARS = Pattern.compile("(\\d+)\\s*(?:\\+)?\\s*years?\\s+(?:of\\s+)?experience", Pattern.CASE_INSENSITIVE);
+    private static final Pattern IMPROVEMENT = Pattern.compile("\\b(increased|improved|reduced|saved|generated)\\s+.*?\\b(\\d+)%", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AMOUNT = Pattern.compile("\\$\\s*(\\d+(?:,\\d{3})*(?:\\.\\d{2})?)[kmb]?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TEAM_LED = Pattern.compile("\\b(managed|led|supervised)\\s+.*?(\\d+)\\s+(people|team|employees)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RECOGNITION = Pattern.compile("\\b(award|recognition|certification|patent)", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] TOKENS = {
+        "increased", "Improved", "REDUCED", "saved", "generated", "managed", "Led", "supervised", "led",
+        "people", "Team", "employees", "award", "Recognition", "certification", "patent",
+        "years", "Year", "of", "experience", "Experience", "+",
+        "2019", "1998", "2024", "20", "199", "12345", "5", "40", "0", "%", "$", "$ ", ",000", ".50", "k", "M", "b",
+        "-", " - ", "–", "Amina", "Benali", "Java", "Spring", "CV", "x", "_", "é", "\u0301", "ü",
+        " ", "  ", "\t", "\n", "\r\n", "\r", "\u0085", "\u2028", "\u2029", "\u000B", "\f", "•", ".", ",", "(", ")"
+    };
+
+    @Test
+    void allChecks_CorpusCVs_MatchRegexes() {
+        for (String cv : corpus()) {
+            assertParity(cv);
+            assertParity(cv.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Test
+    void allChecks_RandomTokenText_MatchRegexes() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20_000; round++) {
+            StringBuilder text = new StringBuilder();
+            int tokens = random.nextInt(24);
+            for (int t = 0; t < tokens; t++) {
+                text.append(TOKENS[random.nextInt(TOKENS.length)]);
+                if (random.nextBoolean()) {
+                    text.append(' ');
+                }
+            }
+            assertParity(text.toString());
+        }
+    }
+
+    @Test
+    void allChecks_EdgeCases_MatchRegexes() {
+        List<String> cases = List.of(
+            "", "\n", "\n\n\n", "a\n", "\na", "a\n\nb\n\n", "2019", "2019-2020", "2019\n-\n2020", "2019 -\t2020x",
+            "Amina Benali", "Amina\nBenali", "Amina Benali\n", "AminaBenali Karim", "É Benali", "Amina Benalié",
+            "café", "é\u2028", "\u2028", "é\u2028é", "\n\u0085", "\r\n",
+            "2019\u0301", "a\u0301 2019", "_2019", "2019_", "12019", "20190", "x2020 2021",
+            "increased sales by 40%", "increased\nsales by 40%", "increased sales\nby 40%", "increased 40%",
+            "increased  x40% 40%", "increasedsales 40%", "improved 5% and reduced 7%", "saved 10%% reduced 3%x",
+            "$", "$ ", "$5", "$ 5", "$1,000,000.00k", "$1,00", "$1.5", "$$5", "$12,345.678M",
+            "led 5 people", "Led a team of 12 team members", "managed 5\n people", "managed\n5 people",
+            "managed 123456 peoplex", "supervised 1 2 employees", "led 5 6 people led 7 team",
+            "awards, patents and certifications", "xaward", "_award",
+            "5 years experience", "10+ years of experience", "5+years  of   Experience", "5 yearsexperience",
+            "5 year s experience", "3 years of 4 years of experience",
+            "- 10 years of experience -", "1 - 2 • 3"
+        );
+        for (String text : cases) {
+            assertParity(text);
+        }
+    }
+
+    @Test
+    void yearsOfExperience_NumberBeyondIntRange_IsCapped() {
+        // Act & Assert (the regex version threw NumberFormatException here)
+        assertEquals(Integer.MAX_VALUE, TextPatterns.yearsOfExperience("99999999999 years of experience"));
+        assertEquals(-1, TextPatterns.yearsOfExperience("no experience mentioned"));
+    }
+
+    @Test
+    void allChecks_PathologicalInput_FinishQuickly() {
+        // Arrange: inputs that make the lazy .*? spans and (\d+) backtrack quadratically
+        List<String> inputs = List.of(
+            "increased ".repeat(20_000) + "1".repeat(100_000),
+            "managed " + "1 ".repeat(100_000) + "x",
+            "led ".repeat(50_000) + "9".repeat(100_000) + " peoplx",
+            "1".repeat(200_000) + " years of experiencx",
+            "2019 ".repeat(50_000) + "-" + "\u0301".repeat(100_000),
+            "Amina ".repeat(100_000)
+        );
+
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (String input : inputs) {
+                TextPatterns.achievements(input);
+                TextPatterns.yearsOfExperience(input);
+                TextPatterns.countLinesWithYear(input);
+                TextPatterns.containsYearRange(input);
+                TextPatterns.containsCapitalizedPair(input);
+                TextPatterns.containsPercentage(input);
+            }
+        });
+    }
+
+    private static void assertParity(String text) {
+        String shown = "for input [" + text + "]";
+        assertEquals(text.matches(".*\\b(20\\d{2}|19\\d{2})\\b.*"), TextPatterns.containsYear(text), "year " + shown);
+        assertEquals(text.matches(".*\\b\\d+%\\b.*"), TextPatterns.containsPercentage(text), "percentage " + shown);
+        assertEquals(text.matches(".*\\$\\d+.*"), TextPatterns.containsDollarAmount(text), "dollar " + shown);
+        assertEquals(text.matches(".*[^\\x00-\\x7F].*"), TextPatterns.containsNonAscii(text), "non-ASCII " + shown);
+        assertEquals(text.matches(".*\\b[A-Z][a-z]+\\s+[A-Z][a-z]+\\b.*"), TextPatterns.containsCapitalizedPair(text), "names " + shown);
+        assertEquals(text.matches(".*\\b\\d{4}\\s*-\\s*\\d{4}\\b.*"), TextPatterns.containsYearRange(text), "range " + shown);
+        assertEquals(text.split("\\n").length, TextPatterns.splitLineCount(text), "lines " + shown);
+        assertEquals(Arrays.stream(text.split("\\n")).filter(line -> line.matches(".*\\b(20\\d{2})\\b.*")).count(),
+            TextPatterns.countLinesWithYear(text), "dated lines " + shown);
+
+        Matcher years = YEARS.matcher(text);
+        assertEquals(years.find() ? Integer.parseInt(years.group(1)) : -1, TextPatterns.yearsOfExperience(text), "years " + shown);
+
+        TextPatterns.Achievements achievements = TextPatterns.achievements(text);
+        assertEquals(count(IMPROVEMENT, text), achievements.improvements(), "improvements " + shown);
+        assertEquals(count(AMOUNT, text), achievements.amounts(), "amounts " + shown);
+        assertEquals(count(TEAM_LED, text), achievements.teamsLed(), "teams led " + shown);
+        assertEquals(count(RECOGNITION, text), achievements.recognitions(), "recognitions " + shown);
+    }
+
+    private static int count(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static List<String> corpus() {
+        // A few hand-written CVs in the shapes PDF extraction produces (the JMH corpus is not on the test classpath)
+        List<String> cvs = new ArrayList<>();
+        cvs.add("Amina Benali\nSenior Software Engineer\nEmail: amina.benali@gmail.com | Phone: +213 555 12 34 56\n\n"
+            + "PROFESSIONAL SUMMARY\nSenior Software Engineer with 8 years of experience in Java and Spring.\n\n"
+            + "WORK EXPERIENCE\nLead Backend Developer - Yassir (2021 - 2024)\n"
+            + "• Increased throughput of the payment service by 35%.\n• Managed a team of 6 engineers.\n"
+            + "• Saved $120,000 per year by moving batch jobs to Kubernetes.\n\n"
+            + "Software Engineer - Djezzy (2017 - 2021)\n• Reduced incidents by 40% with better alerting.\n\n"
+            + "EDUCATION\nMaster's degree in Computer Science - ESI (2015 - 2017)\n\n"
+            + "TECHNICAL SKILLS\nJava, Spring, Docker, AWS, PostgreSQL\n\nAWARDS\nBest graduation project award 2017\n");
+        cvs.add("Karim Haddad  Financial Analyst  karim@haddad.com  2019-2023 BNP Paribas  "
+            + "generated $2.5M in new business, improved forecast accuracy by 12%, supervised 4 employees, CFA certification");
+        cvs.add("Résumé — Lina Chérif\r\nInfirmière clinique\r\n2018 – 2022 CHU Mustapha\r\n10+ years experience\r\n");
+        return cvs;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.model.AIResponseCacheEntry;
+import com.ESI.CareerBooster.cv.repository.AIResponseCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AIResponseCacheTest {
+
+    @Mock
+    private AIResponseCacheRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void get_SamePromptTwice_CallsModelOnce() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String first = cache.get("gemini-2.0-flash", "prompt", () -> "answer " + calls.incrementAndGet());
+        String second = cache.get("gemini-2.0-flash", "prompt", () -> "answer " + calls.incrementAndGet());
+        String otherModel = cache.get("gemini-1.5-pro", "prompt", () -> "answer " + calls.incrementAndGet());
+
+        // Assert
+        assertEquals("answer 1", first);
+        assertEquals("answer 1", second);
+        assertEquals("answer 2", otherModel);
+        assertEquals(1.0, meterRegistry.get("ai.cache.requests").tag("result", "hit").tag("tier", "memory")
+            .counter().count());
+        assertEquals(2.0, meterRegistry.get("ai.cache.requests").tag("result", "miss").tag("tier", "none")
+            .counter().count());
+    }
+
+    @Test
+    void get_ConcurrentIdenticalPrompts_ShareOneInFlightCall() throws Exception {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, false);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.get("gemini-2.0-flash", "prompt", () -> {
+                calls.incrementAndGet();
+                awaitQuietly(release);
+                return "answer";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("answer", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void get_ModelCallFails_FailureIsNotCached() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, false);
+
+        // Act
+        assertThrows(RuntimeException.class, () -> cache.get("gemini-2.0-flash", "prompt", () -> {
+            throw new RuntimeException("quota exceeded");
+        }));
+        String retried = cache.get("gemini-2.0-flash", "prompt", () -> "answer");
+
+        // Assert
+        assertEquals("answer", retried);
+    }
+
+    @Test
+    void get_PersistentTierHit_SkipsModelAndReportsSavedLatency() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, true);
+        AIResponseCacheEntry stored = new AIResponseCacheEntry("key", "gemini-2.0-flash", "stored answer", 1200L,
+            LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+        when(repository.findByCacheKeyAndExpiresAtAfter(anyString(), any())).thenReturn(Optional.of(stored));
+
+        // Act
+        String answer = cache.get("gemini-2.0-flash", "prompt", () -> fail("model should not be called"));
+
+        // Assert
+        assertEquals("stored answer", answer);
+        assertEquals(1200.0, meterRegistry.get("ai.cache.latency.saved").counter().count());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void purgeExpired_PersistentTier_DeletesExpiredRows() {
+        // Arrange
+        AIResponseCache cache = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, true);
+        AIResponseCache memoryOnly = new AIResponseCache(repository, meterRegistry, true, 60, 1_000_000, false);
+
+        // Act
+        memoryOnly.purgeExpired();
+        cache.purgeExpired();
+
+        // Assert
+        verify(repository, times(1)).deleteExpired(any());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
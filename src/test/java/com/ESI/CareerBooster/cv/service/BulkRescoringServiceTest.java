@@ -0,0 +1,156 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
+import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.repository.UserScoreStatsRepository;
+import com.ESI.CareerBooster.cv.scoring.AnalyzerScoringModel;
+import com.ESI.CareerBooster.cv.scoring.CVFeatureExtractor;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs bulk rescoring against H2 and checks the rows go out in JDBC batches and that rescoring
+ * never counts as a new analysis.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.cv.rescore.chunk-size=100"
+})
+@Import({BulkRescoringService.class, ScorePersistenceService.class, UserScoreStatsService.class,
+    CVScoringEngine.class, CVFeatureExtractor.class, AnalyzerScoringModel.class, EnhancedScoringModel.class,
+    IndustryBenchmarkService.class})
+class BulkRescoringServiceTest {
+
+    private static final int CV_COUNT = 300;
+
+    private static final String CV_TEXT = "Amina Benali\namina@mail.com\nSUMMARY\nSenior Java developer with 8 years of experience.\n"
+        + "EXPERIENCE\n• Increased revenue by 12%\nSoftware Engineer (2019 - 2024)\nSKILLS\nJava, Spring, Docker\n";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BulkRescoringService bulkRescoringService;
+
+    @Autowired
+    private ScorePersistenceService scorePersistenceService;
+
+    @Autowired
+    private CVScoreRepository cvScoreRepository;
+
+    @Autowired
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    @Autowired
+    private UserScoreStatsRepository userScoreStatsRepository;
+
+    @Test
+    void rescore_ManyCVs_WritesScoresInBatchesWithoutHistory() {
+        // Arrange: every other CV already has a (stale) score
+        User user = new User();
+        user.setEmail("test@example.com");
+        entityManager.persist(user);
+        List<Long> cvIds = new ArrayList<>();
+        for (int i = 0; i < CV_COUNT; i++) {
+            CV cv = new CV();
+            cv.setUser(user);
+            cv.setFileName("cv-" + i + ".pdf");
+            cv.setContent(CV_TEXT);
+            cv.setAnalysisType(i % 3 == 0 ? EnhancedCVScoringService.ENHANCED_ANALYSIS : null);
+            entityManager.persist(cv);
+            cvIds.add(cv.getId());
+            if (i % 2 == 0) {
+                CVScore stale = new CVScore();
+                stale.setCv(cv);
+                stale.setOverallScore(0);
+                entityManager.persist(stale);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        BulkRescoringService.RescoreResult result = bulkRescoringService.rescore(cvIds);
+
+        // Assert
+        assertEquals(CV_COUNT, result.rescored());
+        EntityStatistics scoreWrites = statistics.getEntityStatistics(CVScore.class.getName());
+        EntityStatistics historyWrites = statistics.getEntityStatistics(ScoreHistory.class.getName());
+        assertEquals(CV_COUNT / 2, scoreWrites.getUpdateCount());
+        assertEquals(CV_COUNT / 2, scoreWrites.getInsertCount());
+        assertEquals(0, historyWrites.getInsertCount());
+        // Row by row this is 300 writes; batched it is 2 reads per chunk plus id blocks and write batches of 50
+        assertTrue(statistics.getPrepareStatementCount() < 60,
+            "prepared statements: " + statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        assertEquals(CV_COUNT, cvScoreRepository.count());
+        assertEquals(0, scoreHistoryRepository.count());
+        assertTrue(userScoreStatsRepository.findById("test@example.com").isEmpty());
+        assertTrue(cvScoreRepository.findAll().stream().allMatch(score -> score.getOverallScore() > 0));
+    }
+
+    @Test
+    void rescore_CalledTwice_LeavesHistoryAndStatisticsUnchanged() {
+        // Arrange: three analysed CVs, each with its history entry
+        User user = new User();
+        user.setEmail("repeat@example.com");
+        entityManager.persist(user);
+        List<Long> cvIds = new ArrayList<>();
+        for (int overallScore : new int[] {40, 55, 70}) {
+            CV cv = new CV();
+            cv.setUser(user);
+            cv.setFileName("cv-" + overallScore + ".pdf");
+            cv.setContent(CV_TEXT);
+            entityManager.persist(cv);
+            cvIds.add(cv.getId());
+            CVScore score = new CVScore();
+            score.setCv(cv);
+            score.setOverallScore(overallScore);
+            scorePersistenceService.saveScore(score, user.getEmail());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long historyBefore = scoreHistoryRepository.count();
+        UserScoreStats before = userScoreStatsRepository.findById("repeat@example.com").orElseThrow();
+        entityManager.clear();
+
+        // Act
+        bulkRescoringService.rescore(cvIds);
+        bulkRescoringService.rescore(cvIds);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, historyBefore);
+        assertEquals(historyBefore, scoreHistoryRepository.count());
+        UserScoreStats after = userScoreStatsRepository.findById("repeat@example.com").orElseThrow();
+        assertEquals(before.getAnalysisCount(), after.getAnalysisCount());
+        assertEquals(before.getScoreSum(), after.getScoreSum());
+        assertEquals(before.getLatestScore(), after.getLatestScore());
+        assertEquals(before.getTrend(), after.getTrend());
+    }
+}
@@ -0,0 +1,83 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.CVAnalysisResponse;
+import com.ESI.CareerBooster.cv.dto.CVUploadResponse;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class CVUploadCacheTest {
+
+    @Mock
+    private CVRepository cvRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CVUploadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CVUploadCache(cvRepository, new ObjectMapper(), meterRegistry, true);
+    }
+
+    @Test
+    void contentHash_IgnoresCaseAndWhitespaceLayout() {
+        assertEquals(
+            CVUploadCache.contentHash("John Doe\n\nSoftware  Engineer\tJava"),
+            CVUploadCache.contentHash("  john doe software engineer java \r\n"));
+        assertNotEquals(
+            CVUploadCache.contentHash("John Doe Java"),
+            CVUploadCache.contentHash("John Doe Python"));
+    }
+
+    @Test
+    void findByFileHash_PreviousUpload_ReturnsStoredAnalysis() {
+        // Arrange
+        CVAnalysisResponse.CourseRecommendation course = new CVAnalysisResponse.CourseRecommendation();
+        course.setTitle("Spring Boot");
+        CV stored = new CV();
+        stored.setRecommendations("Take Spring Boot");
+        stored.setCourseRecommendations(cache.writeCourseRecommendations(List.of(course)));
+        when(cvRepository.findFirstByUserEmailAndFileHashAndAnalysisTypeOrderByCreatedAtDesc(
+            "test@example.com", "abc", CVUploadCache.COURSE_RECOMMENDATIONS)).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<CVUploadResponse> cached = cache.findByFileHash("test@example.com", "abc", null, "cv.pdf");
+
+        // Assert
+        assertTrue(cached.isPresent());
+        assertEquals("cv.pdf", cached.get().getFileName());
+        assertEquals("Take Spring Boot", cached.get().getRecommendations());
+        assertEquals("Spring Boot", cached.get().getCourseRecommendations().get(0).getTitle());
+        assertEquals(1.0, meterRegistry.get("cv.dedup.lookups").tag("result", "hit_bytes").counter().count());
+    }
+
+    @Test
+    void hitRatio_CountsBothHitKindsAgainstMisses() {
+        // Arrange
+        when(cvRepository.findFirstByUserEmailAndFileHashAndAnalysisTypeOrderByCreatedAtDesc(
+            anyString(), anyString(), anyString())).thenReturn(Optional.of(new CV()));
+        when(cvRepository.findFirstByUserEmailAndContentHashAndAnalysisTypeOrderByCreatedAtDesc(
+            anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        cache.findByFileHash("test@example.com", "abc", "general_analysis", "cv.pdf");
+        cache.findByContentHash("test@example.com", "def", "general_analysis", "cv.pdf");
+
+        // Assert
+        assertEquals(0.5, meterRegistry.get("cv.dedup.hit.ratio").gauge().value());
+    }
+}
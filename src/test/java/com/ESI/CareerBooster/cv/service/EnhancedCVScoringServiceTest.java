@@ -0,0 +1,161 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.service.UserIdentityService;
+import com.ESI.CareerBooster.cv.dto.EnhancedCVAnalysisResponse;
+import com.ESI.CareerBooster.cv.dto.ScoreHistoryDTO;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.scoring.AnalyzerScoringModel;
+import com.ESI.CareerBooster.cv.scoring.CVFeatureExtractor;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnhancedCVScoringServiceTest {
+
+    private static final String CV_TEXT = "Amina Benali\namina@mail.com\nSUMMARY\nSenior Java developer with 8 years of experience.\n"
+        + "EXPERIENCE\n• Increased revenue by 12%\n• Led a team of 5 people\nSoftware Engineer (2019 - 2024)\n"
+        + "EDUCATION\nMaster's degree\nSKILLS\nJava, Spring, Docker, AWS, Python\n";
+
+    @Mock
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    @Mock
+    private UserScoreStatsService userScoreStatsService;
+
+    @Mock
+    private IndustryBenchmarkService industryBenchmarkService;
+
+    @Mock
+    private UserIdentityService userIdentityService;
+
+    @Mock
+    private ScorePersistenceService scorePersistenceService;
+
+    @Mock
+    private PdfExtractionExecutor pdfExtractionExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EnhancedCVScoringService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        CVScoringEngine scoringEngine = new CVScoringEngine(
+            List.of(new AnalyzerScoringModel(), new EnhancedScoringModel(industry -> 75)), CVFeatureExtractor.sequential());
+        service = new EnhancedCVScoringService(scoreHistoryRepository, userScoreStatsService,
+            industryBenchmarkService, userIdentityService, scoringEngine, scorePersistenceService, pdfExtractionExecutor,
+            meterRegistry, 3000);
+    }
+
+    @Test
+    void analyzeCV_UploadedPdf_ScoresAndStoresOnceInOneCall() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[]{1, 2, 3});
+        User user = new User();
+        user.setEmail("test@example.com");
+        ScoreHistory previous = new ScoreHistory();
+        previous.setOverallScore(10);
+        when(pdfExtractionExecutor.extract(file)).thenReturn(CV_TEXT);
+        when(userIdentityService.findUser("test@example.com")).thenReturn(Optional.of(user));
+        when(scoreHistoryRepository.getLatestScoreByUserEmail("test@example.com")).thenReturn(previous);
+        when(industryBenchmarkService.percentileRank(any(), anyInt())).thenReturn(64);
+        when(scorePersistenceService.saveAnalysis(any(), any(), eq("test@example.com"))).thenAnswer(invocation -> {
+            CVScore score = invocation.getArgument(1);
+            score.setCv(invocation.getArgument(0));
+            score.setCreatedAt(LocalDateTime.now());
+            return score;
+        });
+
+        // Act
+        EnhancedCVAnalysisResponse response = service.analyzeCV(file, "test@example.com", null);
+
+        // Assert
+        ArgumentCaptor<CV> cv = ArgumentCaptor.forClass(CV.class);
+        verify(scorePersistenceService).saveAnalysis(cv.capture(), any(), eq("test@example.com"));
+        verifyNoMoreInteractions(scorePersistenceService);
+        assertSame(user, cv.getValue().getUser());
+        assertEquals(CV_TEXT, cv.getValue().getContent());
+        assertEquals(EnhancedCVScoringService.ENHANCED_ANALYSIS, cv.getValue().getAnalysisType());
+        assertNotNull(cv.getValue().getContentHash());
+
+        assertTrue(response.getOverallScore() > 10);
+        assertEquals("IMPROVING", response.getTrend());
+        assertEquals(List.of("PROJECTS"), response.getMissingSections());
+        assertNotNull(response.getSectionScores().getExperience());
+        assertFalse(response.getRecommendations().isEmpty());
+        assertEquals(75, response.getIndustryBenchmark());
+        assertEquals(64, response.getScoreComparison().getPercentileRank());
+        assertEquals(1, meterRegistry.get("cv.enhanced.analysis").timer().count());
+    }
+
+    @Test
+    void getScoreHistory_UserWithStatistics_ReadsAggregatesFromStatisticsRow() {
+        // Arrange
+        UserScoreStats stats = new UserScoreStats("test@example.com");
+        ScoreHistory first = historyEntry(60);
+        ScoreHistory second = historyEntry(80);
+        stats.add(first);
+        stats.add(second);
+        when(userScoreStatsService.findByUserEmail("test@example.com")).thenReturn(Optional.of(stats));
+        when(scoreHistoryRepository.findScoreTrend("test@example.com", 5)).thenReturn(List.of(second, first));
+
+        // Act
+        ScoreHistoryDTO history = service.getScoreHistory("test@example.com", 5);
+
+        // Assert
+        assertEquals(80, history.getLatestScore());
+        assertEquals(70.0, history.getAverageScore());
+        assertEquals(2L, history.getTotalAnalyses());
+        assertEquals("IMPROVING", history.getTrend());
+        assertEquals("B+", history.getCurrentGrade());
+        assertEquals(2, history.getScoreHistory().size());
+        verify(scoreHistoryRepository, never()).getAverageScoreByUserEmail(anyString());
+        verify(scoreHistoryRepository, never()).countAnalysesByUserEmail(anyString());
+        verify(scoreHistoryRepository, never()).findRecentByUserEmail(anyString());
+    }
+
+    @Test
+    void analyzeCV_ExtractionPoolSaturated_PropagatesRejection() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[]{1});
+        when(pdfExtractionExecutor.extract(file)).thenThrow(new ExtractionRejectedException(5));
+
+        // Act & Assert
+        assertThrows(ExtractionRejectedException.class, () -> service.analyzeCV(file, "test@example.com", null));
+        verifyNoInteractions(scorePersistenceService);
+        assertEquals(1, meterRegistry.get("cv.enhanced.analysis").timer().count());
+    }
+
+    private static ScoreHistory historyEntry(int overallScore) {
+        ScoreHistory entry = new ScoreHistory();
+        entry.setUserEmail("test@example.com");
+        entry.setOverallScore(overallScore);
+        entry.setGrade("B+");
+        entry.setIndustryType("TECHNOLOGY");
+        entry.setAnalysisDate(LocalDateTime.now());
+        return entry;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.cv.dto.HomeScreenData;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(HomeService.class)
+class HomeServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HomeService homeService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getHomeData_UserWithScoredCVs_UsesOneStatementAndNoCVEntities() {
+        // Arrange
+        User user = new User();
+        user.setEmail("test@example.com");
+        entityManager.persist(user);
+        CV older = persistCV(user, "old.pdf", 60, "ENGINEERING");
+        CV latest = persistCV(user, "latest.pdf", 80, "TECHNOLOGY");
+        latest.setRecommendations("Strong skills: Java and Spring\nAdd metrics: Quantify results");
+        older.setCreatedAt(latest.getCreatedAt().minusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        HomeScreenData homeData = homeService.getHomeData("test@example.com");
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        HomeScreenData.UserProgress progress = homeData.getUserProgress();
+        assertEquals(2, progress.getCompletedAnalyses());
+        assertEquals(70.0, progress.getAverageScore());
+        assertEquals(70, progress.getSkillScore());
+        assertEquals(80, progress.getLatestScore());
+        assertEquals("TECHNOLOGY", progress.getIndustryType());
+
+        HomeScreenData.RecentAnalysis recent = homeData.getRecentAnalyses().get(0);
+        assertEquals(latest.getId().toString(), recent.getId());
+        assertEquals("latest.pdf", recent.getFileName());
+        assertEquals("Strong skills", recent.getStrengths().get(0).getTitle());
+        assertEquals("Add metrics", recent.getImprovements().get(0).getTitle());
+        assertEquals("COMPLETED", homeData.getCvStatus().getStatus());
+    }
+
+    @Test
+    void getHomeData_UserWithoutCVs_ReturnsPendingStatus() {
+        // Arrange
+        User user = new User();
+        user.setEmail("new@example.com");
+        entityManager.persist(user);
+        entityManager.flush();
+        statistics.clear();
+
+        // Act
+        HomeScreenData homeData = homeService.getHomeData("new@example.com");
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, homeData.getUserProgress().getCompletedAnalyses());
+        assertEquals(0, homeData.getUserProgress().getSkillScore());
+        assertNull(homeData.getRecentAnalyses());
+        assertEquals("PENDING", homeData.getCvStatus().getStatus());
+    }
+
+    private CV persistCV(User user, String fileName, int overallScore, String industryType) {
+        CV cv = new CV();
+        cv.setUser(user);
+        cv.setFileName(fileName);
+        cv.setContent("CV body that the home screen never needs");
+        entityManager.persist(cv);
+
+        CVScore score = new CVScore();
+        score.setCv(cv);
+        score.setOverallScore(overallScore);
+        score.setIndustryType(industryType);
+        entityManager.persist(score);
+        return cv;
+    }
+}
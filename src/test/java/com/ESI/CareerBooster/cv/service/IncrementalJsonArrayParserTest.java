@@ -0,0 +1,89 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalJsonArrayParserTest {
+
+    private static final String ANSWER = """
+        ```json
+        {
+          "skills": ["Java", "Spring \\"Boot\\""],
+          "summary": {"skills": ["not top-level"]},
+          "gaps": ["Kubernetes"],
+          "recommendations": [
+            {"title": "Kubernetes Basics", "matchScore": 90, "prerequisites": ["Docker"]},
+            {"title": "Cloud Native Java", "matchScore": 75, "prerequisites": []}
+          ]
+        }
+        ```
+        """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void feed_CharacterByCharacter_EmitsEachElementOnceComplete() {
+        // Arrange
+        IncrementalJsonArrayParser parser =
+            new IncrementalJsonArrayParser(objectMapper, Set.of("skills", "gaps", "recommendations"));
+        List<IncrementalJsonArrayParser.Element> elements = new ArrayList<>();
+        int firstSkillAt = -1;
+
+        // Act
+        for (int i = 0; i < ANSWER.length(); i++) {
+            elements.addAll(parser.feed(String.valueOf(ANSWER.charAt(i))));
+            if (firstSkillAt < 0 && !elements.isEmpty()) {
+                firstSkillAt = i;
+            }
+        }
+
+        // Assert
+        assertEquals(5, elements.size());
+        assertEquals("skills", elements.get(0).field());
+        assertEquals("Java", elements.get(0).value().asText());
+        assertEquals("Spring \"Boot\"", elements.get(1).value().asText());
+        assertEquals("gaps", elements.get(2).field());
+        assertEquals("Kubernetes", elements.get(2).value().asText());
+        assertEquals("recommendations", elements.get(3).field());
+        assertEquals("Kubernetes Basics", elements.get(3).value().path("title").asText());
+        assertEquals("Docker", elements.get(3).value().path("prerequisites").get(0).asText());
+        assertEquals(75, elements.get(4).value().path("matchScore").asInt());
+        assertTrue(firstSkillAt < ANSWER.indexOf("\"gaps\""), "first skill was only emitted at offset " + firstSkillAt);
+        assertTrue(parser.isFinished());
+    }
+
+    @Test
+    void feed_MultiByteCharactersSplitAcrossChunks_AreDecoded() {
+        // Arrange
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser(objectMapper, Set.of("skills"));
+
+        // Act
+        List<IncrementalJsonArrayParser.Element> elements = new ArrayList<>();
+        elements.addAll(parser.feed("Voici : {\"skills\": [\"Génie "));
+        elements.addAll(parser.feed("logiciel\", \"Gestion de projet\"]}"));
+
+        // Assert
+        assertEquals(2, elements.size());
+        assertEquals("Génie logiciel", elements.get(0).value().asText());
+    }
+
+    @Test
+    void feed_MalformedJson_StopsWithoutThrowing() {
+        // Arrange
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser(objectMapper, Set.of("skills"));
+
+        // Act
+        List<IncrementalJsonArrayParser.Element> elements = parser.feed("{\"skills\": [\"Java\", oops]}");
+
+        // Assert
+        assertEquals(1, elements.size());
+        assertTrue(parser.isFinished());
+        assertTrue(parser.feed("\"more\"").isEmpty());
+    }
+}
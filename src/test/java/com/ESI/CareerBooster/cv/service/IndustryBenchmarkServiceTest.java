@@ -0,0 +1,153 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.cv.dto.IndustryBenchmark;
+import com.ESI.CareerBooster.cv.dto.IndustryScoreCount;
+import com.ESI.CareerBooster.cv.model.ScoreHistory;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class IndustryBenchmarkServiceTest {
+
+    @Mock
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    private IndustryBenchmarkService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new IndustryBenchmarkService(scoreHistoryRepository, 10);
+    }
+
+    @Test
+    void refresh_StoredScores_AnswersFromHistogram() {
+        // Arrange: one TECHNOLOGY score for every value from 1 to 100
+        List<IndustryScoreCount> counts = new ArrayList<>();
+        for (int score = 1; score <= 100; score++) {
+            counts.add(new IndustryScoreCount("TECHNOLOGY", score, 1L));
+        }
+        when(scoreHistoryRepository.countScoresByIndustry(anyLong())).thenReturn(counts);
+
+        // Act
+        service.refresh();
+        IndustryBenchmark benchmark = service.getBenchmark("technology");
+
+        // Assert
+        assertEquals("TECHNOLOGY", benchmark.industry());
+        assertEquals(51, benchmark.averageScore());
+        assertEquals(90, benchmark.topPercentileScore());
+        assertEquals(100, benchmark.sampleSize());
+        assertEquals(50, service.percentileRank("TECHNOLOGY", 50));
+        assertEquals(100, service.percentileRank("TECHNOLOGY", 100));
+        verify(scoreHistoryRepository, times(1)).countScoresByIndustry(anyLong());
+    }
+
+    @Test
+    void getBenchmark_SmallIndustry_FallsBackToAllIndustries() {
+        // Arrange
+        when(scoreHistoryRepository.countScoresByIndustry(anyLong())).thenReturn(List.of(
+            new IndustryScoreCount("TECHNOLOGY", 80, 12L),
+            new IndustryScoreCount("FINANCE", 50, 3L)));
+
+        // Act
+        service.refresh();
+
+        // Assert: 15 scores overall, 12 at 80 and 3 at 50
+        assertEquals(74, service.averageScore("FINANCE"));
+        assertEquals(15, service.getBenchmark("FINANCE").sampleSize());
+        assertEquals(80, service.averageScore("TECHNOLOGY"));
+    }
+
+    @Test
+    void getBenchmark_TooFewScores_ReportsDefaults() {
+        // Arrange
+        when(scoreHistoryRepository.countScoresByIndustry(anyLong())).thenReturn(List.of(
+            new IndustryScoreCount("TECHNOLOGY", 80, 2L)));
+
+        // Act
+        service.refresh();
+        IndustryBenchmark benchmark = service.getBenchmark("TECHNOLOGY");
+
+        // Assert
+        assertEquals(IndustryBenchmarkService.DEFAULT_AVERAGE_SCORE, benchmark.averageScore());
+        assertEquals(IndustryBenchmarkService.DEFAULT_TOP_PERCENTILE_SCORE, benchmark.topPercentileScore());
+        assertEquals(0, benchmark.sampleSize());
+        assertNull(service.percentileRank("TECHNOLOGY", 80));
+    }
+
+    @Test
+    void onScoreHistoryRecorded_NewScores_UpdatesWithoutQuerying() {
+        // Arrange
+        when(scoreHistoryRepository.countScoresByIndustry(anyLong())).thenReturn(List.of(
+            new IndustryScoreCount("TECHNOLOGY", 60, 10L)));
+        service.refresh();
+        List<ScoreHistory> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ScoreHistory entry = new ScoreHistory();
+            entry.setIndustryType("TECHNOLOGY");
+            entry.setOverallScore(80);
+            entries.add(entry);
+        }
+
+        // Act
+        service.onScoreHistoryRecorded(new ScoreHistoryRecordedEvent(entries));
+
+        // Assert
+        assertEquals(70, service.averageScore("TECHNOLOGY"));
+        assertEquals(20, service.getBenchmark("TECHNOLOGY").sampleSize());
+        assertEquals(75, service.percentileRank("TECHNOLOGY", 80));
+        verify(scoreHistoryRepository, times(1)).countScoresByIndustry(anyLong());
+    }
+
+    @Test
+    void onScoreHistoryRecorded_EntryAlreadyCountedByRefresh_IsNotCountedTwice() {
+        // Arrange: the refresh counted history up to id 100
+        when(scoreHistoryRepository.findMaxId()).thenReturn(100L);
+        when(scoreHistoryRepository.countScoresByIndustry(100L)).thenReturn(List.of(
+            new IndustryScoreCount("TECHNOLOGY", 60, 10L)));
+        service.refresh();
+
+        // Act: a late event for entry 100, then one for a newer entry
+        service.onScoreHistoryRecorded(new ScoreHistoryRecordedEvent(List.of(entry(100L, 60))));
+        service.onScoreHistoryRecorded(new ScoreHistoryRecordedEvent(List.of(entry(101L, 82))));
+
+        // Assert
+        assertEquals(11, service.getBenchmark("TECHNOLOGY").sampleSize());
+        assertEquals(62, service.averageScore("TECHNOLOGY"));
+    }
+
+    @Test
+    void refresh_IncrementsArrivingDuringTheQuery_AreReplayedOnlyAboveItsMaxId() {
+        // Arrange: while the query runs, entry 99 (within the query) and entry 101 (after it) commit
+        when(scoreHistoryRepository.findMaxId()).thenReturn(100L);
+        when(scoreHistoryRepository.countScoresByIndustry(100L)).thenAnswer(invocation -> {
+            service.onScoreHistoryRecorded(new ScoreHistoryRecordedEvent(List.of(entry(99L, 60), entry(101L, 82))));
+            return List.of(new IndustryScoreCount("TECHNOLOGY", 60, 10L));
+        });
+
+        // Act
+        service.refresh();
+
+        // Assert
+        assertEquals(11, service.getBenchmark("TECHNOLOGY").sampleSize());
+        assertEquals(62, service.averageScore("TECHNOLOGY"));
+    }
+
+    private static ScoreHistory entry(Long id, int overallScore) {
+        ScoreHistory entry = new ScoreHistory();
+        entry.setId(id);
+        entry.setIndustryType("TECHNOLOGY");
+        entry.setOverallScore(overallScore);
+        return entry;
+    }
+}
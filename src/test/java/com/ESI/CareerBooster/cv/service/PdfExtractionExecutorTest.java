@@ -0,0 +1,135 @@
+package com.ESI.CareerBooster.cv.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class PdfExtractionExecutorTest {
+
+    @Mock
+    private PdfTextExtractor pdfTextExtractor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+    private PdfExtractionExecutor executor;
+
+    private final MockMultipartFile file = new MockMultipartFile(
+        "file", "cv.pdf", MediaType.APPLICATION_PDF_VALUE, "%PDF-1.4".getBytes());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newCachedThreadPool();
+        executor = new PdfExtractionExecutor(pdfTextExtractor, meterRegistry, 1, 1, 5000, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void extract_ReturnsExtractedTextAndRecordsMetrics() throws Exception {
+        when(pdfTextExtractor.extractText(any())).thenReturn("cv text");
+
+        assertEquals("cv text", executor.extract(file));
+        assertEquals(1, meterRegistry.get("cv.extraction.parse").timer().count());
+        assertEquals(1, meterRegistry.get("cv.extraction.wait").timer().count());
+    }
+
+    @Test
+    void extract_PoolAndQueueFull_RejectsWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(pdfTextExtractor.extractText(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "cv text";
+        });
+
+        Future<String> running = callers.submit(() -> executor.extract(file));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> executor.extract(file));
+        waitForQueueDepth(1);
+
+        ExtractionRejectedException e = assertThrows(ExtractionRejectedException.class, () -> executor.extract(file));
+        assertEquals(7, e.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("cv.extraction.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("cv text", running.get(5, TimeUnit.SECONDS));
+        assertEquals("cv text", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void extract_SlowParse_TimesOut() throws Exception {
+        executor.shutdown();
+        executor = new PdfExtractionExecutor(pdfTextExtractor, meterRegistry, 1, 1, 50, 7);
+        when(pdfTextExtractor.extractText(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return "cv text";
+        });
+
+        IOException e = assertThrows(IOException.class, () -> executor.extract(file));
+        assertTrue(e.getMessage().contains("timed out"));
+    }
+
+    @Test
+    void extractAsync_SlowParse_TimesOutAndFreesTheWorker() throws Exception {
+        executor.shutdown();
+        executor = new PdfExtractionExecutor(pdfTextExtractor, meterRegistry, 1, 1, 100, 7);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(pdfTextExtractor.extractInMemory(any(), anyString()))
+            .thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return "slow";
+            })
+            .thenReturn("cv text");
+
+        CompletableFuture<String> slow = executor.extractAsync(new byte[0], "slow.pdf");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("timed out"));
+
+        // The single worker was interrupted, so the next upload runs instead of waiting behind it
+        assertEquals("cv text", executor.extractAsync(new byte[0], "next.pdf").get(2, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("cv.extraction.queue.depth").gauge().value() >= expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("extraction queue never reached depth " + expected);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ESI.CareerBooster.cv.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.tika.Tika;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTextExtractorTest {
+
+    private static final int ITERATIONS = 30;
+
+    private PdfTextExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        extractor = new PdfTextExtractor(new Tika());
+    }
+
+    @Test
+    void extractText_MemoryMode_MatchesTempFileMode() throws Exception {
+        MockMultipartFile file = pdfUpload(3);
+
+        String expected = extractor.extractText(file, PdfTextExtractor.Mode.TEMP_FILE);
+        String actual = extractor.extractText(file, PdfTextExtractor.Mode.MEMORY);
+
+        assertEquals(expected, actual);
+        assertTrue(actual.contains("Senior Java developer"));
+    }
+
+    @Test
+    void extractText_AboveSpillThreshold_UsesSpillFileWithSameResult() throws Exception {
+        MockMultipartFile file = pdfUpload(3);
+        String expected = extractor.extractText(file, PdfTextExtractor.Mode.TEMP_FILE);
+
+        ReflectionTestUtils.setField(extractor, "spillThresholdBytes", 16L);
+
+        assertEquals(expected, extractor.extractText(file, PdfTextExtractor.Mode.MEMORY));
+    }
+
+    @Test
+    void extractText_NotAPdf_ThrowsIOException() {
+        MockMultipartFile file = new MockMultipartFile(
+            "file", "test.pdf", MediaType.APPLICATION_PDF_VALUE, "plain text, not a pdf".getBytes());
+
+        IOException e = assertThrows(IOException.class, () -> extractor.extractText(file));
+        assertTrue(e.getMessage().startsWith("Invalid file type"));
+    }
+
+    @Test
+    void extractText_MemoryMode_ThroughputAndAllocationComparedToTempFile() throws Exception {
+        MockMultipartFile file = pdfUpload(10);
+
+        // Warm up both paths so class loading and font setup are not measured
+        for (int i = 0; i < 5; i++) {
+            extractor.extractText(file, PdfTextExtractor.Mode.TEMP_FILE);
+            extractor.extractText(file, PdfTextExtractor.Mode.MEMORY);
+        }
+
+        Measurement tempFile = measure(file, PdfTextExtractor.Mode.TEMP_FILE);
+        Measurement memory = measure(file, PdfTextExtractor.Mode.MEMORY);
+
+        // Loose bounds: the in-memory path must not regress against the temp file path
+        assertTrue(memory.opsPerSecond() >= tempFile.opsPerSecond() * 0.5,
+            String.format("in-memory extraction is much slower than the temp file path: %.1f vs %.1f ops/s",
+                memory.opsPerSecond(), tempFile.opsPerSecond()));
+        assertTrue(memory.bytesPerOp() <= tempFile.bytesPerOp() * 2,
+            String.format("in-memory extraction allocates far more than the temp file path: %d vs %d KB/op",
+                memory.bytesPerOp() / 1024, tempFile.bytesPerOp() / 1024));
+    }
+
+    private Measurement measure(MockMultipartFile file, PdfTextExtractor.Mode mode) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            extractor.extractText(file, mode);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(ITERATIONS * 1_000_000_000.0 / elapsed, allocated / ITERATIONS);
+    }
+
+    private record Measurement(double opsPerSecond, long bytesPerOp) {
+    }
+
+    private MockMultipartFile pdfUpload(int pages) throws IOException {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(font, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 740);
+                    for (int line = 0; line < 40; line++) {
+                        content.showText("Senior Java developer - page " + p + " line " + line
+                            + " - led a team of 5 engineers and improved throughput by 30%");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            doc.save(out);
+            return new MockMultipartFile("file", "cv.pdf", MediaType.APPLICATION_PDF_VALUE, out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.config.ResilientCalls;
+import com.ESI.CareerBooster.cv.repository.AIResponseCacheRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReactiveAIServiceTest {
+
+    private static final String GEMINI_RESPONSE =
+        "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"STRENGTHS\"}]}}]}";
+    private static final String GEMINI_STREAM =
+        "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"skills\\\": [\\\"Java\\\"\"}]}}]}\n\n"
+        + "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"]}\"}]}}]}\n\n"
+        + "data: {\"candidates\":[{\"finishReason\":\"STOP\"}]}\n\n";
+
+    private HttpServer stub;
+    private ScheduledExecutorService responders;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<String> apiKeyHeaders = ConcurrentHashMap.newKeySet();
+    private final Set<String> queries = ConcurrentHashMap.newKeySet();
+    private String baseUrl;
+    private ReactiveAIService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Responses are completed later from a scheduler, so slow answers do not hold stub threads
+        responders = Executors.newScheduledThreadPool(2);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stub.createContext("/v1beta/models", exchange -> {
+            requests.incrementAndGet();
+            apiKeyHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst("x-goog-api-key")));
+            queries.add(String.valueOf(exchange.getRequestURI().getQuery()));
+            exchange.getRequestBody().readAllBytes();
+            if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                respond(exchange, "text/event-stream", GEMINI_STREAM);
+                return;
+            }
+            responders.schedule(() -> respond(exchange, "application/json", GEMINI_RESPONSE), 300, TimeUnit.MILLISECONDS);
+        });
+        stub.start();
+        baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        stub.stop(0);
+        responders.shutdownNow();
+    }
+
+    @Test
+    void analyzeCVGeneral_500ConcurrentCalls_ThreadCountStaysFlat() throws Exception {
+        // Arrange
+        service = newService(500, 500);
+        service.analyzeCVGeneral("warm-up").block(Duration.ofSeconds(10));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        AtomicInteger peak = new AtomicInteger(baseline);
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peak.accumulateAndGet(threads.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+
+        // Act
+        List<String> answers = Flux.range(0, 500)
+            .flatMap(i -> service.analyzeCVGeneral("CV number " + i), 500)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        sampling.set(false);
+        sampler.join();
+
+        // Assert
+        assertEquals(500, answers.size());
+        int growth = peak.get() - baseline;
+        // Event loop and timer threads scale with cores, not with in-flight calls
+        assertTrue(growth <= 2 * Runtime.getRuntime().availableProcessors() + 16,
+            "thread count grew by " + growth + " for 500 concurrent calls");
+    }
+
+    @Test
+    void analyzeCVGeneral_IdenticalConcurrentPrompts_AreCoalesced() {
+        // Arrange
+        service = newService(16, 100);
+
+        // Act
+        List<String> answers = Flux.range(0, 20)
+            .flatMap(i -> service.analyzeCVGeneral("same CV"), 20)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(20, answers.size());
+        assertTrue(answers.stream().allMatch("STRENGTHS"::equals));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void analyzeCVGeneral_RepeatedPrompt_IsServedFromTheResponseCache() {
+        // Arrange
+        service = newService(16, 100);
+        service.analyzeCVGeneral("cached CV").block(Duration.ofSeconds(10));
+
+        // Act
+        String again = service.analyzeCVGeneral("cached CV").block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals("STRENGTHS", again);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void requests_SendTheApiKeyInAHeaderNotTheQueryString() {
+        // Arrange
+        service = newService(16, 100);
+
+        // Act
+        service.analyzeCVGeneral("CV").block(Duration.ofSeconds(10));
+        service.streamCVAnalysis("CV").collectList().block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(Set.of("test-key"), apiKeyHeaders);
+        assertTrue(queries.stream().noneMatch(query -> query.contains("key")), "queries: " + queries);
+    }
+
+    @Test
+    void analyzeCVGeneral_BulkheadFull_RejectsExcessCalls() {
+        // Arrange
+        service = newService(1, 1);
+
+        // Act
+        List<Object> outcomes = Flux.range(0, 3)
+            .flatMap(i -> service.analyzeCVGeneral("CV number " + i)
+                .<Object>map(answer -> answer)
+                .onErrorResume(e -> Mono.just(e)), 3)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(1, outcomes.stream().filter(o -> o instanceof AIConcurrencyLimitException).count());
+        assertEquals(2, outcomes.stream().filter("STRENGTHS"::equals).count());
+    }
+
+    @Test
+    void streamCVAnalysis_SseChunks_AreRelayedInOrderWithoutEmptyChunks() {
+        // Arrange
+        service = newService(16, 100);
+
+        // Act
+        List<String> chunks = service.streamCVAnalysis("CV").collectList().block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(List.of("{\"skills\": [\"Java\"", "]}"), chunks);
+    }
+
+    private ReactiveAIService newService(int maxConcurrent, int maxQueued) {
+        AIService aiService = new AIService(new ObjectMapper(), null, null, null);
+        ResilientCalls resilientCalls = new ResilientCalls(CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(),
+            RateLimiterRegistry.of(RateLimiterConfig.custom().limitForPeriod(1000).build()),
+            TimeLimiterRegistry.ofDefaults(), 1, 1);
+        AIResponseCache aiResponseCache = new AIResponseCache(mock(AIResponseCacheRepository.class),
+            new SimpleMeterRegistry(), true, 60, 1_000_000, false);
+        return new ReactiveAIService(aiService, aiResponseCache, resilientCalls, WebClient.builder(), new SimpleMeterRegistry(),
+            "test-key", baseUrl, maxConcurrent, maxQueued, 10_000, 5);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String response) {
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.auth.repository.UserRepository;
+import com.ESI.CareerBooster.cv.dto.RescoreJobStatus;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.RescoreJob;
+import com.ESI.CareerBooster.cv.repository.CVRepository;
+import com.ESI.CareerBooster.cv.repository.CVScoreRepository;
+import com.ESI.CareerBooster.cv.repository.RescoreJobRepository;
+import com.ESI.CareerBooster.cv.repository.ScoreHistoryRepository;
+import com.ESI.CareerBooster.cv.scoring.AnalyzerScoringModel;
+import com.ESI.CareerBooster.cv.scoring.CVFeatureExtractor;
+import com.ESI.CareerBooster.cv.scoring.CVScoringEngine;
+import com.ESI.CareerBooster.cv.scoring.EnhancedScoringModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rescoring job against H2. Chunks commit in their own transactions, so the data is
+ * committed up front instead of living in a rolled back test transaction.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+    "app.cv.rescore.chunk-size=40",
+    "app.cv.rescore.job.threads=3"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RescoringJobService.class, ScorePersistenceService.class, UserScoreStatsService.class,
+    CVScoringEngine.class, CVFeatureExtractor.class, AnalyzerScoringModel.class, EnhancedScoringModel.class,
+    IndustryBenchmarkService.class})
+class RescoringJobServiceTest {
+
+    private static final int CV_COUNT = 250;
+
+    private static final String CV_TEXT = "Amina Benali\namina@mail.com\nSUMMARY\nSenior Java developer with 8 years of experience.\n"
+        + "EXPERIENCE\n• Increased revenue by 12%\nSoftware Engineer (2019 - 2024)\nSKILLS\nJava, Spring, Docker\n";
+
+    @Autowired
+    private RescoringJobService rescoringJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CVRepository cvRepository;
+
+    @Autowired
+    private CVScoreRepository cvScoreRepository;
+
+    @Autowired
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    @Autowired
+    private RescoreJobRepository rescoreJobRepository;
+
+    private final List<Long> cvIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user = userRepository.save(user);
+
+        List<CV> cvs = new ArrayList<>();
+        for (int i = 0; i < CV_COUNT; i++) {
+            CV cv = new CV();
+            cv.setUser(user);
+            cv.setFileName("cv-" + i + ".pdf");
+            cv.setContent(CV_TEXT);
+            cvs.add(cv);
+        }
+        cvRepository.saveAll(cvs).forEach(cv -> cvIds.add(cv.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rescoreJobRepository.deleteAll();
+        cvScoreRepository.deleteAll();
+        cvRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void start_NoPreviousJob_RescoresEveryCV() throws InterruptedException {
+        // Act
+        rescoringJobService.start(false);
+        RescoreJobStatus status = awaitFinished();
+
+        // Assert
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(CV_COUNT, status.getProcessed());
+        assertEquals(CV_COUNT, status.getTotal());
+        assertEquals(100, status.getProgress());
+        assertEquals(cvIds.get(CV_COUNT - 1), status.getLastCvId());
+        assertEquals(CV_COUNT, cvScoreRepository.count());
+        // Recomputed scores are not new analyses
+        assertEquals(0, scoreHistoryRepository.count());
+    }
+
+    @Test
+    void start_InterruptedJob_ResumesAfterCheckpoint() throws InterruptedException {
+        // Arrange: a run whose instance went down after committing the first 100 CVs
+        RescoreJob interrupted = new RescoreJob();
+        interrupted.setStatus("RUNNING");
+        interrupted.setOwner("stopped-instance");
+        interrupted.setHeartbeatAt(LocalDateTime.now().minusMinutes(10));
+        interrupted.setLastCvId(cvIds.get(99));
+        interrupted.setProcessed(100L);
+        interrupted.setTotal((long) CV_COUNT);
+        interrupted.setStartedAt(LocalDateTime.now().minusHours(1));
+        interrupted = rescoreJobRepository.save(interrupted);
+        assertEquals("INTERRUPTED", rescoringJobService.getStatus().orElseThrow().getStatus());
+
+        // Act
+        RescoreJobStatus started = rescoringJobService.start(false);
+        RescoreJobStatus status = awaitFinished();
+
+        // Assert
+        assertEquals(interrupted.getId(), started.getJobId());
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(CV_COUNT, status.getProcessed());
+        assertEquals(CV_COUNT - 100, cvScoreRepository.count());
+        assertTrue(cvScoreRepository.findByCvId(cvIds.get(99)).isEmpty());
+        assertTrue(cvScoreRepository.findByCvId(cvIds.get(100)).isPresent());
+        assertNotEquals("stopped-instance", rescoreJobRepository.findById(interrupted.getId()).orElseThrow().getOwner());
+    }
+
+    @Test
+    void start_JobRunningOnAnotherLiveInstance_IsNotTakenOver() {
+        // Arrange: another instance is working on a job and its heartbeat is fresh
+        RescoreJob running = new RescoreJob();
+        running.setStatus("RUNNING");
+        running.setOwner("other-instance");
+        running.setHeartbeatAt(LocalDateTime.now());
+        running.setLastCvId(cvIds.get(99));
+        running.setProcessed(100L);
+        running.setTotal((long) CV_COUNT);
+        running.setStartedAt(LocalDateTime.now().minusMinutes(1));
+        running = rescoreJobRepository.save(running);
+
+        // Act & Assert
+        assertEquals("RUNNING", rescoringJobService.getStatus().orElseThrow().getStatus());
+        assertThrows(IllegalStateException.class, () -> rescoringJobService.start(false));
+        assertThrows(IllegalStateException.class, () -> rescoringJobService.start(true));
+        RescoreJob stored = rescoreJobRepository.findById(running.getId()).orElseThrow();
+        assertEquals("other-instance", stored.getOwner());
+        assertEquals(cvIds.get(99), stored.getLastCvId());
+        assertEquals(1, rescoreJobRepository.count());
+        assertEquals(0, cvScoreRepository.count());
+    }
+
+    @Test
+    void claim_TwoInstancesResumeTheSameStaleJob_OnlyOneWins() {
+        // Arrange
+        RescoreJob stale = new RescoreJob();
+        stale.setStatus("RUNNING");
+        stale.setOwner("stopped-instance");
+        stale.setHeartbeatAt(LocalDateTime.now().minusMinutes(10));
+        stale.setStartedAt(LocalDateTime.now().minusHours(1));
+        Long id = rescoreJobRepository.save(stale).getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusMinutes(1);
+
+        // Act
+        int first = rescoreJobRepository.claim(id, "instance-a", now, staleBefore);
+        int second = rescoreJobRepository.claim(id, "instance-b", now, staleBefore);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals("instance-a", rescoreJobRepository.findById(id).orElseThrow().getOwner());
+    }
+
+    private RescoreJobStatus awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            RescoreJobStatus status = rescoringJobService.getStatus().orElseThrow();
+            if (!"RUNNING".equals(status.getStatus())) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Rescoring job did not finish");
+    }
+}
@@ -0,0 +1,109 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.auth.model.User;
+import com.ESI.CareerBooster.cv.model.CV;
+import com.ESI.CareerBooster.cv.model.CVScore;
+import com.ESI.CareerBooster.cv.model.UserScoreStats;
+import com.ESI.CareerBooster.cv.repository.UserScoreStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the statistics rows against the history entries written by ScorePersistenceService.
+ * A user's first row commits on its own, so every test uses its own users.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+@Import({ScorePersistenceService.class, UserScoreStatsService.class})
+class UserScoreStatsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ScorePersistenceService scorePersistenceService;
+
+    @Autowired
+    private UserScoreStatsRepository userScoreStatsRepository;
+
+    @Test
+    void saveScore_SeveralAnalyses_UpdatesStatisticsIncrementally() {
+        // Arrange
+        User user = persistUser("single@example.com");
+
+        // Act
+        for (int overallScore : new int[] {70, 60, 90}) {
+            scorePersistenceService.saveScore(score(user, overallScore), user.getEmail());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        UserScoreStats stats = userScoreStatsRepository.findById("single@example.com").orElseThrow();
+        assertEquals(3L, stats.getAnalysisCount());
+        assertEquals(220L, stats.getScoreSum());
+        assertEquals(220 / 3.0, stats.getAverageScore(), 1e-9);
+        assertEquals(60, stats.getMinScore());
+        assertEquals(90, stats.getMaxScore());
+        assertEquals(90, stats.getLatestScore());
+        assertEquals(60, stats.getPreviousScore());
+        assertEquals(UserScoreStats.IMPROVING, stats.getTrend());
+        assertEquals("B+", stats.getLatestGrade());
+    }
+
+    @Test
+    void saveScore_SeveralUsers_UpdatesEachUsersRow() {
+        // Arrange
+        User first = persistUser("first@example.com");
+        User second = persistUser("second@example.com");
+
+        // Act
+        for (CVScore score : List.of(score(first, 80), score(second, 50), score(first, 40))) {
+            scorePersistenceService.saveScore(score, score.getCv().getUser().getEmail());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        UserScoreStats firstStats = userScoreStatsRepository.findById("first@example.com").orElseThrow();
+        assertEquals(2L, firstStats.getAnalysisCount());
+        assertEquals(60.0, firstStats.getAverageScore());
+        assertEquals(40, firstStats.getLatestScore());
+        assertEquals(UserScoreStats.DECLINING, firstStats.getTrend());
+
+        UserScoreStats secondStats = userScoreStatsRepository.findById("second@example.com").orElseThrow();
+        assertEquals(1L, secondStats.getAnalysisCount());
+        assertEquals(50, secondStats.getMinScore());
+        assertEquals(UserScoreStats.STABLE, secondStats.getTrend());
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+
+    private CVScore score(User user, int overallScore) {
+        CV cv = new CV();
+        cv.setUser(user);
+        cv.setFileName("cv.pdf");
+        cv.setContent("CV body");
+        entityManager.persist(cv);
+
+        CVScore score = new CVScore();
+        score.setCv(cv);
+        score.setOverallScore(overallScore);
+        score.setGrade("B+");
+        return score;
+    }
+}
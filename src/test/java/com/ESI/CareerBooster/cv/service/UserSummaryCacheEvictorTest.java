@@ -0,0 +1,62 @@
+package com.ESI.CareerBooster.cv.service;
+
+import com.ESI.CareerBooster.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSummaryCacheEvictorTest {
+
+    private CaffeineCacheManager cacheManager;
+    private UserSummaryCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.HOME_DATA, CacheConfig.LATEST_SCORE,
+            CacheConfig.AVERAGE_SCORE, CacheConfig.SCORE_HISTORY);
+        evictor = new UserSummaryCacheEvictor(cacheManager);
+
+        for (String userEmail : new String[] {"test@example.com", "other@example.com"}) {
+            cache(CacheConfig.HOME_DATA).put(userEmail, "home");
+            cache(CacheConfig.LATEST_SCORE).put(userEmail, 80);
+            cache(CacheConfig.AVERAGE_SCORE).put(userEmail, 75.0);
+            cache(CacheConfig.SCORE_HISTORY).put(userEmail + ":10", "history");
+            cache(CacheConfig.SCORE_HISTORY).put(userEmail + ":50", "history");
+        }
+    }
+
+    @Test
+    void onScoresChanged_OneUser_EvictsOnlyThatUsersSummaries() {
+        // Act
+        evictor.onScoresChanged(UserScoresChangedEvent.forUser("test@example.com"));
+
+        // Assert
+        assertNull(cache(CacheConfig.HOME_DATA).get("test@example.com"));
+        assertNull(cache(CacheConfig.LATEST_SCORE).get("test@example.com"));
+        assertNull(cache(CacheConfig.AVERAGE_SCORE).get("test@example.com"));
+        assertNull(cache(CacheConfig.SCORE_HISTORY).get("test@example.com:10"));
+        assertNull(cache(CacheConfig.SCORE_HISTORY).get("test@example.com:50"));
+
+        assertNotNull(cache(CacheConfig.HOME_DATA).get("other@example.com"));
+        assertNotNull(cache(CacheConfig.AVERAGE_SCORE).get("other@example.com"));
+        assertNotNull(cache(CacheConfig.SCORE_HISTORY).get("other@example.com:10"));
+    }
+
+    @Test
+    void onScoresChanged_AllUsers_ClearsEverySummary() {
+        // Act
+        evictor.onScoresChanged(UserScoresChangedEvent.allUsers());
+
+        // Assert
+        assertNull(cache(CacheConfig.HOME_DATA).get("other@example.com"));
+        assertNull(cache(CacheConfig.LATEST_SCORE).get("other@example.com"));
+        assertNull(cache(CacheConfig.SCORE_HISTORY).get("other@example.com:50"));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}